@@ -0,0 +1,285 @@
+package com.shop.buy.cache;
+
+import com.shop.buy.repository.SaleItemRepository;
+import com.shop.buy.repository.projection.ProductSalesBucket;
+import com.shop.buy.util.TransactionSnapshot;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Contadores de vendas por produto em janelas deslizantes. As vendas caem em baldes de uma hora
+ * guardados em um anel que cobre {@link #RETAINED_HOURS} horas; uma consulta soma só os baldes da
+ * janela pedida e seleciona os maiores com um heap de tamanho {@code limit}. Os contadores são
+ * atualizados pelas gravações de vendas e reconstruídos a partir de {@code sale_items} todas as
+ * noites para corrigir qualquer divergência.
+ *
+ * <p>A reconstrução lê o banco em uma transação {@code REPEATABLE READ} e guarda o snapshot de
+ * transações dessa leitura. As vendas registradas enquanto ela roda são guardadas com o ID da
+ * transação que as gravou e, na troca, só as que não aparecem no snapshot são somadas ao anel novo.
+ */
+@Component
+public class BestSellerTracker {
+
+  private static final int RETAINED_HOURS = 31 * 24;
+
+  public enum Window {
+    DAY(24),
+    WEEK(7 * 24),
+    MONTH(30 * 24);
+
+    private final int hours;
+
+    Window(int hours) {
+      this.hours = hours;
+    }
+
+    public static Window parse(String value) {
+      try {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(
+            "Janela inválida: " + value + ". Valores válidos: day, week, month");
+      }
+    }
+  }
+
+  public enum Metric {
+    UNITS,
+    REVENUE;
+
+    public static Metric parse(String value) {
+      try {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(
+            "Critério inválido: " + value + ". Valores válidos: units, revenue");
+      }
+    }
+  }
+
+  /** Totais de um produto na janela consultada. A receita é em centavos. */
+  public record Ranking(long productId, long units, long revenueCents) {
+
+    public BigDecimal revenue() {
+      return BigDecimal.valueOf(revenueCents, 2);
+    }
+  }
+
+  private static final class Counter {
+    private final LongAdder units = new LongAdder();
+    private final LongAdder revenueCents = new LongAdder();
+  }
+
+  private record Bucket(long hour, Map<Long, Counter> counters) {}
+
+  private record Movement(
+      long transactionId, long hour, Long productId, int units, long revenueCents) {}
+
+  private final SaleItemRepository saleItemRepository;
+  private final TransactionTemplate snapshotTemplate;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private volatile AtomicReferenceArray<Bucket> ring = new AtomicReferenceArray<>(RETAINED_HOURS);
+
+  /** Vendas registradas durante a reconstrução, ou nulo fora dela. Trocado sob {@code lock}. */
+  private Queue<Movement> pending;
+
+  public BestSellerTracker(
+      SaleItemRepository saleItemRepository, PlatformTransactionManager transactionManager) {
+    this.saleItemRepository = saleItemRepository;
+    this.snapshotTemplate = new TransactionTemplate(transactionManager);
+    snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    snapshotTemplate.setReadOnly(true);
+  }
+
+  /**
+   * Registra uma venda (quantidade positiva) ou o estorno de uma venda (quantidade negativa),
+   * confirmados pela transação informada.
+   */
+  public void record(
+      long transactionId,
+      LocalDateTime saleDate,
+      Long productId,
+      int quantity,
+      BigDecimal unitPrice) {
+    if (saleDate == null || productId == null || unitPrice == null) {
+      return;
+    }
+    long hour = hourOf(saleDate);
+    if (hour <= currentHour() - RETAINED_HOURS) {
+      return;
+    }
+    long revenueCents = toCents(unitPrice.multiply(BigDecimal.valueOf(quantity)));
+    lock.readLock().lock();
+    try {
+      add(ring, hour, productId, quantity, revenueCents);
+      if (pending != null) {
+        pending.add(new Movement(transactionId, hour, productId, quantity, revenueCents));
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public List<Ranking> top(Window window, Metric metric, int limit) {
+    AtomicReferenceArray<Bucket> snapshot = ring;
+    long since = currentHour() - window.hours;
+    Map<Long, long[]> totals = new HashMap<>();
+    for (int i = 0; i < snapshot.length(); i++) {
+      Bucket bucket = snapshot.get(i);
+      if (bucket == null || bucket.hour() <= since) {
+        continue;
+      }
+      bucket
+          .counters()
+          .forEach(
+              (productId, counter) -> {
+                long[] total = totals.computeIfAbsent(productId, id -> new long[2]);
+                total[0] += counter.units.sum();
+                total[1] += counter.revenueCents.sum();
+              });
+    }
+
+    Comparator<Ranking> order =
+        metric == Metric.UNITS
+            ? Comparator.comparingLong(Ranking::units)
+            : Comparator.comparingLong(Ranking::revenueCents);
+    order = order.thenComparing(Comparator.comparingLong(Ranking::productId).reversed());
+    PriorityQueue<Ranking> heap = new PriorityQueue<>(limit + 1, order);
+    totals.forEach(
+        (productId, total) -> {
+          if (total[0] <= 0) {
+            return;
+          }
+          heap.offer(new Ranking(productId, total[0], total[1]));
+          if (heap.size() > limit) {
+            heap.poll();
+          }
+        });
+
+    List<Ranking> result = new ArrayList<>(heap);
+    result.sort(order.reversed());
+    return result;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${shop.analytics.best-sellers.rebuild-cron:0 0 3 * * *}")
+  public synchronized void rebuild() {
+    AtomicReferenceArray<Bucket> rebuilt = new AtomicReferenceArray<>(RETAINED_HOURS);
+    setPending(new ConcurrentLinkedQueue<>());
+    TransactionSnapshot snapshot;
+    try {
+      snapshot = snapshotTemplate.execute(status -> load(rebuilt));
+    } catch (RuntimeException e) {
+      setPending(null);
+      throw e;
+    }
+    lock.writeLock().lock();
+    try {
+      for (Movement movement : pending) {
+        if (!snapshot.isVisible(movement.transactionId())) {
+          add(
+              rebuilt,
+              movement.hour(),
+              movement.productId(),
+              movement.units(),
+              movement.revenueCents());
+        }
+      }
+      pending = null;
+      ring = rebuilt;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Soma as vendas do banco no anel informado e devolve o snapshot em que elas foram lidas. */
+  private TransactionSnapshot load(AtomicReferenceArray<Bucket> target) {
+    TransactionSnapshot snapshot = TransactionSnapshot.parse(saleItemRepository.currentSnapshot());
+    LocalDateTime since =
+        LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(RETAINED_HOURS - 1);
+    for (ProductSalesBucket row : saleItemRepository.sumSalesByProductAndHour(since)) {
+      add(
+          target,
+          hourOf(row.getHour()),
+          row.getProductId(),
+          row.getUnits(),
+          toCents(row.getRevenue()));
+    }
+    return snapshot;
+  }
+
+  private void setPending(Queue<Movement> movements) {
+    lock.writeLock().lock();
+    try {
+      pending = movements;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static void add(
+      AtomicReferenceArray<Bucket> target,
+      long hour,
+      Long productId,
+      long units,
+      long revenueCents) {
+    Counter counter =
+        bucketFor(target, hour).counters().computeIfAbsent(productId, id -> new Counter());
+    counter.units.add(units);
+    counter.revenueCents.add(revenueCents);
+  }
+
+  private static Bucket bucketFor(AtomicReferenceArray<Bucket> target, long hour) {
+    int slot = (int) Math.floorMod(hour, (long) RETAINED_HOURS);
+    while (true) {
+      Bucket bucket = target.get(slot);
+      if (bucket != null && bucket.hour() == hour) {
+        return bucket;
+      }
+      if (bucket != null && bucket.hour() > hour) {
+        return new Bucket(hour, new ConcurrentHashMap<>());
+      }
+      Bucket fresh = new Bucket(hour, new ConcurrentHashMap<>());
+      if (target.compareAndSet(slot, bucket, fresh)) {
+        return fresh;
+      }
+    }
+  }
+
+  private static long hourOf(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC) / 3600;
+  }
+
+  private static long currentHour() {
+    return hourOf(LocalDateTime.now());
+  }
+
+  private static long toCents(BigDecimal value) {
+    return value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+  }
+}
@@ -0,0 +1,278 @@
+package com.shop.buy.cache;
+
+import com.shop.buy.repository.SaleItemRepository;
+import com.shop.buy.repository.projection.SaleProductPair;
+import com.shop.buy.util.LongIntHashMap;
+import com.shop.buy.util.TransactionSnapshot;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Índice de produtos comprados juntos. Para cada produto guarda, em um {@link LongIntHashMap}, em
+ * quantas vendas ele apareceu junto com cada outro produto, além do total de vendas em que
+ * apareceu. A carga inicial conta os pares de todas as vendas em paralelo com fork-join; depois o
+ * índice é atualizado a cada venda gravada e reconstruído todas as noites.
+ *
+ * <p>Na contagem paralela os pares são codificados em um único {@code long} (32 bits por ID). Os
+ * pares com algum ID fora dessa faixa ficam fora dela e são somados depois, um a um.
+ *
+ * <p>A reconstrução lê as vendas em uma transação {@code REPEATABLE READ}. As vendas registradas
+ * enquanto ela roda são guardadas com o ID da transação que as gravou e aplicadas ao índice novo
+ * antes da troca, exceto as que o snapshot da leitura já incluía.
+ */
+@Component
+public class ProductCoOccurrenceIndex {
+
+  private static final int BASKETS_PER_TASK = 2048;
+
+  public record Related(long productId, int together, double confidence) {}
+
+  private record State(Map<Long, LongIntHashMap> neighbors, LongIntHashMap baskets) {}
+
+  private record Delta(long transactionId, long[] basket, int sign) {}
+
+  private record Snapshot(TransactionSnapshot transactions, List<long[]> baskets) {}
+
+  private final SaleItemRepository saleItemRepository;
+  private final TransactionTemplate snapshotTemplate;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private State state = new State(new HashMap<>(), new LongIntHashMap());
+
+  /** Vendas registradas durante a reconstrução, ou nulo fora dela. Protegido por {@code lock}. */
+  private List<Delta> pending;
+
+  public ProductCoOccurrenceIndex(
+      SaleItemRepository saleItemRepository, PlatformTransactionManager transactionManager) {
+    this.saleItemRepository = saleItemRepository;
+    this.snapshotTemplate = new TransactionTemplate(transactionManager);
+    snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    snapshotTemplate.setReadOnly(true);
+  }
+
+  /**
+   * Produtos que mais aparecem nas mesmas vendas que o produto informado. A confiança é a fração
+   * das vendas do produto que também continham o produto relacionado.
+   */
+  public List<Related> related(Long productId, int limit) {
+    Comparator<Related> order =
+        Comparator.comparingInt(Related::together)
+            .thenComparing(Comparator.comparingLong(Related::productId).reversed());
+    PriorityQueue<Related> heap = new PriorityQueue<>(limit + 1, order);
+    lock.readLock().lock();
+    try {
+      LongIntHashMap neighbors = state.neighbors().get(productId);
+      if (neighbors == null) {
+        return List.of();
+      }
+      int baskets = Math.max(state.baskets().get(productId), 1);
+      neighbors.forEach(
+          (other, together) -> {
+            if (together <= 0) {
+              return;
+            }
+            heap.offer(new Related(other, together, (double) together / baskets));
+            if (heap.size() > limit) {
+              heap.poll();
+            }
+          });
+    } finally {
+      lock.readLock().unlock();
+    }
+    List<Related> result = new ArrayList<>(heap);
+    result.sort(order.reversed());
+    return result;
+  }
+
+  /**
+   * Soma (sign = 1) ou remove (sign = -1) uma venda com os produtos informados, confirmada pela
+   * transação informada.
+   */
+  public void recordBasket(long transactionId, Collection<Long> productIds, int sign) {
+    long[] basket = new TreeSet<>(productIds).stream().mapToLong(Long::longValue).toArray();
+    if (basket.length == 0) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      apply(state, basket, sign);
+      if (pending != null) {
+        pending.add(new Delta(transactionId, basket, sign));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${shop.analytics.related-products.rebuild-cron:0 30 3 * * *}")
+  public synchronized void rebuild() {
+    setPending(new ArrayList<>());
+    Snapshot snapshot;
+    State rebuilt;
+    try {
+      snapshot = snapshotTemplate.execute(status -> loadBaskets());
+      rebuilt = build(snapshot.baskets());
+    } catch (RuntimeException e) {
+      setPending(null);
+      throw e;
+    }
+    lock.writeLock().lock();
+    try {
+      for (Delta delta : pending) {
+        if (!snapshot.transactions().isVisible(delta.transactionId())) {
+          apply(rebuilt, delta.basket(), delta.sign());
+        }
+      }
+      pending = null;
+      state = rebuilt;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void setPending(List<Delta> deltas) {
+    lock.writeLock().lock();
+    try {
+      pending = deltas;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static State build(List<long[]> baskets) {
+    LongIntHashMap pairs =
+        ForkJoinPool.commonPool().invoke(new PairCountTask(baskets, 0, baskets.size()));
+
+    State rebuilt = new State(new HashMap<>(), new LongIntHashMap(baskets.size()));
+    for (long[] basket : baskets) {
+      for (long productId : basket) {
+        rebuilt.baskets().add(productId, 1);
+      }
+      for (int i = 0; i < basket.length; i++) {
+        for (int j = i + 1; j < basket.length; j++) {
+          if (!packable(basket[i]) || !packable(basket[j])) {
+            neighborsOf(rebuilt, basket[i]).add(basket[j], 1);
+            neighborsOf(rebuilt, basket[j]).add(basket[i], 1);
+          }
+        }
+      }
+    }
+    pairs.forEach(
+        (pair, together) -> {
+          long first = pair >>> 32;
+          long second = pair & 0xFFFFFFFFL;
+          neighborsOf(rebuilt, first).add(second, together);
+          neighborsOf(rebuilt, second).add(first, together);
+        });
+    return rebuilt;
+  }
+
+  private static void apply(State target, long[] basket, int sign) {
+    for (int i = 0; i < basket.length; i++) {
+      target.baskets().add(basket[i], sign);
+      for (int j = i + 1; j < basket.length; j++) {
+        neighborsOf(target, basket[i]).add(basket[j], sign);
+        neighborsOf(target, basket[j]).add(basket[i], sign);
+      }
+    }
+  }
+
+  /** Lê as cestas de todas as vendas junto com o snapshot de transações em que foram lidas. */
+  private Snapshot loadBaskets() {
+    TransactionSnapshot transactions =
+        TransactionSnapshot.parse(saleItemRepository.currentSnapshot());
+    List<long[]> baskets = new ArrayList<>();
+    List<Long> current = new ArrayList<>();
+    Long currentSale = null;
+    for (SaleProductPair row : saleItemRepository.findDistinctSaleProducts()) {
+      if (!row.getSaleId().equals(currentSale)) {
+        if (!current.isEmpty()) {
+          baskets.add(current.stream().mapToLong(Long::longValue).toArray());
+        }
+        current.clear();
+        currentSale = row.getSaleId();
+      }
+      current.add(row.getProductId());
+    }
+    if (!current.isEmpty()) {
+      baskets.add(current.stream().mapToLong(Long::longValue).toArray());
+    }
+    return new Snapshot(transactions, baskets);
+  }
+
+  private static LongIntHashMap neighborsOf(State target, long productId) {
+    return target.neighbors().computeIfAbsent(productId, id -> new LongIntHashMap());
+  }
+
+  private static boolean packable(long productId) {
+    return productId >= 0 && productId <= 0xFFFFFFFFL;
+  }
+
+  /**
+   * Conta os pares de produtos (menor ID nos 32 bits altos) de um intervalo de vendas, ignorando os
+   * pares com IDs que não cabem em 32 bits.
+   */
+  private static final class PairCountTask extends RecursiveTask<LongIntHashMap> {
+
+    private final List<long[]> baskets;
+    private final int from;
+    private final int to;
+
+    private PairCountTask(List<long[]> baskets, int from, int to) {
+      this.baskets = baskets;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected LongIntHashMap compute() {
+      if (to - from <= BASKETS_PER_TASK) {
+        LongIntHashMap pairs = new LongIntHashMap();
+        for (int b = from; b < to; b++) {
+          long[] basket = baskets.get(b);
+          for (int i = 0; i < basket.length; i++) {
+            for (int j = i + 1; j < basket.length; j++) {
+              if (packable(basket[i]) && packable(basket[j])) {
+                pairs.add(pack(basket[i], basket[j]), 1);
+              }
+            }
+          }
+        }
+        return pairs;
+      }
+      int middle = (from + to) >>> 1;
+      PairCountTask left = new PairCountTask(baskets, from, middle);
+      left.fork();
+      LongIntHashMap right = new PairCountTask(baskets, middle, to).compute();
+      LongIntHashMap merged = left.join();
+      if (merged.size() < right.size()) {
+        right.addAll(merged);
+        return right;
+      }
+      merged.addAll(right);
+      return merged;
+    }
+
+    private static long pack(long first, long second) {
+      return (first << 32) | second;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package com.shop.buy.cache;
+
+import com.shop.buy.repository.ProductRepository;
+import com.shop.buy.repository.projection.ProductNameView;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Índice de prefixos em memória sobre os nomes dos produtos. Cada palavra do nome gera uma chave
+ * normalizada (minúscula e sem acentos) em um conjunto ordenado concorrente, de modo que a busca
+ * é um posicionamento logarítmico seguido de uma varredura curta até o limite pedido. As escritas
+ * incluem e removem apenas as chaves do produto alterado, sem copiar o índice, e as leituras nunca
+ * bloqueiam. A reconstrução completa monta um estado novo e troca a referência.
+ *
+ * <p>Produtos inativos continuam com o nome disponível em {@link #nameOf}, mas não geram chaves e
+ * por isso não aparecem no autocompletar.
+ */
+@Component
+public class ProductNameIndex {
+
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private static final Comparator<Entry> ORDER =
+      Comparator.comparing(Entry::key).thenComparingLong(Entry::productId);
+
+  private record Entry(String key, long productId) {}
+
+  private record State(NavigableSet<Entry> entries, Map<Long, String> names, Set<Long> inactive) {}
+
+  private final ProductRepository productRepository;
+
+  private volatile State state;
+
+  public ProductNameIndex(ProductRepository productRepository) {
+    this.productRepository = productRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void rebuild() {
+    Map<Long, String> names = new ConcurrentHashMap<>();
+    NavigableSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+    Set<Long> inactive = ConcurrentHashMap.newKeySet();
+    for (ProductNameView product : productRepository.findAllProductNames()) {
+      names.put(product.getId(), product.getName());
+      if (Boolean.FALSE.equals(product.getActive())) {
+        inactive.add(product.getId());
+      } else {
+        entries.addAll(keysOf(product.getId(), product.getName()));
+      }
+    }
+    state = new State(entries, names, inactive);
+  }
+
+  public synchronized void put(Long productId, String name) {
+    State snapshot = current();
+    if (snapshot.inactive().contains(productId)) {
+      snapshot.names().put(productId, name);
+      return;
+    }
+    List<Entry> added = keysOf(productId, name);
+    snapshot.entries().addAll(added);
+    String previous = snapshot.names().put(productId, name);
+    if (previous != null) {
+      List<Entry> stale = keysOf(productId, previous);
+      stale.removeAll(added);
+      snapshot.entries().removeAll(stale);
+    }
+  }
+
+  /** Tira os produtos do autocompletar, mantendo o nome disponível em {@link #nameOf}. */
+  public synchronized void deactivate(Collection<Long> productIds) {
+    State snapshot = current();
+    for (Long productId : productIds) {
+      String name = snapshot.names().get(productId);
+      if (snapshot.inactive().add(productId) && name != null) {
+        snapshot.entries().removeAll(keysOf(productId, name));
+      }
+    }
+  }
+
+  public synchronized void remove(Long productId) {
+    State snapshot = current();
+    snapshot.inactive().remove(productId);
+    String previous = snapshot.names().remove(productId);
+    if (previous != null) {
+      snapshot.entries().removeAll(keysOf(productId, previous));
+    }
+  }
+
+  public String nameOf(Long productId) {
+    return current().names().get(productId);
+  }
+
+  /** Retorna até {@code limit} produtos cujo nome tem alguma palavra iniciando pelo prefixo. */
+  public Map<Long, String> search(String prefix, int limit) {
+    Map<Long, String> matches = new LinkedHashMap<>();
+    String key = normalize(prefix);
+    if (key.isEmpty() || limit <= 0) {
+      return matches;
+    }
+    State snapshot = current();
+    for (Entry entry : snapshot.entries().tailSet(new Entry(key, Long.MIN_VALUE))) {
+      if (matches.size() >= limit || !entry.key().startsWith(key)) {
+        break;
+      }
+      String name = snapshot.names().get(entry.productId());
+      if (name != null) {
+        matches.putIfAbsent(entry.productId(), name);
+      }
+    }
+    return matches;
+  }
+
+  private State current() {
+    State snapshot = state;
+    if (snapshot == null) {
+      rebuild();
+      snapshot = state;
+    }
+    return snapshot;
+  }
+
+  private static List<Entry> keysOf(long productId, String name) {
+    List<Entry> keys = new ArrayList<>();
+    String normalized = normalize(name);
+    for (int i = 0; i < normalized.length(); i++) {
+      if (i == 0 || normalized.charAt(i - 1) == ' ') {
+        keys.add(new Entry(normalized.substring(i), productId));
+      }
+    }
+    return keys;
+  }
+
+  static String normalize(String value) {
+    if (value == null) {
+      return "";
+    }
+    String stripped =
+        DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+    return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+  }
+}
@@ -0,0 +1,216 @@
+package com.shop.buy.cache;
+
+import com.shop.buy.model.Brand;
+import com.shop.buy.model.Category;
+import com.shop.buy.model.Supplier;
+import com.shop.buy.repository.BrandRepository;
+import com.shop.buy.repository.CategoryRepository;
+import com.shop.buy.repository.SupplierRepository;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cópia em memória das tabelas de categorias, marcas e fornecedores, que têm poucas linhas e são
+ * lidas o tempo todo. Cada escrita gera um novo {@link Snapshot} imutável com a versão seguinte e
+ * troca a referência atomicamente, então as leituras nunca bloqueiam nem vão ao banco. As
+ * instâncias guardadas são cópias desanexadas do contexto de persistência e não devem ser
+ * alteradas por quem as lê.
+ */
+@Component
+public class ReferenceDataCache {
+
+  public record Snapshot(
+      long version,
+      Map<Long, Category> categories,
+      Map<Long, Brand> brands,
+      Map<Long, Supplier> suppliers) {
+
+    public Optional<Category> category(Long id) {
+      return Optional.ofNullable(id == null ? null : categories.get(id));
+    }
+
+    public Optional<Brand> brand(Long id) {
+      return Optional.ofNullable(id == null ? null : brands.get(id));
+    }
+
+    public Optional<Supplier> supplier(Long id) {
+      return Optional.ofNullable(id == null ? null : suppliers.get(id));
+    }
+
+    public Category requireCategory(Long id) {
+      return category(id)
+          .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com id: " + id));
+    }
+
+    /** Subcategorias diretas e indiretas, em ordem de caminho (cada ramo fica contíguo). */
+    public List<Category> descendantsOf(Category root) {
+      return categories.values().stream()
+          .filter(c -> c.getPath() != null && !c.getId().equals(root.getId()))
+          .filter(c -> root.getPath() != null && c.getPath().startsWith(root.getPath()))
+          .sorted(Comparator.comparing(Category::getPath))
+          .collect(Collectors.toList());
+    }
+
+    public boolean hasChildren(Long id) {
+      return categories.values().stream().anyMatch(c -> id.equals(c.getParentId()));
+    }
+
+    public Brand requireBrand(Long id) {
+      return brand(id)
+          .orElseThrow(() -> new EntityNotFoundException("Marca não encontrada com id: " + id));
+    }
+
+    public Supplier requireSupplier(Long id) {
+      return supplier(id)
+          .orElseThrow(
+              () -> new EntityNotFoundException("Fornecedor não encontrado com id: " + id));
+    }
+  }
+
+  private final CategoryRepository categoryRepository;
+  private final BrandRepository brandRepository;
+  private final SupplierRepository supplierRepository;
+
+  private final AtomicReference<Snapshot> state = new AtomicReference<>();
+
+  public ReferenceDataCache(
+      CategoryRepository categoryRepository,
+      BrandRepository brandRepository,
+      SupplierRepository supplierRepository) {
+    this.categoryRepository = categoryRepository;
+    this.brandRepository = brandRepository;
+    this.supplierRepository = supplierRepository;
+  }
+
+  /**
+   * Recarrega as três tabelas. Se alguma escrita trocar o snapshot durante a leitura, a carga pode
+   * não incluir a alteração e é refeita, em vez de sobrescrevê-la.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void rebuild() {
+    while (true) {
+      Snapshot previous = state.get();
+      Map<Long, Category> categories = new TreeMap<>();
+      categoryRepository.findAllCategories().forEach(c -> categories.put(c.getId(), copyOf(c)));
+      Map<Long, Brand> brands = new TreeMap<>();
+      brandRepository.findAllBrands().forEach(b -> brands.put(b.getId(), copyOf(b)));
+      Map<Long, Supplier> suppliers = new TreeMap<>();
+      supplierRepository.findAllSuppliers().forEach(s -> suppliers.put(s.getId(), copyOf(s)));
+
+      Snapshot loaded =
+          new Snapshot(
+              previous != null ? previous.version() + 1 : 1,
+              Collections.unmodifiableMap(categories),
+              Collections.unmodifiableMap(brands),
+              Collections.unmodifiableMap(suppliers));
+      if (state.compareAndSet(previous, loaded)) {
+        return;
+      }
+    }
+  }
+
+  public Snapshot snapshot() {
+    Snapshot snapshot = state.get();
+    if (snapshot == null) {
+      rebuild();
+      snapshot = state.get();
+    }
+    return snapshot;
+  }
+
+  public List<Category> categories() {
+    return new ArrayList<>(snapshot().categories().values());
+  }
+
+  public List<Brand> brands() {
+    return new ArrayList<>(snapshot().brands().values());
+  }
+
+  public List<Supplier> suppliers() {
+    return new ArrayList<>(snapshot().suppliers().values());
+  }
+
+  public void putCategory(Category category) {
+    Category copy = copyOf(category);
+    swap(s -> next(s, with(s.categories(), copy.getId(), copy), s.brands(), s.suppliers()));
+  }
+
+  public void removeCategory(Long id) {
+    swap(s -> next(s, with(s.categories(), id, null), s.brands(), s.suppliers()));
+  }
+
+  public void putBrand(Brand brand) {
+    Brand copy = copyOf(brand);
+    swap(s -> next(s, s.categories(), with(s.brands(), copy.getId(), copy), s.suppliers()));
+  }
+
+  public void removeBrand(Long id) {
+    swap(s -> next(s, s.categories(), with(s.brands(), id, null), s.suppliers()));
+  }
+
+  public void putSupplier(Supplier supplier) {
+    Supplier copy = copyOf(supplier);
+    swap(s -> next(s, s.categories(), s.brands(), with(s.suppliers(), copy.getId(), copy)));
+  }
+
+  public void removeSupplier(Long id) {
+    swap(s -> next(s, s.categories(), s.brands(), with(s.suppliers(), id, null)));
+  }
+
+  private void swap(UnaryOperator<Snapshot> change) {
+    snapshot();
+    state.updateAndGet(change);
+  }
+
+  private static Snapshot next(
+      Snapshot previous,
+      Map<Long, Category> categories,
+      Map<Long, Brand> brands,
+      Map<Long, Supplier> suppliers) {
+    return new Snapshot(previous.version() + 1, categories, brands, suppliers);
+  }
+
+  private static <T> Map<Long, T> with(Map<Long, T> current, Long id, T value) {
+    Map<Long, T> copy = new TreeMap<>(current);
+    if (value == null) {
+      copy.remove(id);
+    } else {
+      copy.put(id, value);
+    }
+    return Collections.unmodifiableMap(copy);
+  }
+
+  private static Category copyOf(Category category) {
+    return new Category(
+        category.getId(),
+        category.getName(),
+        category.getDescription(),
+        category.getParentId(),
+        category.getPath());
+  }
+
+  private static Brand copyOf(Brand brand) {
+    return new Brand(brand.getId(), brand.getName(), brand.getCountry(), brand.getDescription());
+  }
+
+  private static Supplier copyOf(Supplier supplier) {
+    return new Supplier(
+        supplier.getId(),
+        supplier.getName(),
+        supplier.getCnpj(),
+        supplier.getPhone(),
+        supplier.getEmail());
+  }
+}
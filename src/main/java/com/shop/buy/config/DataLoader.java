@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 
 @Configuration
 public class DataLoader {
@@ -22,6 +23,7 @@ public class DataLoader {
   }
 
   @Bean
+  @Order(1)
   public CommandLineRunner initDatabase(
       CategoryRepository categoryRepository,
       BrandRepository brandRepository,
@@ -206,4 +208,46 @@ public class DataLoader {
       System.out.println(getServerSuccessfullyStartedMessage());
     };
   }
+
+  @Bean
+  @Order(2)
+  public CommandLineRunner backfillPriceHistory(ProductPriceRepository productPriceRepository) {
+    // produtos cadastrados antes do histórico de preços recebem o preço atual como ponto inicial
+    return args -> productPriceRepository.backfillMissingPrices(LocalDateTime.now());
+  }
+
+  @Bean
+  @Order(3)
+  public CommandLineRunner rebuildCategoryPaths(CategoryRepository categoryRepository) {
+    // categorias gravadas sem caminho materializado (dados de exemplo ou anteriores à hierarquia)
+    return args -> categoryRepository.rebuildPaths();
+  }
+
+  @Bean
+  @Order(4)
+  public CommandLineRunner backfillProductModels(ProductModelRepository productModelRepository) {
+    // na primeira execução com modelos, os produtos existentes são agrupados por nome, categoria,
+    // marca e fornecedor, de modo que cada grade de tamanhos e cores vira um único modelo
+    return args -> {
+      if (productModelRepository.count() > 0) {
+        return;
+      }
+      productModelRepository.createMissingModels();
+      productModelRepository.assignMissingModels();
+    };
+  }
+
+  @Bean
+  @Order(5)
+  public CommandLineRunner backfillPurchaseSummaries(
+      CustomerPurchaseSummaryRepository summaryRepository) {
+    // vendas gravadas antes dos resumos de compras (inclusive as de exemplo) entram no total uma
+    // única vez; daí em diante os resumos são ajustados a cada gravação de venda
+    return args -> {
+      if (summaryRepository.count() > 0) {
+        return;
+      }
+      summaryRepository.backfillSummaries();
+    };
+  }
 }
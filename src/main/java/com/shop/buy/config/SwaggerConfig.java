@@ -31,6 +31,10 @@ public class SwaggerConfig {
                 .name("Categorias")
                 .description("Operações relacionadas a categorias de produtos"))
         .addTagsItem(new Tag().name("Produtos").description("Operações relacionadas a produtos"))
+        .addTagsItem(
+            new Tag()
+                .name("Modelos de Produto")
+                .description("Operações relacionadas a modelos de produto e grades de variações"))
         .addTagsItem(new Tag().name("Clientes").description("Operações relacionadas a clientes"))
         .addTagsItem(
             new Tag().name("Funcionários").description("Operações relacionadas a funcionários"))
@@ -38,6 +42,8 @@ public class SwaggerConfig {
         .addTagsItem(
             new Tag().name("Itens de Venda").description("Operações relacionadas a itens de venda"))
         .addTagsItem(
-            new Tag().name("Fornecedores").description("Operações relacionadas a fornecedores"));
+            new Tag().name("Fornecedores").description("Operações relacionadas a fornecedores"))
+        .addTagsItem(
+            new Tag().name("Estoque").description("Operações relacionadas ao estoque de produtos"));
   }
 }
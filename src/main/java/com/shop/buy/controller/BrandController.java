@@ -1,6 +1,7 @@
 package com.shop.buy.controller;
 
 import com.shop.buy.dto.BrandDTO;
+import com.shop.buy.dto.PageResponse;
 import com.shop.buy.dto.SuccessResponse;
 import com.shop.buy.exception.ErrorResponse;
 import com.shop.buy.service.BrandService;
@@ -13,14 +14,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
 import java.util.List;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/brands")
 @Tag(name = "Marcas", description = "Endpoints para gerenciamento de marcas")
+@Validated
 public class BrandController {
 
   private final BrandService brandService;
@@ -55,6 +59,50 @@ public class BrandController {
     return ResponseEntity.ok(brandService.getAllBrands());
   }
 
+  @Operation(
+      summary = "Buscar marcas pelo nome",
+      description =
+          "Retorna, de forma paginada, as marcas cujo nome contém o termo (sem diferenciar maiúsculas e minúsculas) ou é parecido com ele, das mais parecidas para as menos parecidas",
+      tags = {"Marcas"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Marcas retornadas com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = PageResponse.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Termo de busca não informado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/search")
+  public ResponseEntity<PageResponse<BrandDTO>> searchBrands(
+      @Parameter(description = "Nome ou parte do nome da marca", required = true)
+          @RequestParam
+          @NotBlank(message = "Informe o nome ou parte do nome da marca")
+          String name,
+      @Parameter(description = "Número da página (inicia em 0)")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(description = "Quantidade de marcas por página (máximo 100)")
+          @RequestParam(defaultValue = "20")
+          int size) {
+    return ResponseEntity.ok(brandService.searchBrands(name, page, size));
+  }
+
   @Operation(
       summary = "Obter marca por ID",
       description = "Retorna uma marca específica pelo seu ID",
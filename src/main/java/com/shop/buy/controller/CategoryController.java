@@ -90,6 +90,41 @@ public class CategoryController {
     return ResponseEntity.ok(categoryService.getCategoryById(id));
   }
 
+  @Operation(
+      summary = "Obter as subcategorias de uma categoria",
+      description =
+          "Retorna todas as subcategorias diretas e indiretas de uma categoria, ordenadas pelo caminho na hierarquia",
+      tags = {"Categorias"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Subcategorias retornadas com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = CategoryDTO.class)))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Categoria não encontrada",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/{id}/descendants")
+  public ResponseEntity<List<CategoryDTO>> getCategoryDescendants(
+      @Parameter(description = "ID da categoria raiz", required = true) @PathVariable Long id) {
+    return ResponseEntity.ok(categoryService.getCategoryDescendants(id));
+  }
+
   @Operation(
       summary = "Criar uma nova categoria",
       description = "Cria uma nova categoria",
@@ -1,8 +1,14 @@
 package com.shop.buy.controller;
 
 import com.shop.buy.dto.CustomerDTO;
+import com.shop.buy.dto.CustomerSegmentDTO;
+import com.shop.buy.dto.CustomerSegmentRebuildStatusDTO;
+import com.shop.buy.dto.ImportResultDTO;
+import com.shop.buy.dto.PageResponse;
 import com.shop.buy.dto.SuccessResponse;
 import com.shop.buy.exception.ErrorResponse;
+import com.shop.buy.service.CustomerImportService;
+import com.shop.buy.service.CustomerSegmentService;
 import com.shop.buy.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,20 +19,34 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
+@Validated
 @RequestMapping("/api/customers")
 @Tag(name = "Clientes", description = "Endpoints para gerenciamento de clientes")
 public class CustomerController {
 
   private final CustomerService customerService;
+  private final CustomerSegmentService customerSegmentService;
+  private final CustomerImportService customerImportService;
 
-  public CustomerController(CustomerService customerService) {
+  public CustomerController(
+      CustomerService customerService,
+      CustomerSegmentService customerSegmentService,
+      CustomerImportService customerImportService) {
     this.customerService = customerService;
+    this.customerSegmentService = customerSegmentService;
+    this.customerImportService = customerImportService;
   }
 
   @Operation(
@@ -55,6 +75,145 @@ public class CustomerController {
     return ResponseEntity.ok(customerService.getAllCustomers());
   }
 
+  @Operation(
+      summary = "Buscar clientes pelo nome",
+      description =
+          "Retorna, de forma paginada, os clientes cujo nome contém o termo (sem diferenciar maiúsculas e minúsculas) ou é parecido com ele, dos mais parecidos para os menos parecidos. Opcionalmente também procura o termo no email e no telefone",
+      tags = {"Clientes"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Clientes retornados com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = PageResponse.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Termo de busca não informado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/search")
+  public ResponseEntity<PageResponse<CustomerDTO>> searchCustomers(
+      @Parameter(description = "Nome ou parte do nome do cliente", required = true)
+          @RequestParam
+          @NotBlank(message = "Informe o nome ou parte do nome do cliente")
+          String q,
+      @Parameter(description = "Também procura o termo no email e no telefone")
+          @RequestParam(defaultValue = "false")
+          boolean includeContacts,
+      @Parameter(description = "Número da página (inicia em 0)")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(description = "Quantidade de clientes por página (máximo 100)")
+          @RequestParam(defaultValue = "20")
+          int size) {
+    return ResponseEntity.ok(customerService.searchCustomers(q, includeContacts, page, size));
+  }
+
+  @Operation(
+      summary = "Segmentação RFM dos clientes",
+      description =
+          "Retorna, de forma paginada, a última segmentação por recência, frequência e valor calculada para os clientes com vendas, opcionalmente filtrada por segmento",
+      tags = {"Clientes"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Segmentos retornados com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = PageResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/segments")
+  public ResponseEntity<PageResponse<CustomerSegmentDTO>> getCustomerSegments(
+      @Parameter(
+              description =
+                  "Segmento: CHAMPIONS, LOYAL, NEW, NEEDS_ATTENTION, AT_RISK ou HIBERNATING")
+          @RequestParam(required = false)
+          String segment,
+      @Parameter(description = "Número da página (inicia em 0)")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(description = "Quantidade de clientes por página (máximo 100)")
+          @RequestParam(defaultValue = "20")
+          int size) {
+    return ResponseEntity.ok(customerSegmentService.getSegments(segment, page, size));
+  }
+
+  @Operation(
+      summary = "Recalcular a segmentação RFM",
+      description =
+          "Agenda para execução imediata, em segundo plano, o cálculo em lote que normalmente roda todas as noites e substitui a segmentação anterior. Se já houver um recálculo em andamento, nenhum outro é iniciado",
+      tags = {"Clientes"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Recálculo agendado ou já em andamento",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CustomerSegmentRebuildStatusDTO.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PostMapping("/segments/rebuild")
+  public ResponseEntity<CustomerSegmentRebuildStatusDTO> rebuildCustomerSegments() {
+    return ResponseEntity.accepted().body(customerSegmentService.startRebuild());
+  }
+
+  @Operation(
+      summary = "Situação do recálculo da segmentação RFM",
+      description =
+          "Retorna a situação do último recálculo da segmentação, agendado pela rotina noturna ou solicitado manualmente",
+      tags = {"Clientes"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Situação retornada com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CustomerSegmentRebuildStatusDTO.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/segments/rebuild")
+  public ResponseEntity<CustomerSegmentRebuildStatusDTO> getCustomerSegmentRebuildStatus() {
+    return ResponseEntity.ok(customerSegmentService.getRebuildStatus());
+  }
+
   @Operation(
       summary = "Obter cliente por ID",
       description = "Retorna um cliente específico pelo seu ID",
@@ -90,6 +249,56 @@ public class CustomerController {
     return ResponseEntity.ok(customerService.getCustomerById(id));
   }
 
+  @Operation(
+      summary = "Obter cliente por CPF",
+      description = "Retorna o cliente com o CPF informado, com ou sem pontuação",
+      tags = {"Clientes"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cliente retornado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CustomerDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "CPF inválido",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Cliente não encontrado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Mais de um cliente cadastrado com o mesmo CPF",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/by-cpf/{cpf}")
+  public ResponseEntity<CustomerDTO> getCustomerByCpf(
+      @Parameter(description = "CPF do cliente, com ou sem pontuação", required = true)
+          @PathVariable
+          String cpf) {
+    return ResponseEntity.ok(customerService.getCustomerByCpf(cpf));
+  }
+
   @Operation(
       summary = "Criar um novo cliente",
       description = "Cria um novo cliente",
@@ -229,4 +438,43 @@ public class CustomerController {
     customerService.deleteCustomer(id);
     return ResponseEntity.ok(new SuccessResponse("Cliente excluído com sucesso"));
   }
+
+  @Operation(
+      summary = "Importar clientes via CSV",
+      description =
+          "Importa um arquivo CSV com cabeçalho e as colunas name, cpf, phone e email (phone e email são opcionais). O CPF pode vir com ou sem pontuação e é gravado no formato XXX.XXX.XXX-XX. Clientes já cadastrados com o mesmo CPF são atualizados e CPFs repetidos no arquivo são rejeitados",
+      tags = {"Clientes"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Importação concluída, com as linhas rejeitadas detalhadas",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ImportResultDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Arquivo inválido",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ImportResultDTO> importCustomers(
+      @Parameter(description = "Arquivo CSV de clientes", required = true) @RequestParam("file")
+          MultipartFile file)
+      throws IOException {
+    try (InputStream csv = file.getInputStream()) {
+      return ResponseEntity.ok(customerImportService.importCustomers(csv));
+    }
+  }
 }
@@ -0,0 +1,431 @@
+package com.shop.buy.controller;
+
+import com.shop.buy.dto.FlashSaleQuotaDTO;
+import com.shop.buy.dto.FlashSaleStatusDTO;
+import com.shop.buy.dto.InventoryAdjustmentDTO;
+import com.shop.buy.dto.InventoryDTO;
+import com.shop.buy.dto.StockReservationDTO;
+import com.shop.buy.dto.StockReservationRequestDTO;
+import com.shop.buy.dto.SuccessResponse;
+import com.shop.buy.exception.ErrorResponse;
+import com.shop.buy.service.InventoryService;
+import com.shop.buy.service.StockReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/inventory")
+@Tag(name = "Estoque", description = "Endpoints para gerenciamento do estoque de produtos")
+public class InventoryController {
+
+  private final InventoryService inventoryService;
+  private final StockReservationService stockReservationService;
+
+  public InventoryController(
+      InventoryService inventoryService, StockReservationService stockReservationService) {
+    this.inventoryService = inventoryService;
+    this.stockReservationService = stockReservationService;
+  }
+
+  @Operation(
+      summary = "Obter o estoque de todos os produtos",
+      description =
+          "Retorna o saldo de todos os produtos com estoque controlado. Produtos sem registro de estoque não têm limite de venda",
+      tags = {"Estoque"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estoque retornado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = InventoryDTO.class)))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping
+  public ResponseEntity<List<InventoryDTO>> getAllInventory() {
+    return ResponseEntity.ok(inventoryService.getAllInventory());
+  }
+
+  @Operation(
+      summary = "Obter o estoque de um produto",
+      description = "Retorna o saldo em estoque de um produto específico",
+      tags = {"Estoque"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estoque retornado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = InventoryDTO.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Estoque não encontrado para o produto",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/{productId}")
+  public ResponseEntity<InventoryDTO> getInventoryByProductId(
+      @Parameter(description = "ID do produto", required = true) @PathVariable Long productId) {
+    return ResponseEntity.ok(inventoryService.getInventoryByProductId(productId));
+  }
+
+  @Operation(
+      summary = "Definir o estoque de um produto",
+      description =
+          "Define o saldo em estoque de um produto, passando a controlar o estoque dele caso ainda não seja controlado",
+      tags = {"Estoque"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estoque definido com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = InventoryDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados de entrada inválidos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Produto não encontrado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PutMapping("/{productId}")
+  public ResponseEntity<InventoryDTO> setStock(
+      @Parameter(description = "ID do produto", required = true) @PathVariable Long productId,
+      @Parameter(description = "Novo saldo em estoque", required = true) @Valid @RequestBody
+          InventoryDTO inventoryDTO) {
+    return ResponseEntity.ok(inventoryService.setStock(productId, inventoryDTO));
+  }
+
+  @Operation(
+      summary = "Ajustar o estoque de um produto",
+      description =
+          "Soma a variação informada ao saldo atual do produto de forma atômica, sem sobrescrever vendas concorrentes",
+      tags = {"Estoque"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estoque ajustado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = InventoryDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados de entrada inválidos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Estoque não encontrado para o produto",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "O ajuste deixaria o estoque negativo",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PostMapping("/{productId}/adjustments")
+  public ResponseEntity<InventoryDTO> adjustStock(
+      @Parameter(description = "ID do produto", required = true) @PathVariable Long productId,
+      @Parameter(description = "Variação do estoque", required = true) @Valid @RequestBody
+          InventoryAdjustmentDTO adjustmentDTO) {
+    return ResponseEntity.ok(inventoryService.adjustStock(productId, adjustmentDTO.getDelta()));
+  }
+
+  @Operation(
+      summary = "Listar promoções com cota de estoque",
+      description =
+          "Retorna as cotas de estoque em memória das promoções relâmpago abertas e o consumo ainda não conciliado com o banco",
+      tags = {"Estoque"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cotas retornadas com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    array =
+                        @ArraySchema(
+                            schema = @Schema(implementation = FlashSaleStatusDTO.class)))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/flash-sales")
+  public ResponseEntity<List<FlashSaleStatusDTO>> getFlashSales() {
+    return ResponseEntity.ok(inventoryService.getFlashSales());
+  }
+
+  @Operation(
+      summary = "Abrir cota de estoque para promoção",
+      description =
+          "Separa a quantidade informada do estoque do produto e passa a vender a partir de uma cota em memória, sem travar a linha do produto no banco a cada venda. Chamadas repetidas aumentam a cota",
+      tags = {"Estoque"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cota aberta com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = FlashSaleStatusDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados de entrada inválidos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Estoque não encontrado para o produto",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Estoque insuficiente para a cota",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor ou cotas desativadas",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PostMapping("/{productId}/flash-sale")
+  public ResponseEntity<FlashSaleStatusDTO> openFlashSale(
+      @Parameter(description = "ID do produto", required = true) @PathVariable Long productId,
+      @Parameter(description = "Quantidade da cota", required = true) @Valid @RequestBody
+          FlashSaleQuotaDTO quotaDTO) {
+    return ResponseEntity.ok(inventoryService.openFlashSale(productId, quotaDTO.getQuantity()));
+  }
+
+  @Operation(
+      summary = "Encerrar cota de estoque de promoção",
+      description =
+          "Encerra a cota do produto. As vendas voltam a usar o estoque do banco e o saldo não vendido é devolvido assim que as vendas em andamento terminarem",
+      tags = {"Estoque"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cota encerrada com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = FlashSaleStatusDTO.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Nenhuma promoção ativa para o produto",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @DeleteMapping("/{productId}/flash-sale")
+  public ResponseEntity<FlashSaleStatusDTO> closeFlashSale(
+      @Parameter(description = "ID do produto", required = true) @PathVariable Long productId) {
+    return ResponseEntity.ok(inventoryService.closeFlashSale(productId));
+  }
+
+  @Operation(
+      summary = "Reservar estoque para um checkout",
+      description =
+          "Baixa o estoque dos itens e o segura até a venda ser criada com o token retornado. Se a venda não for criada até o vencimento, o estoque é devolvido automaticamente",
+      tags = {"Estoque"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Reserva criada com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = StockReservationDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados de entrada inválidos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Produto não encontrado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Estoque insuficiente para algum dos produtos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PostMapping("/reservations")
+  public ResponseEntity<StockReservationDTO> createReservation(
+      @Parameter(description = "Itens a reservar", required = true) @Valid @RequestBody
+          StockReservationRequestDTO request) {
+    return new ResponseEntity<>(
+        stockReservationService.createReservation(request), HttpStatus.CREATED);
+  }
+
+  @Operation(
+      summary = "Obter reserva de estoque",
+      description = "Retorna os itens e o vencimento de uma reserva ainda não consumida",
+      tags = {"Estoque"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Reserva retornada com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = StockReservationDTO.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Reserva não encontrada",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/reservations/{token}")
+  public ResponseEntity<StockReservationDTO> getReservation(
+      @Parameter(description = "Token da reserva", required = true) @PathVariable String token) {
+    return ResponseEntity.ok(stockReservationService.getReservation(token));
+  }
+
+  @Operation(
+      summary = "Cancelar reserva de estoque",
+      description = "Devolve imediatamente ao estoque os itens de uma reserva abandonada",
+      tags = {"Estoque"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Reserva cancelada com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = SuccessResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Reserva não encontrada",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @DeleteMapping("/reservations/{token}")
+  public ResponseEntity<SuccessResponse> releaseReservation(
+      @Parameter(description = "Token da reserva", required = true) @PathVariable String token) {
+    stockReservationService.releaseReservation(token);
+    return ResponseEntity.ok(new SuccessResponse("Reserva de estoque cancelada com sucesso"));
+  }
+}
@@ -1,8 +1,21 @@
 package com.shop.buy.controller;
 
+import com.shop.buy.controller.support.FieldSelection;
+import com.shop.buy.dto.BestSellerDTO;
+import com.shop.buy.dto.ImportResultDTO;
+import com.shop.buy.dto.LowStockProductDTO;
+import com.shop.buy.dto.ProductBrowseDTO;
+import com.shop.buy.dto.ProductBrowseFilter;
 import com.shop.buy.dto.ProductDTO;
+import com.shop.buy.dto.ProductPriceDTO;
+import com.shop.buy.dto.ProductRepriceDTO;
+import com.shop.buy.dto.ProductRepriceResultDTO;
+import com.shop.buy.dto.ProductSuggestionDTO;
+import com.shop.buy.dto.ProductSummaryDTO;
+import com.shop.buy.dto.RelatedProductDTO;
 import com.shop.buy.dto.SuccessResponse;
 import com.shop.buy.exception.ErrorResponse;
+import com.shop.buy.service.ProductImportService;
 import com.shop.buy.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,24 +26,36 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping("/api/products")
 @Tag(name = "Produtos", description = "Endpoints para gerenciamento de produtos")
 public class ProductController {
   private final ProductService productService;
+  private final ProductImportService productImportService;
 
-  public ProductController(ProductService productService) {
+  public ProductController(
+      ProductService productService, ProductImportService productImportService) {
     this.productService = productService;
+    this.productImportService = productImportService;
   }
 
   @Operation(
       summary = "Obter todos os produtos",
-      description = "Retorna uma lista de todos os produtos registrados",
+      description =
+          "Retorna uma lista de todos os produtos registrados. Use view=summary ou fields para reduzir a resposta",
       tags = {"Produtos"})
   @ApiResponses(
       value = {
@@ -50,13 +75,121 @@ public class ProductController {
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
   @GetMapping
-  public ResponseEntity<List<ProductDTO>> getAllProducts() {
-    return ResponseEntity.ok(productService.getAllProducts());
+  public ResponseEntity<MappingJacksonValue> getAllProducts(
+      @Parameter(description = "Formato da resposta: summary (apenas IDs das referências) ou full")
+          @RequestParam(required = false)
+          String view,
+      @Parameter(description = "Lista de campos a retornar, separados por vírgula")
+          @RequestParam(required = false)
+          String fields) {
+    Object products =
+        FieldSelection.useSummary(view, fields, ProductSummaryDTO.class)
+            ? productService.getAllProductSummaries()
+            : productService.getAllProducts();
+    return ResponseEntity.ok(FieldSelection.apply(products, fields));
+  }
+
+  @Operation(
+      summary = "Autocompletar nomes de produtos",
+      description =
+          "Retorna os produtos ativos cujo nome possui alguma palavra iniciando pelo prefixo informado, consultando um índice em memória",
+      tags = {"Produtos"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Sugestões retornadas com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    array =
+                        @ArraySchema(
+                            schema = @Schema(implementation = ProductSuggestionDTO.class)))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/autocomplete")
+  public ResponseEntity<List<ProductSuggestionDTO>> autocompleteProducts(
+      @Parameter(description = "Prefixo digitado", required = true) @RequestParam String prefix,
+      @Parameter(description = "Quantidade máxima de sugestões (máximo 50)")
+          @RequestParam(defaultValue = "10")
+          int limit) {
+    return ResponseEntity.ok(productService.autocompleteProducts(prefix, limit));
+  }
+
+  @Operation(
+      summary = "Produtos mais vendidos",
+      description =
+          "Retorna os produtos mais vendidos no último dia, semana ou mês, por unidades ou receita. Responde a partir de contadores em memória atualizados a cada venda",
+      tags = {"Produtos"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ranking retornado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = BestSellerDTO.class)))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor ou parâmetros inválidos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/top")
+  public ResponseEntity<List<BestSellerDTO>> getTopProducts(
+      @Parameter(description = "Janela de tempo (day, week, month)")
+          @RequestParam(defaultValue = "day")
+          String window,
+      @Parameter(description = "Critério de ordenação (units, revenue)")
+          @RequestParam(defaultValue = "units")
+          String by,
+      @Parameter(description = "Quantidade de produtos (máximo 100)")
+          @RequestParam(defaultValue = "10")
+          int limit) {
+    return ResponseEntity.ok(productService.getTopProducts(window, by, limit));
+  }
+
+  @Operation(
+      summary = "Listar produtos com estoque baixo",
+      description =
+          "Retorna os produtos cujo estoque chegou ao ponto de reposição, do menor saldo para o maior. A lista é mantida em memória a cada movimentação de estoque",
+      tags = {"Produtos"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Produtos retornados com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    array =
+                        @ArraySchema(schema = @Schema(implementation = LowStockProductDTO.class)))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/low-stock")
+  public ResponseEntity<List<LowStockProductDTO>> getLowStockProducts() {
+    return ResponseEntity.ok(productService.getLowStockProducts());
   }
 
   @Operation(
       summary = "Obter produto por ID",
-      description = "Retorna um produto específico pelo seu ID",
+      description =
+          "Retorna um produto específico pelo seu ID. Use view=summary ou fields para reduzir a resposta",
       tags = {"Produtos"})
   @ApiResponses(
       value = {
@@ -83,15 +216,136 @@ public class ProductController {
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
   @GetMapping("/{id}")
-  public ResponseEntity<ProductDTO> getProductById(
+  public ResponseEntity<MappingJacksonValue> getProductById(
       @Parameter(description = "ID do produto a ser retornado", required = true) @PathVariable
-          Long id) {
-    return ResponseEntity.ok(productService.getProductById(id));
+          Long id,
+      @Parameter(description = "Formato da resposta: summary (apenas IDs das referências) ou full")
+          @RequestParam(required = false)
+          String view,
+      @Parameter(description = "Lista de campos a retornar, separados por vírgula")
+          @RequestParam(required = false)
+          String fields) {
+    Object product =
+        FieldSelection.useSummary(view, fields, ProductSummaryDTO.class)
+            ? productService.getProductSummaryById(id)
+            : productService.getProductById(id);
+    return ResponseEntity.ok(FieldSelection.apply(product, fields));
+  }
+
+  @Operation(
+      summary = "Obter preço de um produto em uma data",
+      description =
+          "Retorna o preço vigente do produto no momento informado, com base no histórico de preços. Sem o parâmetro at, retorna o preço atual",
+      tags = {"Produtos"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Preço retornado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProductPriceDTO.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Nenhum preço registrado para o produto na data informada",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/{id}/price")
+  public ResponseEntity<ProductPriceDTO> getProductPriceAt(
+      @Parameter(description = "ID do produto", required = true) @PathVariable Long id,
+      @Parameter(description = "Data/hora de referência (ISO 8601)")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime at) {
+    return ResponseEntity.ok(productService.getProductPriceAt(id, at));
+  }
+
+  @Operation(
+      summary = "Produtos comprados junto",
+      description =
+          "Retorna os produtos que mais aparecem nas mesmas vendas que o produto informado, para sugestões de venda cruzada. Responde a partir de um índice em memória",
+      tags = {"Produtos"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Produtos relacionados retornados com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    array =
+                        @ArraySchema(schema = @Schema(implementation = RelatedProductDTO.class)))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Produto não encontrado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/{id}/related")
+  public ResponseEntity<List<RelatedProductDTO>> getRelatedProducts(
+      @Parameter(description = "ID do produto", required = true) @PathVariable Long id,
+      @Parameter(description = "Quantidade máxima de produtos (máximo 50)")
+          @RequestParam(defaultValue = "10")
+          int limit) {
+    return ResponseEntity.ok(productService.getRelatedProducts(id, limit));
+  }
+
+  @Operation(
+      summary = "Obter preços de todos os produtos em uma data",
+      description =
+          "Retorna o preço vigente de cada produto no momento informado. Sem o parâmetro at, retorna os preços atuais",
+      tags = {"Produtos"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Preços retornados com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    array =
+                        @ArraySchema(schema = @Schema(implementation = ProductPriceDTO.class)))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/prices")
+  public ResponseEntity<List<ProductPriceDTO>> getProductPricesAt(
+      @Parameter(description = "Data/hora de referência (ISO 8601)")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime at) {
+    return ResponseEntity.ok(productService.getProductPricesAt(at));
   }
 
   @Operation(
       summary = "Obter produtos por categoria",
-      description = "Retorna todos os produtos pertencentes a uma categoria específica",
+      description =
+          "Retorna os produtos ativos pertencentes a uma categoria específica e, opcionalmente, às suas subcategorias",
       tags = {"Produtos"})
   @ApiResponses(
       value = {
@@ -121,13 +375,16 @@ public class ProductController {
   public ResponseEntity<List<ProductDTO>> getProductsByCategory(
       @Parameter(description = "ID da categoria para filtrar produtos", required = true)
           @PathVariable
-          Long categoryId) {
-    return ResponseEntity.ok(productService.getProductsByCategory(categoryId));
+          Long categoryId,
+      @Parameter(description = "Incluir os produtos de todas as subcategorias")
+          @RequestParam(defaultValue = "false")
+          boolean includeDescendants) {
+    return ResponseEntity.ok(productService.getProductsByCategory(categoryId, includeDescendants));
   }
 
   @Operation(
       summary = "Obter produtos por marca",
-      description = "Retorna todos os produtos pertencentes a uma marca específica",
+      description = "Retorna os produtos ativos pertencentes a uma marca específica",
       tags = {"Produtos"})
   @ApiResponses(
       value = {
@@ -162,7 +419,7 @@ public class ProductController {
 
   @Operation(
       summary = "Obter produtos por fornecedor",
-      description = "Retorna todos os produtos pertencentes a um fornecedor específico",
+      description = "Retorna os produtos ativos pertencentes a um fornecedor específico",
       tags = {"Produtos"})
   @ApiResponses(
       value = {
@@ -196,6 +453,51 @@ public class ProductController {
     return ResponseEntity.ok(productService.getProductsBySupplier(supplierId));
   }
 
+  @Operation(
+      summary = "Navegar por produtos com filtros combinados",
+      description =
+          "Retorna uma página de produtos ativos filtrada por qualquer combinação de categoria, marca, fornecedor, tamanho, cor e faixa de preço, junto com a contagem de produtos por valor de cada dimensão",
+      tags = {"Produtos"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Produtos e contagens retornados com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProductBrowseDTO.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/browse")
+  public ResponseEntity<ProductBrowseDTO> browseProducts(
+      @Parameter(description = "ID da categoria") @RequestParam(required = false) Long categoryId,
+      @Parameter(description = "ID da marca") @RequestParam(required = false) Long brandId,
+      @Parameter(description = "ID do fornecedor") @RequestParam(required = false)
+          Long supplierId,
+      @Parameter(description = "Tamanho") @RequestParam(required = false) String size,
+      @Parameter(description = "Cor") @RequestParam(required = false) String color,
+      @Parameter(description = "Preço mínimo") @RequestParam(required = false)
+          BigDecimal minPrice,
+      @Parameter(description = "Preço máximo") @RequestParam(required = false)
+          BigDecimal maxPrice,
+      @Parameter(description = "Número da página (inicia em 0)")
+          @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(description = "Quantidade de produtos por página (máximo 100)")
+          @RequestParam(defaultValue = "20")
+          int pageSize) {
+    ProductBrowseFilter filter =
+        new ProductBrowseFilter(categoryId, brandId, supplierId, size, color, minPrice, maxPrice);
+    return ResponseEntity.ok(productService.browseProducts(filter, page, pageSize));
+  }
+
   @Operation(
       summary = "Criar um novo produto",
       description = "Cria um novo produto",
@@ -300,6 +602,83 @@ public class ProductController {
     return ResponseEntity.ok(productService.updateProduct(id, productDTO));
   }
 
+  @Operation(
+      summary = "Reajustar preços em lote",
+      description =
+          "Aplica um reajuste percentual a todos os produtos de uma categoria, marca e/ou fornecedor em uma única operação, registrando o histórico de preços",
+      tags = {"Produtos"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Preços reajustados com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProductRepriceResultDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados de entrada inválidos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PostMapping("/reprice")
+  public ResponseEntity<ProductRepriceResultDTO> repriceProducts(
+      @Parameter(description = "Filtros e percentual do reajuste", required = true)
+          @Valid
+          @RequestBody
+          ProductRepriceDTO repriceDTO) {
+    return ResponseEntity.ok(productService.repriceProducts(repriceDTO));
+  }
+
+  @Operation(
+      summary = "Importar catálogo de produtos via CSV",
+      description =
+          "Importa um arquivo CSV com cabeçalho e as colunas sku, name, size, color, price, category, brand, supplier_cnpj. Categoria e marca são resolvidas pelo nome e o fornecedor pelo CNPJ. Produtos já existentes (mesmo fornecedor e SKU) são atualizados e voltam a ficar ativos; nas variações de um modelo, nome, categoria e marca continuam os do modelo",
+      tags = {"Produtos"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Importação concluída, com as linhas rejeitadas detalhadas",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ImportResultDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Arquivo inválido",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ImportResultDTO> importProducts(
+      @Parameter(description = "Arquivo CSV do catálogo", required = true) @RequestParam("file")
+          MultipartFile file)
+      throws IOException {
+    try (InputStream csv = file.getInputStream()) {
+      return ResponseEntity.ok(productImportService.importProducts(csv));
+    }
+  }
+
   @Operation(
       summary = "Excluir um produto",
       description = "Remove um produto do sistema pelo seu ID",
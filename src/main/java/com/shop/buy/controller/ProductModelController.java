@@ -0,0 +1,243 @@
+package com.shop.buy.controller;
+
+import com.shop.buy.dto.ProductModelDTO;
+import com.shop.buy.dto.SuccessResponse;
+import com.shop.buy.exception.ErrorResponse;
+import com.shop.buy.service.ProductModelService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/product-models")
+@Tag(
+    name = "Modelos de Produto",
+    description = "Endpoints para gerenciamento de modelos de produto e suas grades de variações")
+public class ProductModelController {
+
+  private final ProductModelService productModelService;
+
+  public ProductModelController(ProductModelService productModelService) {
+    this.productModelService = productModelService;
+  }
+
+  @Operation(
+      summary = "Obter todos os modelos de produto",
+      description =
+          "Retorna o catálogo agrupado por modelo. Cada modelo traz os dicionários de tamanhos e cores e a grade de variações, que referencia os dicionários pela posição",
+      tags = {"Modelos de Produto"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Modelos retornados com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    array =
+                        @ArraySchema(
+                            schema = @Schema(implementation = ProductModelDTO.class)))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping
+  public ResponseEntity<List<ProductModelDTO>> getAllProductModels() {
+    return ResponseEntity.ok(productModelService.getAllProductModels());
+  }
+
+  @Operation(
+      summary = "Obter um modelo de produto pelo ID",
+      description =
+          "Retorna um modelo de produto com os dicionários de tamanhos e cores e a grade de variações",
+      tags = {"Modelos de Produto"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Modelo encontrado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProductModelDTO.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Modelo de produto não encontrado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/{id}")
+  public ResponseEntity<ProductModelDTO> getProductModelById(
+      @Parameter(description = "ID do modelo de produto", required = true) @PathVariable Long id) {
+    return ResponseEntity.ok(productModelService.getProductModelById(id));
+  }
+
+  @Operation(
+      summary = "Criar um novo modelo de produto",
+      description =
+          "Cria um modelo de produto e uma variação para cada combinação dos tamanhos e cores informados, todas com o preço informado",
+      tags = {"Modelos de Produto"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Modelo criado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProductModelDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados do body inválidos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Categoria, marca ou fornecedor não encontrado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "SKU de alguma variação já existe para o fornecedor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PostMapping
+  public ResponseEntity<ProductModelDTO> createProductModel(
+      @Parameter(description = "Detalhes do modelo de produto para criação", required = true)
+          @Valid
+          @RequestBody
+          ProductModelDTO productModelDTO) {
+    return new ResponseEntity<>(
+        productModelService.createProductModel(productModelDTO), HttpStatus.CREATED);
+  }
+
+  @Operation(
+      summary = "Atualizar um modelo de produto existente",
+      description =
+          "Atualiza o modelo e replica nome, categoria, marca e fornecedor em todas as suas variações. Combinações de tamanho e cor informadas que ainda não existem são criadas; as existentes não são removidas",
+      tags = {"Modelos de Produto"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Modelo atualizado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProductModelDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados do body inválidos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Modelo, categoria, marca ou fornecedor não encontrado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "SKU de alguma variação já existe para o fornecedor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PutMapping("/{id}")
+  public ResponseEntity<ProductModelDTO> updateProductModel(
+      @Parameter(description = "ID do modelo de produto a ser atualizado", required = true)
+          @PathVariable
+          Long id,
+      @Parameter(description = "Informações atualizadas do modelo de produto", required = true)
+          @Valid
+          @RequestBody
+          ProductModelDTO productModelDTO) {
+    return ResponseEntity.ok(productModelService.updateProductModel(id, productModelDTO));
+  }
+
+  @Operation(
+      summary = "Excluir um modelo de produto",
+      description =
+          "Exclui o modelo de produto. As variações continuam cadastradas como produtos avulsos, pois podem ter vendas registradas",
+      tags = {"Modelos de Produto"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Modelo excluído com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = SuccessResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Modelo de produto não encontrado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @DeleteMapping("/{id}")
+  public ResponseEntity<SuccessResponse> deleteProductModel(
+      @Parameter(description = "ID do modelo de produto a ser excluído", required = true)
+          @PathVariable
+          Long id) {
+    productModelService.deleteProductModel(id);
+    return ResponseEntity.ok(new SuccessResponse("Modelo de produto excluído com sucesso"));
+  }
+}
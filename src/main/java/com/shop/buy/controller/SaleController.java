@@ -1,6 +1,9 @@
 package com.shop.buy.controller;
 
+import com.shop.buy.controller.support.FieldSelection;
+import com.shop.buy.dto.CustomerPurchaseHistoryDTO;
 import com.shop.buy.dto.SaleDTO;
+import com.shop.buy.dto.SaleSummaryDTO;
 import com.shop.buy.dto.SuccessResponse;
 import com.shop.buy.exception.ErrorResponse;
 import com.shop.buy.model.PaymentMethod;
@@ -17,6 +20,7 @@ import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,7 +38,8 @@ public class SaleController {
 
   @Operation(
       summary = "Obter todas as vendas",
-      description = "Retorna uma lista de todas as vendas registradas",
+      description =
+          "Retorna uma lista de todas as vendas registradas. Use view=summary ou fields para reduzir a resposta",
       tags = {"Vendas"})
   @ApiResponses(
       value = {
@@ -54,13 +59,24 @@ public class SaleController {
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
   @GetMapping
-  public ResponseEntity<List<SaleDTO>> getAllSales() {
-    return ResponseEntity.ok(saleService.getAllSales());
+  public ResponseEntity<MappingJacksonValue> getAllSales(
+      @Parameter(description = "Formato da resposta: summary (apenas IDs das referências) ou full")
+          @RequestParam(required = false)
+          String view,
+      @Parameter(description = "Lista de campos a retornar, separados por vírgula")
+          @RequestParam(required = false)
+          String fields) {
+    Object sales =
+        FieldSelection.useSummary(view, fields, SaleSummaryDTO.class)
+            ? saleService.getAllSaleSummaries()
+            : saleService.getAllSales();
+    return ResponseEntity.ok(FieldSelection.apply(sales, fields));
   }
 
   @Operation(
       summary = "Obter venda por ID",
-      description = "Retorna uma venda específica pelo seu ID",
+      description =
+          "Retorna uma venda específica pelo seu ID. Use view=summary ou fields para reduzir a resposta",
       tags = {"Vendas"})
   @ApiResponses(
       value = {
@@ -87,10 +103,20 @@ public class SaleController {
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
   @GetMapping("/{id}")
-  public ResponseEntity<SaleDTO> getSaleById(
+  public ResponseEntity<MappingJacksonValue> getSaleById(
       @Parameter(description = "ID da venda a ser retornada", required = true) @PathVariable
-          Long id) {
-    return ResponseEntity.ok(saleService.getSaleById(id));
+          Long id,
+      @Parameter(description = "Formato da resposta: summary (apenas IDs das referências) ou full")
+          @RequestParam(required = false)
+          String view,
+      @Parameter(description = "Lista de campos a retornar, separados por vírgula")
+          @RequestParam(required = false)
+          String fields) {
+    Object sale =
+        FieldSelection.useSummary(view, fields, SaleSummaryDTO.class)
+            ? saleService.getSaleSummaryById(id)
+            : saleService.getSaleById(id);
+    return ResponseEntity.ok(FieldSelection.apply(sale, fields));
   }
 
   @Operation(
@@ -128,6 +154,47 @@ public class SaleController {
     return ResponseEntity.ok(saleService.getSalesByCustomerId(customerId));
   }
 
+  @Operation(
+      summary = "Histórico de compras do cliente",
+      description =
+          "Retorna o resumo de compras do cliente (total gasto, quantidade de vendas, última compra e valor médio) e uma página das suas vendas, da mais recente para a mais antiga. Para a próxima página, envie o nextCursor retornado",
+      tags = {"Vendas"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Histórico retornado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CustomerPurchaseHistoryDTO.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Cliente não encontrado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/customer/{customerId}/history")
+  public ResponseEntity<CustomerPurchaseHistoryDTO> getCustomerPurchaseHistory(
+      @Parameter(description = "ID do cliente", required = true) @PathVariable Long customerId,
+      @Parameter(description = "Cursor retornado pela página anterior; vazio na primeira página")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Quantidade de vendas por página (máximo 100)")
+          @RequestParam(defaultValue = "20")
+          int size) {
+    return ResponseEntity.ok(saleService.getCustomerPurchaseHistory(customerId, cursor, size));
+  }
+
   @Operation(
       summary = "Obter vendas por ID do funcionário",
       description = "Retorna todas as vendas associadas a um funcionário específico",
@@ -192,6 +259,20 @@ public class SaleController {
                 @Content(
                     mediaType = "application/json",
                     schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Estoque insuficiente para algum dos produtos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "410",
+            description = "Reserva de estoque informada expirou ou não existe",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(
             responseCode = "500",
             description = "Erro interno do servidor",
@@ -249,6 +330,13 @@ public class SaleController {
                 @Content(
                     mediaType = "application/json",
                     schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Estoque insuficiente para algum dos produtos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(
             responseCode = "500",
             description = "Erro interno do servidor",
@@ -195,6 +195,13 @@ public class SaleItemController {
                 @Content(
                     mediaType = "application/json",
                     schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Estoque insuficiente para o produto",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(
             responseCode = "500",
             description = "Erro interno do servidor",
@@ -241,6 +248,13 @@ public class SaleItemController {
                 @Content(
                     mediaType = "application/json",
                     schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Estoque insuficiente para o produto",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(
             responseCode = "500",
             description = "Erro interno do servidor",
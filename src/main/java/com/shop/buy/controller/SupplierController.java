@@ -1,8 +1,11 @@
 package com.shop.buy.controller;
 
 import com.shop.buy.dto.SuccessResponse;
+import com.shop.buy.dto.SupplierCatalogSyncDTO;
+import com.shop.buy.dto.SupplierCatalogSyncResultDTO;
 import com.shop.buy.dto.SupplierDTO;
 import com.shop.buy.exception.ErrorResponse;
+import com.shop.buy.service.SupplierCatalogSyncService;
 import com.shop.buy.service.SupplierService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,9 +27,12 @@ import org.springframework.web.bind.annotation.*;
 public class SupplierController {
 
   private final SupplierService supplierService;
+  private final SupplierCatalogSyncService catalogSyncService;
 
-  public SupplierController(SupplierService supplierService) {
+  public SupplierController(
+      SupplierService supplierService, SupplierCatalogSyncService catalogSyncService) {
     this.supplierService = supplierService;
+    this.catalogSyncService = catalogSyncService;
   }
 
   @Operation(
@@ -90,6 +96,57 @@ public class SupplierController {
     return ResponseEntity.ok(supplierService.getSupplierById(id));
   }
 
+  @Operation(
+      summary = "Obter fornecedor por CNPJ",
+      description =
+          "Retorna o fornecedor com o CNPJ informado, com ou sem pontuação (a barra também é aceita)",
+      tags = {"Fornecedores"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Fornecedor retornado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = SupplierDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "CNPJ inválido",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Fornecedor não encontrado",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Mais de um fornecedor cadastrado com o mesmo CNPJ",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/by-cnpj/{*cnpj}")
+  public ResponseEntity<SupplierDTO> getSupplierByCnpj(
+      @Parameter(description = "CNPJ do fornecedor, com ou sem pontuação", required = true)
+          @PathVariable
+          String cnpj) {
+    return ResponseEntity.ok(supplierService.getSupplierByCnpj(cnpj));
+  }
+
   @Operation(
       summary = "Criar um novo fornecedor",
       description = "Cria um novo fornecedor",
@@ -229,4 +286,53 @@ public class SupplierController {
     supplierService.deleteSupplier(id);
     return ResponseEntity.ok(new SuccessResponse("Fornecedor excluído com sucesso"));
   }
+
+  @Operation(
+      summary = "Sincronizar o catálogo do fornecedor",
+      description =
+          "Recebe a lista completa de produtos do fornecedor e aplica apenas as diferenças: "
+              + "insere SKUs novos, atualiza produtos alterados e desativa os que não constam "
+              + "mais na lista. Nas variações de um modelo, nome, categoria e marca continuam os "
+              + "do modelo",
+      tags = {"Fornecedores"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Catálogo sincronizado com sucesso",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = SupplierCatalogSyncResultDTO.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados de entrada inválidos",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Fornecedor, categoria ou marca não encontrados",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Erro interno do servidor",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PutMapping("/{id}/catalog")
+  public ResponseEntity<SupplierCatalogSyncResultDTO> syncCatalog(
+      @Parameter(description = "ID do fornecedor", required = true) @PathVariable Long id,
+      @Parameter(description = "Lista completa de produtos do fornecedor", required = true)
+          @Valid
+          @RequestBody
+          SupplierCatalogSyncDTO catalog) {
+    return ResponseEntity.ok(catalogSyncService.syncCatalog(id, catalog));
+  }
 }
@@ -0,0 +1,66 @@
+package com.shop.buy.controller.support;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+/**
+ * Trata os parâmetros {@code view} e {@code fields} dos endpoints de listagem e detalhe. A view
+ * resumida é escolhida quando pedida explicitamente ou quando todos os campos pedidos existem no
+ * DTO resumido, para que a consulta busque apenas as colunas necessárias.
+ */
+public final class FieldSelection {
+
+  public static final String FILTER_ID = "fieldSelection";
+
+  public static final String VIEW_SUMMARY = "summary";
+  public static final String VIEW_FULL = "full";
+
+  private FieldSelection() {}
+
+  public static boolean useSummary(String view, String fields, Class<?> summaryType) {
+    if (view != null && !view.isBlank()) {
+      if (VIEW_SUMMARY.equalsIgnoreCase(view.trim())) {
+        return true;
+      }
+      if (VIEW_FULL.equalsIgnoreCase(view.trim())) {
+        return false;
+      }
+      throw new IllegalArgumentException(
+          "View inválida: " + view + ". Valores válidos: summary, full");
+    }
+    Set<String> requested = parse(fields);
+    return !requested.isEmpty() && fieldNames(summaryType).containsAll(requested);
+  }
+
+  public static MappingJacksonValue apply(Object body, String fields) {
+    Set<String> requested = parse(fields);
+    MappingJacksonValue value = new MappingJacksonValue(body);
+    value.setFilters(
+        new SimpleFilterProvider()
+            .addFilter(
+                FILTER_ID,
+                requested.isEmpty()
+                    ? SimpleBeanPropertyFilter.serializeAll()
+                    : SimpleBeanPropertyFilter.filterOutAllExcept(requested)));
+    return value;
+  }
+
+  private static Set<String> parse(String fields) {
+    if (fields == null || fields.isBlank()) {
+      return Set.of();
+    }
+    return Arrays.stream(fields.split(","))
+        .map(String::trim)
+        .filter(field -> !field.isEmpty())
+        .collect(Collectors.toSet());
+  }
+
+  private static Set<String> fieldNames(Class<?> type) {
+    return Arrays.stream(type.getDeclaredFields()).map(Field::getName).collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,23 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BestSellerDTO {
+
+  private Long productId;
+
+  private String name;
+
+  @Schema(description = "Unidades vendidas na janela")
+  private Long units;
+
+  @Schema(description = "Receita bruta dos itens na janela, antes dos descontos da venda")
+  private BigDecimal revenue;
+}
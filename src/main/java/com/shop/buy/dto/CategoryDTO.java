@@ -18,4 +18,12 @@ public class CategoryDTO {
   private String name;
 
   private String description;
+
+  @Schema(description = "ID da categoria pai. Nulo para categorias de primeiro nível")
+  private Long parentId;
+
+  @Schema(
+      description = "IDs da raiz até a categoria, como /1/5/12/",
+      accessMode = Schema.AccessMode.READ_ONLY)
+  private String path;
 }
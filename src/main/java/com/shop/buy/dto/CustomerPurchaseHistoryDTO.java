@@ -0,0 +1,21 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPurchaseHistoryDTO {
+
+  private CustomerPurchaseSummaryDTO summary;
+
+  @Schema(description = "Vendas da página, da mais recente para a mais antiga")
+  private List<SaleSummaryDTO> purchases;
+
+  @Schema(description = "Cursor para a próxima página; nulo quando não há mais vendas")
+  private String nextCursor;
+}
@@ -0,0 +1,26 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPurchaseSummaryDTO {
+
+  private Long customerId;
+
+  @Schema(description = "Valor total gasto pelo cliente, já com os descontos")
+  private BigDecimal totalSpent;
+
+  private Long orderCount;
+
+  @Schema(description = "Valor médio por venda")
+  private BigDecimal averageBasket;
+
+  private LocalDateTime lastPurchaseAt;
+}
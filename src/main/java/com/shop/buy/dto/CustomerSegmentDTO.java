@@ -0,0 +1,48 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSegmentDTO {
+
+  private Long customerId;
+
+  @Schema(description = "Dias desde a última compra, na data do cálculo")
+  private Integer recencyDays;
+
+  @Schema(description = "Quantidade de vendas")
+  private Integer frequency;
+
+  @Schema(description = "Valor total gasto, já com os descontos")
+  private BigDecimal monetary;
+
+  @Schema(description = "Pontuação de recência, de 1 (mais antiga) a 5 (mais recente)")
+  private Integer recencyScore;
+
+  @Schema(description = "Pontuação de frequência, de 1 a 5")
+  private Integer frequencyScore;
+
+  @Schema(description = "Pontuação de valor, de 1 a 5")
+  private Integer monetaryScore;
+
+  @Schema(
+      description = "Segmento do cliente",
+      allowableValues = {
+        "CHAMPIONS",
+        "LOYAL",
+        "NEW",
+        "NEEDS_ATTENTION",
+        "AT_RISK",
+        "HIBERNATING"
+      })
+  private String segment;
+
+  private LocalDateTime computedAt;
+}
@@ -0,0 +1,28 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSegmentRebuildStatusDTO {
+
+  @Schema(
+      description = "Situação do último recálculo",
+      allowableValues = {"IDLE", "RUNNING", "COMPLETED", "FAILED"})
+  private String status;
+
+  private LocalDateTime startedAt;
+
+  private LocalDateTime finishedAt;
+
+  @Schema(description = "Quantidade de clientes segmentados, quando o recálculo foi concluído")
+  private Integer customers;
+
+  @Schema(description = "Motivo da falha, quando o recálculo não foi concluído")
+  private String error;
+}
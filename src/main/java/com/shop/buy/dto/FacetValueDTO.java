@@ -0,0 +1,21 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetValueDTO {
+
+  @Schema(description = "Valor do filtro (ID ou texto) a ser enviado na próxima consulta")
+  private String value;
+
+  @Schema(description = "Rótulo legível do valor")
+  private String label;
+
+  @Schema(description = "Quantidade de produtos com este valor")
+  private long count;
+}
@@ -0,0 +1,19 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlashSaleQuotaDTO {
+
+  @Schema(description = "Quantidade a separar do estoque para a promoção", example = "500")
+  @NotNull(message = "Quantidade da cota é obrigatória")
+  @Min(value = 1, message = "Quantidade da cota deve ser pelo menos 1")
+  private Integer quantity;
+}
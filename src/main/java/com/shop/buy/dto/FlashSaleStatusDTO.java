@@ -0,0 +1,23 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlashSaleStatusDTO {
+
+  private Long productId;
+
+  @Schema(description = "Unidades ainda disponíveis na cota em memória")
+  private Long remaining;
+
+  @Schema(description = "Unidades vendidas que ainda não foram conciliadas com o banco")
+  private Long pendingConsumption;
+
+  @Schema(description = "Indica se a promoção foi encerrada e aguarda a devolução do saldo")
+  private Boolean closed;
+}
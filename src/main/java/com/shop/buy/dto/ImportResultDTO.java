@@ -0,0 +1,25 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+
+  @Schema(description = "Quantidade de linhas de dados lidas do arquivo")
+  private long totalRows;
+
+  private long inserted;
+
+  private long updated;
+
+  private long rejected;
+
+  @Schema(description = "Erros por linha (limitado às primeiras ocorrências)")
+  private List<ImportRowErrorDTO> errors;
+}
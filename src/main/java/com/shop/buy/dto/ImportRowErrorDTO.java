@@ -0,0 +1,17 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+
+  @Schema(description = "Linha do arquivo (considerando o cabeçalho como linha 1)")
+  private long line;
+
+  private String message;
+}
@@ -0,0 +1,19 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryAdjustmentDTO {
+
+  @Schema(
+      description = "Variação do estoque. Positiva para entradas, negativa para saídas",
+      example = "10")
+  @NotNull(message = "Variação do estoque é obrigatória")
+  private Integer delta;
+}
@@ -0,0 +1,37 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryDTO {
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private Long productId;
+
+  @Schema(description = "Quantidade em estoque", example = "25")
+  @NotNull(message = "Quantidade em estoque é obrigatória")
+  @Min(value = 0, message = "Quantidade em estoque não pode ser negativa")
+  private Integer quantity;
+
+  @Schema(
+      description = "Ponto de reposição. O produto é alertado quando o estoque chega a este valor",
+      example = "5")
+  @Min(value = 0, message = "Ponto de reposição não pode ser negativo")
+  private Integer reorderPoint;
+
+  @Schema(
+      description = "Quantidade separada para promoções e fora do saldo disponível",
+      accessMode = Schema.AccessMode.READ_ONLY)
+  private Integer allocated;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.shop.buy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockProductDTO {
+
+  private Long productId;
+
+  private String name;
+
+  private Integer quantity;
+
+  private Integer reorderPoint;
+}
@@ -0,0 +1,23 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+
+  @Schema(description = "Registros da página solicitada")
+  private List<T> content;
+
+  private int page;
+
+  private int size;
+
+  @Schema(description = "Total de registros que atendem à busca")
+  private long totalElements;
+}
@@ -0,0 +1,30 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBrowseDTO {
+
+  @Schema(description = "Produtos da página solicitada")
+  private List<ProductDTO> content;
+
+  private int page;
+
+  private int size;
+
+  @Schema(description = "Total de produtos que atendem aos filtros")
+  private long totalElements;
+
+  @Schema(
+      description =
+          "Contagens por dimensão (category, brand, supplier, size, color); cada dimensão "
+              + "considera todos os filtros aplicados, exceto o seu próprio")
+  private Map<String, List<FacetValueDTO>> facets;
+}
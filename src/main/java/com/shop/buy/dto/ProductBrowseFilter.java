@@ -0,0 +1,26 @@
+package com.shop.buy.dto;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBrowseFilter {
+
+  private Long categoryId;
+
+  private Long brandId;
+
+  private Long supplierId;
+
+  private String size;
+
+  private String color;
+
+  private BigDecimal minPrice;
+
+  private BigDecimal maxPrice;
+}
@@ -1,5 +1,7 @@
 package com.shop.buy.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.shop.buy.controller.support.FieldSelection;
 import com.shop.buy.model.Brand;
 import com.shop.buy.model.Category;
 import com.shop.buy.model.Supplier;
@@ -15,11 +17,15 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class ProductDTO {
 
   @Schema(accessMode = Schema.AccessMode.READ_ONLY)
   private Long id;
 
+  @Schema(description = "Código do produto no fornecedor, único por fornecedor")
+  private String sku;
+
   @NotBlank(message = "Nome do produto é obrigatório")
   private String name;
 
@@ -48,4 +54,12 @@ public class ProductDTO {
 
   @NotNull(message = "Fornecedor é obrigatório")
   private Long supplierId;
+
+  @Schema(description = "Modelo (produto pai) do qual este produto é uma variação")
+  private Long modelId;
+
+  @Schema(
+      accessMode = Schema.AccessMode.READ_ONLY,
+      description = "Indica se o produto ainda consta no catálogo do fornecedor")
+  private Boolean active;
 }
@@ -0,0 +1,55 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductModelDTO {
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private Long id;
+
+  @NotBlank(message = "Nome do modelo é obrigatório")
+  private String name;
+
+  @NotNull(message = "Categoria é obrigatória")
+  private Long categoryId;
+
+  @NotNull(message = "Marca é obrigatória")
+  private Long brandId;
+
+  @NotNull(message = "Fornecedor é obrigatório")
+  private Long supplierId;
+
+  @Schema(
+      description =
+          "Dicionário de tamanhos do modelo. Na gravação, as combinações de tamanho e cor que ainda não existem viram novas variações")
+  private List<String> sizes = new ArrayList<>();
+
+  @Schema(description = "Dicionário de cores do modelo, referenciado pelas variações")
+  private List<String> colors = new ArrayList<>();
+
+  @Schema(
+      description = "Preço das variações criadas nesta gravação",
+      accessMode = Schema.AccessMode.WRITE_ONLY)
+  @Positive(message = "Preço deve ser um valor positivo")
+  private BigDecimal price;
+
+  @Schema(
+      description = "Prefixo do SKU das variações criadas, completado com o tamanho e a cor",
+      accessMode = Schema.AccessMode.WRITE_ONLY)
+  private String skuPrefix;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private List<ProductVariantDTO> variants = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPriceDTO {
+
+  private Long productId;
+
+  private BigDecimal price;
+
+  @Schema(description = "Data/hora a partir da qual o preço passou a valer")
+  private LocalDateTime validFrom;
+}
@@ -0,0 +1,32 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRepriceDTO {
+
+  @Schema(description = "Reajustar apenas produtos desta categoria")
+  private Long categoryId;
+
+  @Schema(description = "Reajustar apenas produtos desta marca")
+  private Long brandId;
+
+  @Schema(description = "Reajustar apenas produtos deste fornecedor")
+  private Long supplierId;
+
+  @Schema(description = "Percentual de reajuste. Ex.: 8 para +8%, -10 para -10%", example = "8")
+  @NotNull(message = "Percentual de reajuste é obrigatório")
+  @DecimalMin(
+      value = "-100",
+      inclusive = false,
+      message = "Percentual de reajuste deve ser maior que -100")
+  private BigDecimal percentage;
+}
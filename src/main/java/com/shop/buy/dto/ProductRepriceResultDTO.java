@@ -0,0 +1,15 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRepriceResultDTO {
+
+  @Schema(description = "Quantidade de produtos cujo preço mudou com o reajuste")
+  private int updatedProducts;
+}
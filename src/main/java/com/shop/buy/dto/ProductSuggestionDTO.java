@@ -0,0 +1,15 @@
+package com.shop.buy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionDTO {
+
+  private Long id;
+
+  private String name;
+}
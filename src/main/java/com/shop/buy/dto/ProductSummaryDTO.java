@@ -0,0 +1,41 @@
+package com.shop.buy.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.shop.buy.controller.support.FieldSelection;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
+public class ProductSummaryDTO {
+
+  private Long id;
+
+  @Schema(description = "Código do produto no fornecedor, único por fornecedor")
+  private String sku;
+
+  private String name;
+
+  private String size;
+
+  private String color;
+
+  private BigDecimal price;
+
+  private Long categoryId;
+
+  private Long brandId;
+
+  private Long supplierId;
+
+  @Schema(description = "Modelo (produto pai) do qual este produto é uma variação")
+  private Long modelId;
+
+  @Schema(description = "Indica se o produto ainda consta no catálogo do fornecedor")
+  private Boolean active;
+}
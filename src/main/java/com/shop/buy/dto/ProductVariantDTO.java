@@ -0,0 +1,26 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductVariantDTO {
+
+  @Schema(description = "ID do produto vendável desta variação")
+  private Long productId;
+
+  private String sku;
+
+  @Schema(description = "Posição do tamanho na lista sizes do modelo, ou nulo se não houver")
+  private Integer size;
+
+  @Schema(description = "Posição da cor na lista colors do modelo, ou nulo se não houver")
+  private Integer color;
+
+  private BigDecimal price;
+}
@@ -0,0 +1,22 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedProductDTO {
+
+  private Long productId;
+
+  private String name;
+
+  @Schema(description = "Quantidade de vendas em que os dois produtos aparecem juntos")
+  private Integer together;
+
+  @Schema(description = "Fração das vendas do produto consultado que também contêm este produto")
+  private Double confidence;
+}
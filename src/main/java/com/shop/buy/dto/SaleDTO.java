@@ -1,5 +1,7 @@
 package com.shop.buy.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.shop.buy.controller.support.FieldSelection;
 import com.shop.buy.model.Customer;
 import com.shop.buy.model.Employee;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,6 +20,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class SaleDTO {
 
   @Schema(accessMode = Schema.AccessMode.READ_ONLY)
@@ -56,4 +59,12 @@ public class SaleDTO {
   @Valid
   @Schema(description = "Lista de itens da venda.")
   private List<NestedSaleItemDTO> items;
+
+  @Schema(
+      accessMode = Schema.AccessMode.WRITE_ONLY,
+      description =
+          "Token de uma reserva de estoque feita no início do checkout. A venda consome a reserva "
+              + "no lugar de uma nova baixa. Se a reserva expirou ou não existe, a venda é "
+              + "recusada com 410; faça uma nova reserva ou envie a venda sem token.")
+  private String reservationToken;
 }
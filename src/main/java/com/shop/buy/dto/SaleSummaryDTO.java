@@ -0,0 +1,32 @@
+package com.shop.buy.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.shop.buy.controller.support.FieldSelection;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
+public class SaleSummaryDTO {
+
+  private Long id;
+
+  private Long customerId;
+
+  private Long employeeId;
+
+  private LocalDateTime saleDate;
+
+  private BigDecimal discount;
+
+  private String paymentMethod;
+
+  private BigDecimal totalValue;
+
+  private Long itemCount;
+}
@@ -0,0 +1,21 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationDTO {
+
+  @Schema(description = "Token a ser enviado em reservationToken ao criar a venda")
+  private String token;
+
+  private LocalDateTime expiresAt;
+
+  private List<StockReservationItemDTO> items;
+}
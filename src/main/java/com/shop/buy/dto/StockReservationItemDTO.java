@@ -0,0 +1,20 @@
+package com.shop.buy.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationItemDTO {
+
+  @NotNull(message = "Produto é obrigatório")
+  private Long productId;
+
+  @NotNull(message = "Quantidade é obrigatória")
+  @Min(value = 1, message = "Quantidade deve ser pelo menos 1")
+  private Integer quantity;
+}
@@ -0,0 +1,26 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequestDTO {
+
+  @NotEmpty(message = "A reserva deve conter pelo menos um item")
+  @Valid
+  private List<StockReservationItemDTO> items;
+
+  @Schema(description = "Validade da reserva em segundos. Se omitida, usa o padrão configurado")
+  @Min(value = 30, message = "A reserva deve valer pelo menos 30 segundos")
+  @Max(value = 3600, message = "A reserva deve valer no máximo 3600 segundos")
+  private Integer ttlSeconds;
+}
@@ -0,0 +1,22 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierCatalogSyncDTO {
+
+  @Schema(
+      description =
+          "Lista completa de produtos do fornecedor. Produtos cadastrados cujo SKU não aparece aqui são desativados")
+  @NotNull(message = "A lista de produtos é obrigatória")
+  @Valid
+  private List<SupplierCatalogItemDTO> items;
+}
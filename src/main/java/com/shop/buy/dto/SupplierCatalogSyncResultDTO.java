@@ -0,0 +1,25 @@
+package com.shop.buy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierCatalogSyncResultDTO {
+
+  @Schema(description = "Quantidade de produtos recebidos na lista")
+  private long received;
+
+  private long inserted;
+
+  @Schema(description = "Produtos alterados ou reativados")
+  private long updated;
+
+  @Schema(description = "Produtos do fornecedor ausentes da lista, marcados como inativos")
+  private long deactivated;
+
+  private long unchanged;
+}
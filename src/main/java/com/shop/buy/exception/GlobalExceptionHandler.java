@@ -3,7 +3,6 @@ package com.shop.buy.exception;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -18,6 +17,9 @@ import org.springframework.web.context.request.WebRequest;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+  /** SQLSTATE de violação de chave única (unique_violation). */
+  private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
   @ExceptionHandler(ResourceNotFoundException.class)
   public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
       ResourceNotFoundException ex, WebRequest request) {
@@ -36,109 +38,49 @@ public class GlobalExceptionHandler {
     return createErrorResponse(ex.getMessage(), HttpStatus.CONFLICT, request);
   }
 
-  @ExceptionHandler(DataIntegrityViolationException.class)
-  public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
-      DataIntegrityViolationException ex, WebRequest request) {
-    String errorMessage = "Erro de banco de dados: ";
-
-    Throwable rootCause = ex.getRootCause();
-    if (rootCause != null) {
-      String rootCauseMessage = rootCause.getMessage();
-
-      if (rootCauseMessage != null) {
-        if (rootCauseMessage.contains("unique constraint")
-            || rootCauseMessage.contains("Duplicate entry")) {
-
-          String fieldName = extractFieldNameFromError(rootCauseMessage);
-          String entityName = extractEntityNameFromError(rootCauseMessage);
-
-          if (fieldName != null && !fieldName.isEmpty()) {
-            errorMessage =
-                "Já existe um "
-                    + (entityName != null ? entityName : "registro")
-                    + " com o mesmo "
-                    + fieldName;
-          } else {
-            errorMessage = "Já existe um registro com os mesmos valores para campos únicos";
-          }
-
-          return createErrorResponse(errorMessage, HttpStatus.CONFLICT, request);
-        }
-      }
-
-      errorMessage += rootCauseMessage;
-    } else {
-      errorMessage += ex.getMessage();
-    }
-
-    return createErrorResponse(errorMessage, HttpStatus.BAD_REQUEST, request);
+  @ExceptionHandler(InsufficientStockException.class)
+  public ResponseEntity<ErrorResponse> handleInsufficientStockException(
+      InsufficientStockException ex, WebRequest request) {
+    return createErrorResponse(ex.getMessage(), HttpStatus.CONFLICT, request);
   }
 
-  private String extractFieldNameFromError(String errorMessage) {
-
-    String[] commonFields = {"cnpj", "cpf", "email", "name", "username", "phone", "description"};
-    String[] formattedFields = {
-      "CNPJ", "CPF", "e-mail", "nome", "nome de Usuário", "telefone", "descrição"
-    };
-
-    errorMessage = errorMessage.toLowerCase();
-
-    for (String field : commonFields) {
-      if (errorMessage.contains(field)) {
-        return formattedFields[Arrays.asList(commonFields).indexOf(field)];
-      }
-    }
-
-    if (errorMessage.contains("key (") && errorMessage.contains(")=")) {
-      int start = errorMessage.indexOf("key (") + 5;
-      int end = errorMessage.indexOf(")=", start);
-      if (start > 0 && end > start) {
-        return errorMessage.substring(start, end);
-      }
-    }
+  @ExceptionHandler(ReservationExpiredException.class)
+  public ResponseEntity<ErrorResponse> handleReservationExpiredException(
+      ReservationExpiredException ex, WebRequest request) {
+    return createErrorResponse(ex.getMessage(), HttpStatus.GONE, request);
+  }
 
-    if (errorMessage.contains("for key '")) {
-      int keyIndex = errorMessage.indexOf("for key '") + 9;
-      int endIndex = errorMessage.indexOf("'", keyIndex);
-      if (keyIndex > 0 && endIndex > keyIndex) {
-        String key = errorMessage.substring(keyIndex, endIndex);
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
+      IllegalArgumentException ex, WebRequest request) {
+    return createErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request);
+  }
 
-        if (key.contains(".")) {
-          return key.substring(key.indexOf(".") + 1);
-        }
-        return key;
-      }
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+      DataIntegrityViolationException ex, WebRequest request) {
+    org.hibernate.exception.ConstraintViolationException violation = constraintViolationOf(ex);
+    if (violation != null && UNIQUE_VIOLATION_SQL_STATE.equals(violation.getSQLState())) {
+      String errorMessage =
+          UniqueKey.byConstraintName(violation.getConstraintName())
+              .map(key -> key.conflict().getMessage())
+              .orElse("Já existe um registro com os mesmos valores para campos únicos");
+      return createErrorResponse(errorMessage, HttpStatus.CONFLICT, request);
     }
 
-    return null;
+    Throwable rootCause = ex.getRootCause();
+    String errorMessage =
+        "Erro de banco de dados: " + (rootCause != null ? rootCause.getMessage() : ex.getMessage());
+    return createErrorResponse(errorMessage, HttpStatus.BAD_REQUEST, request);
   }
 
-  private String extractEntityNameFromError(String errorMessage) {
-
-    String[] entities = {
-      "supplier", "brand", "customer", "product", "employee", "category", "sale"
-    };
-
-    String[] translatedEntities = {
-      "fornecedor", "marca", "cliente", "produto", "funcionário", "categoria", "venda"
-    };
-
-    errorMessage = errorMessage.toLowerCase();
-
-    for (int i = 0; i < entities.length; i++) {
-      if (errorMessage.contains(entities[i])) {
-        return translatedEntities[i];
+  private static org.hibernate.exception.ConstraintViolationException constraintViolationOf(
+      Throwable ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof org.hibernate.exception.ConstraintViolationException violation) {
+        return violation;
       }
     }
-
-    if (errorMessage.contains("table ")) {
-      int tableIndex = errorMessage.indexOf("table ") + 6;
-      int endIndex = errorMessage.indexOf(" ", tableIndex);
-      if (tableIndex > 0 && endIndex > tableIndex) {
-        return errorMessage.substring(tableIndex, endIndex);
-      }
-    }
-
     return null;
   }
 
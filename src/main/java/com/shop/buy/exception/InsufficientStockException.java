@@ -0,0 +1,15 @@
+package com.shop.buy.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+  public InsufficientStockException(String message) {
+    super(message);
+  }
+
+  public InsufficientStockException(Long productId, int available, int requested) {
+    super(
+        String.format(
+            "Estoque insuficiente para o produto id: %d (disponível: %d, solicitado: %d)",
+            productId, available, requested));
+  }
+}
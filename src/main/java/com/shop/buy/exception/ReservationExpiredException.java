@@ -0,0 +1,8 @@
+package com.shop.buy.exception;
+
+public class ReservationExpiredException extends RuntimeException {
+
+  public ReservationExpiredException(String token) {
+    super("Reserva de estoque expirada ou inexistente: " + token);
+  }
+}
@@ -0,0 +1,44 @@
+package com.shop.buy.exception;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Chaves únicas conhecidas do banco, indexadas pelo nome da restrição. Permite traduzir um conflito
+ * em {@link DuplicateResourceException} sem analisar o texto da mensagem de erro do driver.
+ */
+public enum UniqueKey {
+  BRAND_NAME("uk_brands_lower_name", "Marca", "nome"),
+  CUSTOMER_CPF("uk_customers_cpf", "Cliente", "CPF"),
+  SUPPLIER_CNPJ("uk_suppliers_cnpj", "Fornecedor", "CNPJ"),
+  PRODUCT_SUPPLIER_SKU("uk_products_supplier_sku", "Produto", "SKU para o mesmo fornecedor");
+
+  private final String constraintName;
+  private final String resourceName;
+  private final String fieldName;
+
+  UniqueKey(String constraintName, String resourceName, String fieldName) {
+    this.constraintName = constraintName;
+    this.resourceName = resourceName;
+    this.fieldName = fieldName;
+  }
+
+  public String constraintName() {
+    return constraintName;
+  }
+
+  public DuplicateResourceException conflict(Object fieldValue) {
+    return new DuplicateResourceException(resourceName, fieldName, fieldValue);
+  }
+
+  public DuplicateResourceException conflict() {
+    return new DuplicateResourceException(
+        String.format("%s com o mesmo %s já existe", resourceName, fieldName));
+  }
+
+  public static Optional<UniqueKey> byConstraintName(String constraintName) {
+    return Arrays.stream(values())
+        .filter(key -> key.constraintName.equalsIgnoreCase(constraintName))
+        .findFirst();
+  }
+}
@@ -0,0 +1,213 @@
+package com.shop.buy.inventory;
+
+import com.shop.buy.dto.FlashSaleStatusDTO;
+import com.shop.buy.exception.InsufficientStockException;
+import com.shop.buy.repository.InventoryRepository;
+import com.shop.buy.repository.projection.InventoryLevel;
+import com.shop.buy.repository.projection.StockLevel;
+import com.shop.buy.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cotas de estoque em memória para promoções relâmpago. Ao abrir uma promoção, a quantidade é
+ * movida de {@code inventory.quantity} para {@code inventory.allocated} e passa a ser vendida a
+ * partir de uma {@link StripedStockQuota}, sem travar a linha do produto no banco. O consumo
+ * confirmado é baixado de {@code allocated} periodicamente pelo {@link #reconcile()}, e o saldo
+ * restante volta para {@code quantity} quando a promoção é encerrada.
+ *
+ * <p>As cotas vivem apenas neste processo. Depois de uma parada abrupta, o que ficou em {@code
+ * allocated} não pertence a nenhuma cota e volta para {@code quantity} na inicialização; só o
+ * consumo ainda não conciliado no momento da parada (no máximo um intervalo de conciliação) fica
+ * sem baixa, o que é avisado no log. Os saldos resultantes de cada movimentação alimentam o {@link
+ * LowStockTracker}, como nas vendas comuns.
+ */
+@Slf4j
+@Component
+public class FlashSaleQuotaManager {
+
+  private final InventoryRepository inventoryRepository;
+  private final LowStockTracker lowStockTracker;
+  private final boolean enabled;
+  private final int stripes;
+  private final Map<Long, StripedStockQuota> quotas = new ConcurrentHashMap<>();
+
+  public FlashSaleQuotaManager(
+      InventoryRepository inventoryRepository,
+      LowStockTracker lowStockTracker,
+      @Value("${shop.inventory.flash-sale.enabled:false}") boolean enabled,
+      @Value("${shop.inventory.flash-sale.stripes:0}") int stripes) {
+    this.inventoryRepository = inventoryRepository;
+    this.lowStockTracker = lowStockTracker;
+    this.enabled = enabled;
+    this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors() * 2;
+  }
+
+  /**
+   * Retira a quantidade da cota do produto. Retorna falso se o produto não está em promoção ou se
+   * a cota não cobre a quantidade, casos em que a venda deve seguir pelo estoque do banco, que
+   * recusa a venda se também não tiver saldo.
+   */
+  public boolean tryWithdraw(Long productId, int quantity) {
+    StripedStockQuota quota = quotas.get(productId);
+    if (quota == null) {
+      return false;
+    }
+    int slot = quota.enter();
+    if (slot < 0) {
+      return false;
+    }
+    if (!quota.tryAcquire(quantity)) {
+      quota.exit(slot);
+      log.debug(
+          "Cota promocional do produto {} não cobre {} unidade(s); usando o estoque do banco",
+          productId,
+          quantity);
+      return false;
+    }
+    TransactionHooks.afterCompletion(
+        () -> {
+          quota.recordConsumed(quantity);
+          quota.exit(slot);
+        },
+        () -> {
+          quota.release(quantity);
+          quota.exit(slot);
+        });
+    return true;
+  }
+
+  /** Devolve a quantidade para a cota do produto. Retorna falso se ele não está em promoção. */
+  public boolean tryRestore(Long productId, int quantity) {
+    StripedStockQuota quota = quotas.get(productId);
+    if (quota == null) {
+      return false;
+    }
+    int slot = quota.enter();
+    if (slot < 0) {
+      return false;
+    }
+    TransactionHooks.afterCompletion(
+        () -> {
+          quota.recordConsumed(-quantity);
+          quota.release(quantity);
+          quota.exit(slot);
+        },
+        () -> quota.exit(slot));
+    return true;
+  }
+
+  public synchronized FlashSaleStatusDTO open(Long productId, int quantity) {
+    if (!enabled) {
+      throw new IllegalArgumentException(
+          "Cotas de estoque para promoções estão desativadas (shop.inventory.flash-sale.enabled)");
+    }
+    Optional<InventoryLevel> allocated = inventoryRepository.allocateStock(productId, quantity);
+    if (allocated.isEmpty()) {
+      int available =
+          inventoryRepository
+              .findQuantityByProductId(productId)
+              .orElseThrow(
+                  () ->
+                      new EntityNotFoundException(
+                          "Estoque não encontrado para o produto com id: " + productId));
+      throw new InsufficientStockException(productId, available, quantity);
+    }
+    track(allocated.get());
+    StripedStockQuota quota =
+        quotas.computeIfAbsent(productId, id -> new StripedStockQuota(stripes));
+    quota.reopen();
+    quota.add(quantity);
+    return status(productId, quota);
+  }
+
+  public synchronized FlashSaleStatusDTO close(Long productId) {
+    StripedStockQuota quota = quotas.get(productId);
+    if (quota == null) {
+      throw new EntityNotFoundException(
+          "Nenhuma promoção ativa para o produto com id: " + productId);
+    }
+    quota.close();
+    settle(productId, quota);
+    return status(productId, quota);
+  }
+
+  public List<FlashSaleStatusDTO> getStatuses() {
+    return quotas.entrySet().stream()
+        .map(entry -> status(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  @Scheduled(fixedDelayString = "${shop.inventory.flash-sale.reconcile-interval-ms:1000}")
+  public synchronized void reconcile() {
+    quotas.forEach(this::settle);
+  }
+
+  @PreDestroy
+  public synchronized void shutdown() {
+    quotas.values().forEach(StripedStockQuota::close);
+    reconcile();
+  }
+
+  /** Devolve ao saldo disponível as unidades separadas por promoções sem cota neste processo. */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void releaseStaleAllocations() {
+    for (StockLevel stale : inventoryRepository.findAllocatedStock()) {
+      if (quotas.containsKey(stale.getProductId())) {
+        continue;
+      }
+      inventoryRepository
+          .settleAllocation(stale.getProductId(), 0, stale.getQuantity())
+          .ifPresent(this::track);
+      log.warn(
+          "Produto {}: {} unidade(s) separadas por uma promoção interrompida voltaram ao estoque; "
+              + "vendas da promoção ainda não conciliadas na parada não foram baixadas",
+          stale.getProductId(),
+          stale.getQuantity());
+    }
+  }
+
+  private void settle(Long productId, StripedStockQuota quota) {
+    boolean finished = quota.isClosed() && quota.isIdle();
+    long consumed = quota.drainConsumed();
+    long returned = finished ? quota.drainAvailable() : 0;
+    try {
+      if (consumed != 0 || returned != 0) {
+        inventoryRepository.settleAllocation(productId, consumed, returned).ifPresent(this::track);
+      }
+      if (finished) {
+        quotas.remove(productId, quota);
+      }
+    } catch (RuntimeException e) {
+      quota.recordConsumed(consumed);
+      quota.add(returned);
+      log.warn("Falha ao conciliar a cota promocional do produto {}", productId, e);
+    }
+  }
+
+  private void track(InventoryLevel level) {
+    TransactionHooks.afterCommit(
+        () ->
+            lowStockTracker.update(
+                level.getProductId(),
+                level.getQuantity(),
+                level.getReorderPoint(),
+                level.getVersion()));
+  }
+
+  private FlashSaleStatusDTO status(Long productId, StripedStockQuota quota) {
+    return new FlashSaleStatusDTO(
+        productId, quota.remaining(), quota.pendingConsumption(), quota.isClosed());
+  }
+}
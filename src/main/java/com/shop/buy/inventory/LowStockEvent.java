@@ -0,0 +1,7 @@
+package com.shop.buy.inventory;
+
+/**
+ * Publicado quando o estoque de um produto chega ao ponto de reposição. Pode ser consumido com
+ * {@code @EventListener} para disparar pedidos de compra ou notificações.
+ */
+public record LowStockEvent(Long productId, int quantity, int reorderPoint) {}
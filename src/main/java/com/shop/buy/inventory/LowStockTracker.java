@@ -0,0 +1,93 @@
+package com.shop.buy.inventory;
+
+import com.shop.buy.repository.InventoryRepository;
+import com.shop.buy.repository.projection.InventoryLevel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conjunto em memória dos produtos com estoque no ponto de reposição ou abaixo dele. É carregado
+ * uma vez na inicialização e depois mantido pelas próprias movimentações de estoque, que informam
+ * o saldo resultante; um {@link LowStockEvent} é publicado quando um produto entra no conjunto.
+ *
+ * <p>As movimentações chegam por callbacks pós-commit, que podem rodar fora da ordem dos commits.
+ * Cada saldo vem com a versão da linha de estoque, e um saldo com versão igual ou anterior à última
+ * vista para o produto é ignorado.
+ */
+@Component
+public class LowStockTracker {
+
+  private final InventoryRepository inventoryRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Map<Long, Observed> observed = new ConcurrentHashMap<>();
+
+  /** Último saldo visto de um produto; {@code event} é nulo quando o estoque não está baixo. */
+  private record Observed(long version, LowStockEvent event) {}
+
+  public LowStockTracker(
+      InventoryRepository inventoryRepository, ApplicationEventPublisher eventPublisher) {
+    this.inventoryRepository = inventoryRepository;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    for (InventoryLevel level : inventoryRepository.findLowStockLevels()) {
+      apply(
+          level.getProductId(), level.getQuantity(), level.getReorderPoint(), level.getVersion());
+    }
+  }
+
+  public void update(Long productId, int quantity, Integer reorderPoint, long version) {
+    LowStockEvent entered = apply(productId, quantity, reorderPoint, version);
+    if (entered != null) {
+      eventPublisher.publishEvent(entered);
+    }
+  }
+
+  /** Esquece o produto excluído e descarta saldos dele que ainda cheguem depois. */
+  public void remove(Long productId) {
+    observed.put(productId, new Observed(Long.MAX_VALUE, null));
+  }
+
+  /** Registra o saldo se for mais novo; retorna o evento se o produto entrou no conjunto. */
+  private LowStockEvent apply(Long productId, int quantity, Integer reorderPoint, long version) {
+    LowStockEvent event =
+        reorderPoint == null || quantity > reorderPoint
+            ? null
+            : new LowStockEvent(productId, quantity, reorderPoint);
+    LowStockEvent[] entered = new LowStockEvent[1];
+    observed.compute(
+        productId,
+        (id, previous) -> {
+          if (previous != null && previous.version() >= version) {
+            return previous;
+          }
+          if (event != null && (previous == null || previous.event() == null)) {
+            entered[0] = event;
+          }
+          return new Observed(version, event);
+        });
+    return entered[0];
+  }
+
+  /** Produtos com estoque baixo, do menor saldo para o maior. */
+  public List<LowStockEvent> snapshot() {
+    List<LowStockEvent> items = new ArrayList<>();
+    for (Observed entry : observed.values()) {
+      if (entry.event() != null) {
+        items.add(entry.event());
+      }
+    }
+    items.sort(
+        Comparator.comparingInt(LowStockEvent::quantity).thenComparing(LowStockEvent::productId));
+    return items;
+  }
+}
@@ -0,0 +1,72 @@
+package com.shop.buy.inventory;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fila de expiração das reservas de estoque. Cada reserva entra uma vez com o seu prazo e uma
+ * única thread fica bloqueada até o próximo vencimento, sem varrer a tabela de reservas.
+ */
+@Slf4j
+@Component
+public class ReservationExpiryQueue {
+
+  private record Expiry(String token, long expiresAtMillis) implements Delayed {
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(expiresAtMillis, ((Expiry) other).expiresAtMillis);
+    }
+  }
+
+  private final DelayQueue<Expiry> queue = new DelayQueue<>();
+  private Thread reaper;
+
+  public void schedule(String token, LocalDateTime expiresAt) {
+    queue.put(
+        new Expiry(token, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+  }
+
+  /** Inicia a thread que entrega ao {@code onExpired} o token de cada reserva vencida. */
+  public synchronized void start(Consumer<String> onExpired) {
+    if (reaper != null) {
+      return;
+    }
+    reaper =
+        new Thread(
+            () -> {
+              while (!Thread.currentThread().isInterrupted()) {
+                try {
+                  onExpired.accept(queue.take().token());
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                  log.warn("Falha ao liberar reserva de estoque expirada", e);
+                }
+              }
+            },
+            "stock-reservation-reaper");
+    reaper.setDaemon(true);
+    reaper.start();
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    if (reaper != null) {
+      reaper.interrupt();
+      reaper = null;
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package com.shop.buy.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cota de estoque de um produto dividida em faixas independentes. Cada thread começa pela sua
+ * própria faixa, então vendas simultâneas do mesmo produto fazem CAS em posições de memória
+ * diferentes em vez de disputar um único contador. As faixas ficam espaçadas em {@link #PADDING}
+ * posições para não dividirem a mesma linha de cache.
+ *
+ * <p>Os totais nunca ficam negativos: uma retirada só é aceita se conseguir juntar a quantidade
+ * inteira, devolvendo o que pegou caso contrário.
+ */
+class StripedStockQuota {
+
+  private static final int PADDING = 8;
+
+  private final int stripes;
+  private final AtomicLongArray available;
+  private final AtomicLongArray consumed;
+  private final AtomicLongArray inFlight;
+  private volatile boolean closed;
+
+  StripedStockQuota(int stripes) {
+    this.stripes = stripes;
+    this.available = new AtomicLongArray(stripes * PADDING);
+    this.consumed = new AtomicLongArray(stripes * PADDING);
+    this.inFlight = new AtomicLongArray(stripes * PADDING);
+  }
+
+  /**
+   * Marca o início de uma retirada e retorna a posição a ser passada para {@link #exit}. Retorna -1
+   * se a cota já foi encerrada; nesse caso nada foi registrado e a venda deve seguir pelo estoque
+   * do banco.
+   */
+  int enter() {
+    int slot = home();
+    inFlight.incrementAndGet(slot);
+    if (closed) {
+      inFlight.decrementAndGet(slot);
+      return -1;
+    }
+    return slot;
+  }
+
+  void exit(int slot) {
+    inFlight.decrementAndGet(slot);
+  }
+
+  boolean isIdle() {
+    for (int i = 0; i < stripes; i++) {
+      if (inFlight.get(i * PADDING) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Retira a quantidade juntando unidades de todas as faixas, a começar pela da thread atual. Se a
+   * primeira passada falhar, tenta de novo com as demais retiradas lentas em fila: duas threads que
+   * pegaram pedaços do mesmo saldo ao mesmo tempo poderiam falhar as duas, mesmo havendo unidades
+   * para uma delas.
+   */
+  boolean tryAcquire(long quantity) {
+    if (collect(quantity)) {
+      return true;
+    }
+    synchronized (this) {
+      return collect(quantity);
+    }
+  }
+
+  private boolean collect(long quantity) {
+    int start = homeStripe();
+    long taken = 0;
+    for (int i = 0; i < stripes && taken < quantity; i++) {
+      int slot = ((start + i) % stripes) * PADDING;
+      while (taken < quantity) {
+        long current = available.get(slot);
+        if (current == 0) {
+          break;
+        }
+        long take = Math.min(current, quantity - taken);
+        if (available.compareAndSet(slot, current, current - take)) {
+          taken += take;
+        }
+      }
+    }
+    if (taken < quantity) {
+      release(taken);
+      return false;
+    }
+    return true;
+  }
+
+  /** Devolve unidades para a cota, na faixa da thread atual. */
+  void release(long quantity) {
+    if (quantity > 0) {
+      available.addAndGet(home(), quantity);
+    }
+  }
+
+  /** Distribui unidades novas igualmente entre as faixas. */
+  void add(long quantity) {
+    long share = quantity / stripes;
+    long rest = quantity % stripes;
+    for (int i = 0; i < stripes; i++) {
+      long amount = share + (i < rest ? 1 : 0);
+      if (amount > 0) {
+        available.addAndGet(i * PADDING, amount);
+      }
+    }
+  }
+
+  void recordConsumed(long quantity) {
+    consumed.addAndGet(home(), quantity);
+  }
+
+  /** Zera e retorna o consumo ainda não conciliado com o banco. */
+  long drainConsumed() {
+    long total = 0;
+    for (int i = 0; i < stripes; i++) {
+      total += consumed.getAndSet(i * PADDING, 0);
+    }
+    return total;
+  }
+
+  /** Zera e retorna o saldo da cota. Só deve ser chamado com a cota encerrada e ociosa. */
+  long drainAvailable() {
+    long total = 0;
+    for (int i = 0; i < stripes; i++) {
+      total += available.getAndSet(i * PADDING, 0);
+    }
+    return total;
+  }
+
+  long remaining() {
+    long total = 0;
+    for (int i = 0; i < stripes; i++) {
+      total += available.get(i * PADDING);
+    }
+    return total;
+  }
+
+  long pendingConsumption() {
+    long total = 0;
+    for (int i = 0; i < stripes; i++) {
+      total += consumed.get(i * PADDING);
+    }
+    return total;
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+
+  void close() {
+    closed = true;
+  }
+
+  void reopen() {
+    closed = false;
+  }
+
+  private int homeStripe() {
+    long id = Thread.currentThread().getId();
+    return (int) ((id ^ (id >>> 16)) & 0x7fffffff) % stripes;
+  }
+
+  private int home() {
+    return homeStripe() * PADDING;
+  }
+}
@@ -20,4 +20,14 @@ public class Category {
   private String name;
 
   @Column private String description;
+
+  @Column(name = "parent_id")
+  private Long parentId;
+
+  /**
+   * Caminho materializado com os IDs da raiz até a própria categoria, como "/1/5/12/". As
+   * subcategorias de uma categoria são as linhas cujo caminho começa pelo dela.
+   */
+  @Column(length = 1000)
+  private String path;
 }
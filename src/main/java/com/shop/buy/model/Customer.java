@@ -6,7 +6,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "customers")
+@Table(
+    name = "customers",
+    uniqueConstraints = @UniqueConstraint(name = "uk_customers_cpf", columnNames = "cpf"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +21,7 @@ public class Customer {
   @Column(nullable = false)
   private String name;
 
-  @Column(unique = true, nullable = false)
+  @Column(nullable = false)
   private String cpf;
 
   @Column private String phone;
@@ -0,0 +1,33 @@
+package com.shop.buy.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totais de compras por cliente, mantidos de forma incremental a cada gravação de venda ou de item
+ * de venda, para que consultas de fidelidade não precisem agregar todo o histórico.
+ */
+@Entity
+@Table(name = "customer_purchase_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPurchaseSummary {
+
+  @Id
+  @Column(name = "customer_id")
+  private Long customerId;
+
+  @Column(name = "total_spent", nullable = false)
+  private BigDecimal totalSpent;
+
+  @Column(name = "order_count", nullable = false)
+  private Long orderCount;
+
+  @Column(name = "last_purchase_at")
+  private LocalDateTime lastPurchaseAt;
+}
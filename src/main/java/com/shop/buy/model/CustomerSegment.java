@@ -0,0 +1,48 @@
+package com.shop.buy.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Resultado da última execução da segmentação RFM; só inclui clientes com vendas. */
+@Entity
+@Table(
+    name = "customer_segments",
+    indexes = @Index(name = "idx_customer_segments_segment", columnList = "segment, customer_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSegment {
+
+  @Id
+  @Column(name = "customer_id")
+  private Long customerId;
+
+  @Column(name = "recency_days", nullable = false)
+  private Integer recencyDays;
+
+  @Column(nullable = false)
+  private Integer frequency;
+
+  @Column(nullable = false)
+  private BigDecimal monetary;
+
+  @Column(name = "recency_score", nullable = false)
+  private Integer recencyScore;
+
+  @Column(name = "frequency_score", nullable = false)
+  private Integer frequencyScore;
+
+  @Column(name = "monetary_score", nullable = false)
+  private Integer monetaryScore;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private RfmSegment segment;
+
+  @Column(name = "computed_at", nullable = false)
+  private LocalDateTime computedAt;
+}
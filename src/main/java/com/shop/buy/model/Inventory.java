@@ -0,0 +1,37 @@
+package com.shop.buy.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Check;
+
+@Entity
+@Table(name = "inventory")
+@Check(constraints = "quantity >= 0 AND allocated >= 0")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Inventory {
+
+  @Id
+  @Column(name = "product_id")
+  private Long productId;
+
+  @Column(nullable = false)
+  private Integer quantity;
+
+  @Column(nullable = false, columnDefinition = "integer default 0")
+  private Integer allocated = 0;
+
+  @Column(name = "reorder_point")
+  private Integer reorderPoint;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  /** Incrementada a cada alteração da linha; ordena os saldos vistos pelo LowStockTracker. */
+  @Column(nullable = false, columnDefinition = "bigint default 0")
+  private Long version = 0L;
+}
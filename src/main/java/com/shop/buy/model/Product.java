@@ -7,7 +7,16 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "products")
+@Table(
+    name = "products",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_products_supplier_sku",
+            columnNames = {"supplier_id", "sku"}),
+    indexes = {
+      @Index(name = "idx_products_category", columnList = "category_id"),
+      @Index(name = "idx_products_model", columnList = "model_id")
+    })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,6 +26,8 @@ public class Product {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
+  @Column private String sku;
+
   @Column(nullable = false)
   private String name;
 
@@ -38,4 +49,11 @@ public class Product {
   @ManyToOne
   @JoinColumn(name = "supplier_id", nullable = false)
   private Supplier supplier;
+
+  @Column(name = "model_id")
+  private Long modelId;
+
+  /** Falso quando o produto saiu do catálogo do fornecedor na última sincronização. */
+  @Column(nullable = false, columnDefinition = "boolean default true")
+  private Boolean active = true;
 }
@@ -0,0 +1,38 @@
+package com.shop.buy.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Produto pai de uma grade de variações. Guarda os atributos compartilhados (nome, categoria, marca
+ * e fornecedor); cada combinação de tamanho e cor continua sendo um {@link Product} vendável que
+ * aponta para o modelo por {@code model_id}.
+ */
+@Entity
+@Table(name = "product_models")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductModel {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String name;
+
+  @ManyToOne
+  @JoinColumn(name = "category_id", nullable = false)
+  private Category category;
+
+  @ManyToOne
+  @JoinColumn(name = "brand_id", nullable = false)
+  private Brand brand;
+
+  @ManyToOne
+  @JoinColumn(name = "supplier_id", nullable = false)
+  private Supplier supplier;
+}
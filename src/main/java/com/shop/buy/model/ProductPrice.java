@@ -0,0 +1,34 @@
+package com.shop.buy.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(
+    name = "product_prices",
+    indexes =
+        @Index(
+            name = "idx_product_prices_product_valid_from",
+            columnList = "product_id, valid_from DESC"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPrice {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "product_id", nullable = false)
+  private Long productId;
+
+  @Column(nullable = false)
+  private BigDecimal price;
+
+  @Column(name = "valid_from", nullable = false)
+  private LocalDateTime validFrom;
+}
@@ -0,0 +1,30 @@
+package com.shop.buy.model;
+
+/** Segmentos de clientes pela pontuação de recência (R), frequência (F) e valor (M), de 1 a 5. */
+public enum RfmSegment {
+  CHAMPIONS,
+  LOYAL,
+  NEW,
+  NEEDS_ATTENTION,
+  AT_RISK,
+  HIBERNATING;
+
+  public static RfmSegment of(int recency, int frequency, int monetary) {
+    if (recency >= 4 && frequency >= 4 && monetary >= 4) {
+      return CHAMPIONS;
+    }
+    if (recency >= 3 && frequency >= 3) {
+      return LOYAL;
+    }
+    if (recency >= 4) {
+      return NEW;
+    }
+    if (recency == 3) {
+      return NEEDS_ATTENTION;
+    }
+    if (frequency >= 3 || monetary >= 4) {
+      return AT_RISK;
+    }
+    return HIBERNATING;
+  }
+}
@@ -9,7 +9,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "sales")
+@Table(
+    name = "sales",
+    indexes =
+        @Index(name = "idx_sales_customer_date", columnList = "customer_id, sale_date, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
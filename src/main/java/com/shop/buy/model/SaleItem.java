@@ -7,7 +7,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "sale_items")
+@Table(
+    name = "sale_items",
+    indexes = @Index(name = "idx_sale_items_sale", columnList = "sale_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,33 @@
+package com.shop.buy.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(
+    name = "stock_reservations",
+    indexes = @Index(name = "idx_stock_reservations_token", columnList = "token"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 36)
+  private String token;
+
+  @Column(name = "product_id", nullable = false)
+  private Long productId;
+
+  @Column(nullable = false)
+  private Integer quantity;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+}
@@ -6,7 +6,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "suppliers")
+@Table(
+    name = "suppliers",
+    uniqueConstraints = @UniqueConstraint(name = "uk_suppliers_cnpj", columnNames = "cnpj"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +21,7 @@ public class Supplier {
   @Column(nullable = false)
   private String name;
 
-  @Column(unique = true, nullable = false)
+  @Column(nullable = false)
   private String cnpj;
 
   @Column private String phone;
@@ -1,8 +1,12 @@
 package com.shop.buy.repository;
 
+import com.shop.buy.exception.DuplicateResourceException;
+import com.shop.buy.exception.UniqueKey;
 import com.shop.buy.model.Brand;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,22 +21,43 @@ public interface BrandRepository extends JpaRepository<Brand, Long> {
   @Query(value = "SELECT * FROM brands WHERE id = :id", nativeQuery = true)
   Optional<Brand> findBrandById(@Param("id") Long id);
 
-  @Query(value = "SELECT * FROM brands WHERE name LIKE CONCAT('%', :name, '%')", nativeQuery = true)
-  List<Brand> findBrandsByNameContaining(@Param("name") String name);
+  /**
+   * Marcas cujo nome contém o padrão (ILIKE) ou é parecido com o termo (operador % do pg_trgm),
+   * das mais parecidas para as menos. Ambos os filtros usam o índice GIN idx_brands_name_trgm.
+   */
+  @Query(
+      value =
+          "SELECT * FROM brands WHERE name ILIKE :pattern OR name % :name "
+              + "ORDER BY similarity(name, :name) DESC, name, id",
+      countQuery = "SELECT count(*) FROM brands WHERE name ILIKE :pattern OR name % :name",
+      nativeQuery = true)
+  Page<Brand> searchBrandsByName(
+      @Param("name") String name, @Param("pattern") String pattern, Pageable pageable);
 
   @Query(
       value =
-          "INSERT INTO brands (name, country, description) VALUES (:#{#brand.name}, :#{#brand.country}, :#{#brand.description}) RETURNING *",
+          "INSERT INTO brands (name, country, description) "
+              + "VALUES (:#{#brand.name}, :#{#brand.country}, :#{#brand.description}) "
+              + "ON CONFLICT ((lower(name))) DO NOTHING RETURNING *",
       nativeQuery = true)
-  Brand saveBrand(@Param("brand") Brand brand);
+  Optional<Brand> insertBrandIfAbsent(@Param("brand") Brand brand);
+
+  /**
+   * Grava a marca ou lança {@link DuplicateResourceException} se o nome já estiver em uso, sem
+   * diferenciar maiúsculas e minúsculas (índice uk_brands_lower_name).
+   */
+  default Brand saveBrand(Brand brand) {
+    return insertBrandIfAbsent(brand)
+        .orElseThrow(() -> UniqueKey.BRAND_NAME.conflict(brand.getName()));
+  }
 
   @Query(
       value =
           "UPDATE brands SET name = :#{#brand.name}, country = :#{#brand.country}, description = :#{#brand.description} WHERE id = :id RETURNING *",
       nativeQuery = true)
-  Brand updateBrand(@Param("id") Long id, @Param("brand") Brand brand);
+  Optional<Brand> updateBrand(@Param("id") Long id, @Param("brand") Brand brand);
 
   @Query(value = "DELETE FROM brands WHERE id = :id", nativeQuery = true)
   @org.springframework.data.jpa.repository.Modifying
-  void deleteBrand(@Param("id") Long id);
+  int deleteBrand(@Param("id") Long id);
 }
@@ -1,12 +1,14 @@
 package com.shop.buy.repository;
 
 import com.shop.buy.model.Category;
+import com.shop.buy.repository.projection.CategoryNode;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
@@ -17,19 +19,65 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
   @Query(value = "SELECT * FROM categories WHERE id = :id", nativeQuery = true)
   Optional<Category> findCategoryById(@Param("id") Long id);
 
+  /**
+   * Trava as categorias informadas em ordem de ID, para que movimentações concorrentes sobre as
+   * mesmas categorias esperem umas pelas outras e leiam os caminhos já atualizados.
+   */
   @Query(
       value =
-          "INSERT INTO categories (name, description) VALUES (:#{#category.name}, :#{#category.description}) RETURNING *",
+          "SELECT id, parent_id AS parentId, path FROM categories WHERE id IN :ids "
+              + "ORDER BY id FOR UPDATE",
+      nativeQuery = true)
+  List<CategoryNode> lockCategories(@Param("ids") List<Long> ids);
+
+  @Query(
+      value = "SELECT EXISTS (SELECT 1 FROM categories WHERE parent_id = :id)",
+      nativeQuery = true)
+  boolean hasChildren(@Param("id") Long id);
+
+  @Query(
+      value =
+          "WITH new_category AS (SELECT nextval(pg_get_serial_sequence('categories', 'id')) AS id) "
+              + "INSERT INTO categories (id, name, description, parent_id, path) "
+              + "SELECT n.id, :#{#category.name}, :#{#category.description}, "
+              + "CAST(:#{#category.parentId} AS bigint), coalesce((SELECT p.path FROM categories p "
+              + "WHERE p.id = CAST(:#{#category.parentId} AS bigint)), '/') || n.id || '/' "
+              + "FROM new_category n RETURNING *",
       nativeQuery = true)
   Category saveCategory(@Param("category") Category category);
 
   @Query(
       value =
-          "UPDATE categories SET name = :#{#category.name}, description = :#{#category.description} WHERE id = :id RETURNING *",
+          "UPDATE categories SET name = :#{#category.name}, "
+              + "description = :#{#category.description}, "
+              + "parent_id = CAST(:#{#category.parentId} AS bigint) WHERE id = :id RETURNING *",
+      nativeQuery = true)
+  Optional<Category> updateCategory(@Param("id") Long id, @Param("category") Category category);
+
+  /** Troca o prefixo do caminho da categoria e de toda a sua subárvore em um único UPDATE. */
+  @org.springframework.data.jpa.repository.Modifying
+  @Query(
+      value =
+          "UPDATE categories SET path = :newPath || substr(path, length(:oldPath) + 1) "
+              + "WHERE path LIKE :oldPath || '%'",
+      nativeQuery = true)
+  int moveSubtree(@Param("oldPath") String oldPath, @Param("newPath") String newPath);
+
+  /** Recalcula os caminhos a partir de parent_id, para categorias gravadas sem caminho. */
+  @org.springframework.data.jpa.repository.Modifying
+  @Transactional
+  @Query(
+      value =
+          "WITH RECURSIVE tree AS ("
+              + "SELECT id, '/' || id || '/' AS path FROM categories WHERE parent_id IS NULL "
+              + "UNION ALL SELECT c.id, t.path || c.id || '/' FROM categories c "
+              + "JOIN tree t ON c.parent_id = t.id) "
+              + "UPDATE categories c SET path = t.path FROM tree t "
+              + "WHERE c.id = t.id AND c.path IS DISTINCT FROM t.path",
       nativeQuery = true)
-  Category updateCategory(@Param("id") Long id, @Param("category") Category category);
+  int rebuildPaths();
 
   @Query(value = "DELETE FROM categories WHERE id = :id", nativeQuery = true)
   @org.springframework.data.jpa.repository.Modifying
-  void deleteCategory(@Param("id") Long id);
+  int deleteCategory(@Param("id") Long id);
 }
@@ -0,0 +1,63 @@
+package com.shop.buy.repository;
+
+import com.shop.buy.model.Customer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Gravação em lote da importação de clientes: cada lote é enviado como arrays em um único INSERT
+ * ... ON CONFLICT (cpf), que insere os CPFs novos e atualiza os já cadastrados.
+ */
+@Repository
+public class CustomerImportRepository {
+
+  private static final String UPSERT_CUSTOMERS =
+      "WITH upserted AS ("
+          + "INSERT INTO customers AS c (name, cpf, phone, email) "
+          + "SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::text[]) "
+          + "ON CONFLICT (cpf) DO UPDATE SET name = EXCLUDED.name, "
+          + "phone = coalesce(EXCLUDED.phone, c.phone), email = coalesce(EXCLUDED.email, c.email) "
+          + "RETURNING (xmax = 0) AS inserted) "
+          + "SELECT count(*) FILTER (WHERE inserted) AS inserted, "
+          + "count(*) FILTER (WHERE NOT inserted) AS updated FROM upserted";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public CustomerImportRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Grava o lote; os CPFs do lote devem ser distintos. Telefone e email vazios mantêm os valores
+   * já cadastrados. Retorna {inseridos, atualizados}.
+   */
+  public long[] upsertBatch(List<Customer> customers) {
+    return jdbcTemplate.execute(
+        (ConnectionCallback<long[]>)
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement(UPSERT_CUSTOMERS)) {
+                statement.setArray(
+                    1, connection.createArrayOf("text", column(customers, Customer::getName)));
+                statement.setArray(
+                    2, connection.createArrayOf("text", column(customers, Customer::getCpf)));
+                statement.setArray(
+                    3, connection.createArrayOf("text", column(customers, Customer::getPhone)));
+                statement.setArray(
+                    4, connection.createArrayOf("text", column(customers, Customer::getEmail)));
+                try (ResultSet rs = statement.executeQuery()) {
+                  rs.next();
+                  return new long[] {rs.getLong("inserted"), rs.getLong("updated")};
+                }
+              }
+            });
+  }
+
+  private static Object[] column(List<Customer> customers, Function<Customer, String> getter) {
+    return customers.stream().map(getter).toArray();
+  }
+}
@@ -0,0 +1,72 @@
+package com.shop.buy.repository;
+
+import com.shop.buy.model.CustomerPurchaseSummary;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CustomerPurchaseSummaryRepository
+    extends JpaRepository<CustomerPurchaseSummary, Long> {
+
+  @Query(
+      value = "SELECT * FROM customer_purchase_summaries WHERE customer_id = :customerId",
+      nativeQuery = true)
+  Optional<CustomerPurchaseSummary> findSummaryByCustomerId(@Param("customerId") Long customerId);
+
+  /**
+   * Soma as diferenças ao resumo do cliente, criando-o se necessário. {@code purchaseDate} só
+   * avança a última compra; use {@link #refreshLastPurchase} quando uma venda sair do histórico.
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO customer_purchase_summaries AS cps "
+              + "(customer_id, total_spent, order_count, last_purchase_at) "
+              + "VALUES (:customerId, :spent, :orders, CAST(:purchaseDate AS timestamp)) "
+              + "ON CONFLICT (customer_id) DO UPDATE SET "
+              + "total_spent = cps.total_spent + EXCLUDED.total_spent, "
+              + "order_count = cps.order_count + EXCLUDED.order_count, "
+              + "last_purchase_at = greatest(cps.last_purchase_at, EXCLUDED.last_purchase_at)",
+      nativeQuery = true)
+  void applyDelta(
+      @Param("customerId") Long customerId,
+      @Param("spent") BigDecimal spent,
+      @Param("orders") long orders,
+      @Param("purchaseDate") LocalDateTime purchaseDate);
+
+  /**
+   * Recalcula a última compra quando a venda removida era a mais recente; a consulta usa o índice
+   * idx_sales_customer_date e lê uma única linha.
+   */
+  @Modifying
+  @Query(
+      value =
+          "UPDATE customer_purchase_summaries SET last_purchase_at = (SELECT max(s.sale_date) "
+              + "FROM sales s WHERE s.customer_id = :customerId) "
+              + "WHERE customer_id = :customerId AND last_purchase_at <= :removedDate",
+      nativeQuery = true)
+  void refreshLastPurchase(
+      @Param("customerId") Long customerId, @Param("removedDate") LocalDateTime removedDate);
+
+  /** Cria o resumo dos clientes que já têm vendas e ainda não têm resumo. */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "INSERT INTO customer_purchase_summaries "
+              + "(customer_id, total_spent, order_count, last_purchase_at) "
+              + "SELECT t.customer_id, sum(t.total), count(*), max(t.sale_date) FROM ("
+              + "SELECT s.customer_id, s.sale_date, CASE WHEN count(i.id) = 0 THEN 0 "
+              + "ELSE greatest(sum(i.unit_price * i.quantity) - coalesce(s.discount, 0), 0) END "
+              + "AS total FROM sales s LEFT JOIN sale_items i ON i.sale_id = s.id "
+              + "GROUP BY s.id) t GROUP BY t.customer_id ON CONFLICT (customer_id) DO NOTHING",
+      nativeQuery = true)
+  int backfillSummaries();
+}
@@ -1,8 +1,12 @@
 package com.shop.buy.repository;
 
+import com.shop.buy.exception.DuplicateResourceException;
+import com.shop.buy.exception.UniqueKey;
 import com.shop.buy.model.Customer;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,19 +21,67 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
   @Query(value = "SELECT * FROM customers WHERE id = :id", nativeQuery = true)
   Optional<Customer> findCustomerById(@Param("id") Long id);
 
+  /**
+   * Usa o índice idx_customers_cpf_digits; {@code digits} deve conter apenas números. O índice não
+   * é único, pois CPFs gravados com pontuações diferentes podem coincidir; até dois clientes são
+   * retornados para que o chamador detecte o cadastro duplicado.
+   */
   @Query(
       value =
-          "INSERT INTO customers (name, cpf, phone, email) VALUES (:#{#customer.name}, :#{#customer.cpf}, :#{#customer.phone}, :#{#customer.email}) RETURNING *",
+          "SELECT * FROM customers WHERE regexp_replace(cpf, '\\D', '', 'g') = :digits "
+              + "ORDER BY id LIMIT 2",
       nativeQuery = true)
-  Customer saveCustomer(@Param("customer") Customer customer);
+  List<Customer> findCustomersByCpfDigits(@Param("digits") String digits);
+
+  /**
+   * Clientes cujo nome contém o padrão (ILIKE) ou é parecido com o termo (operador % do pg_trgm),
+   * dos mais parecidos para os menos. Ambos os filtros usam o índice GIN idx_customers_name_trgm.
+   */
+  @Query(
+      value =
+          "SELECT * FROM customers WHERE name ILIKE :pattern OR name % :term "
+              + "ORDER BY similarity(name, :term) DESC, name, id",
+      countQuery = "SELECT count(*) FROM customers WHERE name ILIKE :pattern OR name % :term",
+      nativeQuery = true)
+  Page<Customer> searchCustomersByName(
+      @Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+
+  /** Como {@link #searchCustomersByName}, incluindo trechos do email e do telefone. */
+  @Query(
+      value =
+          "SELECT * FROM customers WHERE name ILIKE :pattern OR name % :term "
+              + "OR email ILIKE :pattern OR phone ILIKE :pattern "
+              + "ORDER BY greatest(similarity(name, :term), similarity(email, :term)) DESC, "
+              + "name, id",
+      countQuery =
+          "SELECT count(*) FROM customers WHERE name ILIKE :pattern OR name % :term "
+              + "OR email ILIKE :pattern OR phone ILIKE :pattern",
+      nativeQuery = true)
+  Page<Customer> searchCustomersByNameOrContact(
+      @Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+
+  @Query(
+      value =
+          "INSERT INTO customers (name, cpf, phone, email) "
+              + "VALUES (:#{#customer.name}, :#{#customer.cpf}, :#{#customer.phone}, "
+              + ":#{#customer.email}) "
+              + "ON CONFLICT ON CONSTRAINT uk_customers_cpf DO NOTHING RETURNING *",
+      nativeQuery = true)
+  Optional<Customer> insertCustomerIfAbsent(@Param("customer") Customer customer);
+
+  /** Grava o cliente ou lança {@link DuplicateResourceException} se o CPF já estiver em uso. */
+  default Customer saveCustomer(Customer customer) {
+    return insertCustomerIfAbsent(customer)
+        .orElseThrow(() -> UniqueKey.CUSTOMER_CPF.conflict(customer.getCpf()));
+  }
 
   @Query(
       value =
           "UPDATE customers SET name = :#{#customer.name}, cpf = :#{#customer.cpf}, phone = :#{#customer.phone}, email = :#{#customer.email} WHERE id = :id RETURNING *",
       nativeQuery = true)
-  Customer updateCustomer(@Param("id") Long id, @Param("customer") Customer customer);
+  Optional<Customer> updateCustomer(@Param("id") Long id, @Param("customer") Customer customer);
 
   @Query(value = "DELETE FROM customers WHERE id = :id", nativeQuery = true)
   @org.springframework.data.jpa.repository.Modifying
-  void deleteCustomer(@Param("id") Long id);
+  int deleteCustomer(@Param("id") Long id);
 }
@@ -0,0 +1,104 @@
+package com.shop.buy.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Leitura e gravação em lote da segmentação RFM. As vendas são lidas por faixas de ID, cada faixa
+ * em sua própria conexão e com cursor no servidor, de modo que várias faixas podem ser lidas em
+ * paralelo sem carregar o resultado inteiro em memória.
+ */
+@Repository
+public class CustomerRfmBatchRepository {
+
+  private static final int FETCH_SIZE = 10_000;
+
+  /** Total de cada venda da faixa (itens menos desconto, sem ficar negativo) em centavos. */
+  private static final String SALE_TOTALS =
+      "SELECT s.customer_id, s.sale_date::date - DATE '1970-01-01' AS epoch_day, "
+          + "CASE WHEN t.sale_id IS NULL THEN 0 ELSE "
+          + "round(greatest(t.subtotal - coalesce(s.discount, 0), 0) * 100)::bigint END AS cents "
+          + "FROM sales s LEFT JOIN (SELECT i.sale_id, sum(i.unit_price * i.quantity) AS subtotal "
+          + "FROM sale_items i WHERE i.sale_id >= ? AND i.sale_id < ? GROUP BY i.sale_id) t "
+          + "ON t.sale_id = s.id WHERE s.id >= ? AND s.id < ?";
+
+  private static final String INSERT_SEGMENT =
+      "INSERT INTO customer_segments (customer_id, recency_days, frequency, monetary, "
+          + "recency_score, frequency_score, monetary_score, segment, computed_at) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  @FunctionalInterface
+  public interface SaleTotalConsumer {
+    void accept(long customerId, int epochDay, long cents);
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public CustomerRfmBatchRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Menor e maior ID de venda; {@code null} quando não há vendas. */
+  public long[] findSaleIdRange() {
+    return jdbcTemplate.queryForObject(
+        "SELECT min(id) AS first_id, max(id) AS last_id FROM sales",
+        (rs, rowNum) ->
+            rs.getObject("first_id") == null
+                ? null
+                : new long[] {rs.getLong("first_id"), rs.getLong("last_id")});
+  }
+
+  /**
+   * Percorre as vendas com ID em [fromId, toId). Deve ser chamada fora de transação: a conexão sai
+   * do autocommit durante a leitura, que é a condição para o driver usar o fetch size.
+   */
+  public void streamSaleTotals(long fromId, long toId, SaleTotalConsumer consumer) {
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            connection -> {
+              boolean autoCommit = connection.getAutoCommit();
+              connection.setAutoCommit(false);
+              try (PreparedStatement statement = connection.prepareStatement(SALE_TOTALS)) {
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setLong(1, fromId);
+                statement.setLong(2, toId);
+                statement.setLong(3, fromId);
+                statement.setLong(4, toId);
+                try (ResultSet rs = statement.executeQuery()) {
+                  while (rs.next()) {
+                    consumer.accept(rs.getLong(1), rs.getInt(2), rs.getLong(3));
+                  }
+                }
+                connection.commit();
+              } finally {
+                connection.setAutoCommit(autoCommit);
+              }
+              return null;
+            });
+  }
+
+  public void deleteSegments() {
+    jdbcTemplate.update("DELETE FROM customer_segments");
+  }
+
+  /** Cada linha segue a ordem das colunas de {@link #INSERT_SEGMENT}, sem a data de cálculo. */
+  public void insertSegments(List<Object[]> rows, LocalDateTime computedAt) {
+    Timestamp timestamp = Timestamp.valueOf(computedAt);
+    jdbcTemplate.batchUpdate(
+        INSERT_SEGMENT,
+        rows,
+        rows.size(),
+        (ps, row) -> {
+          for (int i = 0; i < row.length; i++) {
+            ps.setObject(i + 1, row[i]);
+          }
+          ps.setTimestamp(row.length + 1, timestamp);
+        });
+  }
+}
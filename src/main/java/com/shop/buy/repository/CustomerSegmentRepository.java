@@ -0,0 +1,27 @@
+package com.shop.buy.repository;
+
+import com.shop.buy.model.CustomerSegment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerSegmentRepository extends JpaRepository<CustomerSegment, Long> {
+
+  @Query(
+      value = "SELECT * FROM customer_segments ORDER BY customer_id",
+      countQuery = "SELECT count(*) FROM customer_segments",
+      nativeQuery = true)
+  Page<CustomerSegment> findAllSegments(Pageable pageable);
+
+  /** Usa o índice idx_customer_segments_segment. */
+  @Query(
+      value = "SELECT * FROM customer_segments WHERE segment = :segment ORDER BY customer_id",
+      countQuery = "SELECT count(*) FROM customer_segments WHERE segment = :segment",
+      nativeQuery = true)
+  Page<CustomerSegment> findSegmentsBySegment(
+      @Param("segment") String segment, Pageable pageable);
+}
@@ -27,9 +27,9 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
       value =
           "UPDATE employees SET name = :#{#employee.name}, role = :#{#employee.role}, email = :#{#employee.email}, hire_date = :#{#employee.hireDate} WHERE id = :id RETURNING *",
       nativeQuery = true)
-  Employee updateEmployee(@Param("id") Long id, @Param("employee") Employee employee);
+  Optional<Employee> updateEmployee(@Param("id") Long id, @Param("employee") Employee employee);
 
   @Query(value = "DELETE FROM employees WHERE id = :id", nativeQuery = true)
   @org.springframework.data.jpa.repository.Modifying
-  void deleteEmployee(@Param("id") Long id);
+  int deleteEmployee(@Param("id") Long id);
 }
@@ -0,0 +1,123 @@
+package com.shop.buy.repository;
+
+import com.shop.buy.model.Inventory;
+import com.shop.buy.repository.projection.InventoryLevel;
+import com.shop.buy.repository.projection.StockLevel;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+
+  @Query(value = "SELECT * FROM inventory ORDER BY product_id", nativeQuery = true)
+  List<Inventory> findAllInventory();
+
+  @Query(value = "SELECT * FROM inventory WHERE product_id = :productId", nativeQuery = true)
+  Optional<Inventory> findInventoryByProductId(@Param("productId") Long productId);
+
+  @Query(value = "SELECT quantity FROM inventory WHERE product_id = :productId", nativeQuery = true)
+  Optional<Integer> findQuantityByProductId(@Param("productId") Long productId);
+
+  @Query(
+      value =
+          "SELECT product_id AS productId, quantity, reorder_point AS reorderPoint, version "
+              + "FROM inventory WHERE quantity <= reorder_point",
+      nativeQuery = true)
+  List<InventoryLevel> findLowStockLevels();
+
+  /**
+   * Baixa condicional: só altera a linha se houver saldo suficiente, sem leitura prévia. Retorna
+   * vazio quando o saldo é insuficiente ou quando o produto não tem estoque controlado.
+   */
+  @Query(
+      value =
+          "UPDATE inventory SET quantity = quantity - :quantity, updated_at = now(), "
+              + "version = version + 1 "
+              + "WHERE product_id = :productId AND quantity >= :quantity "
+              + "RETURNING product_id AS productId, quantity, reorder_point AS reorderPoint, "
+              + "version",
+      nativeQuery = true)
+  Optional<InventoryLevel> decrementStock(
+      @Param("productId") Long productId, @Param("quantity") int quantity);
+
+  @Query(
+      value =
+          "UPDATE inventory SET quantity = quantity + :quantity, updated_at = now(), "
+              + "version = version + 1 "
+              + "WHERE product_id = :productId "
+              + "RETURNING product_id AS productId, quantity, reorder_point AS reorderPoint, "
+              + "version",
+      nativeQuery = true)
+  Optional<InventoryLevel> restoreStock(
+      @Param("productId") Long productId, @Param("quantity") int quantity);
+
+  @Query(
+      value =
+          "INSERT INTO inventory (product_id, quantity, reorder_point, updated_at) "
+              + "VALUES (:productId, :quantity, CAST(:reorderPoint AS integer), now()) "
+              + "ON CONFLICT (product_id) DO UPDATE SET quantity = EXCLUDED.quantity, "
+              + "reorder_point = EXCLUDED.reorder_point, updated_at = EXCLUDED.updated_at, "
+              + "version = inventory.version + 1 "
+              + "RETURNING *",
+      nativeQuery = true)
+  Inventory upsertStock(
+      @Param("productId") Long productId,
+      @Param("quantity") int quantity,
+      @Param("reorderPoint") Integer reorderPoint);
+
+  @Query(
+      value =
+          "UPDATE inventory SET quantity = quantity + :delta, updated_at = now(), "
+              + "version = version + 1 "
+              + "WHERE product_id = :productId AND quantity + :delta >= 0 RETURNING *",
+      nativeQuery = true)
+  Optional<Inventory> adjustStock(@Param("productId") Long productId, @Param("delta") int delta);
+
+  /**
+   * Move unidades do saldo disponível para a cota de uma promoção. Retorna vazio quando o saldo é
+   * insuficiente ou o produto não tem estoque controlado.
+   */
+  @Transactional
+  @Query(
+      value =
+          "UPDATE inventory SET quantity = quantity - :quantity, "
+              + "allocated = allocated + :quantity, updated_at = now(), version = version + 1 "
+              + "WHERE product_id = :productId AND quantity >= :quantity "
+              + "RETURNING product_id AS productId, quantity, reorder_point AS reorderPoint, "
+              + "version",
+      nativeQuery = true)
+  Optional<InventoryLevel> allocateStock(
+      @Param("productId") Long productId, @Param("quantity") int quantity);
+
+  /** Baixa da cota o que foi vendido e devolve ao saldo disponível o que sobrou. */
+  @Transactional
+  @Query(
+      value =
+          "UPDATE inventory SET allocated = allocated - :consumed - :returned, "
+              + "quantity = quantity + :returned, updated_at = now(), version = version + 1 "
+              + "WHERE product_id = :productId "
+              + "RETURNING product_id AS productId, quantity, reorder_point AS reorderPoint, "
+              + "version",
+      nativeQuery = true)
+  Optional<InventoryLevel> settleAllocation(
+      @Param("productId") Long productId,
+      @Param("consumed") long consumed,
+      @Param("returned") long returned);
+
+  @Query(
+      value =
+          "SELECT product_id AS productId, allocated AS quantity FROM inventory "
+              + "WHERE allocated > 0 ORDER BY product_id",
+      nativeQuery = true)
+  List<StockLevel> findAllocatedStock();
+
+  @Modifying
+  @Query(value = "DELETE FROM inventory WHERE product_id = :productId", nativeQuery = true)
+  int deleteInventoryByProductId(@Param("productId") Long productId);
+}
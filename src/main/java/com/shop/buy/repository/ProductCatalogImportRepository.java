@@ -0,0 +1,152 @@
+package com.shop.buy.repository;
+
+import com.shop.buy.dto.ImportRowErrorDTO;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Importação de catálogo em etapas: o CSV é copiado via COPY para uma tabela temporária, as
+ * referências (categoria, marca e fornecedor) são resolvidas com junções sobre o lote inteiro e os
+ * produtos válidos são gravados com um único INSERT ... ON CONFLICT sobre (supplier_id, sku).
+ * Deve ser chamada dentro de uma transação, pois a tabela temporária é descartada no commit.
+ *
+ * <p>Nome, categoria e marca de uma variação pertencem ao modelo: para SKUs que já são variações,
+ * esses valores vêm do modelo e os do arquivo são ignorados. Um SKU presente no arquivo volta a
+ * ficar ativo, mesmo que uma sincronização do fornecedor o tenha desativado.
+ */
+@Repository
+public class ProductCatalogImportRepository {
+
+  private static final String CREATE_STAGING =
+      "CREATE TEMP TABLE product_import_staging ("
+          + "line_no bigserial, sku text, name text, size text, color text, price text, "
+          + "category text, brand text, supplier_cnpj text, price_value numeric, "
+          + "category_id bigint, brand_id bigint, supplier_id bigint, error text) ON COMMIT DROP";
+
+  private static final String COPY_STAGING =
+      "COPY product_import_staging (sku, name, size, color, price, category, brand, supplier_cnpj) "
+          + "FROM STDIN WITH (FORMAT csv, HEADER true)";
+
+  private static final String NORMALIZE_STAGING =
+      "UPDATE product_import_staging SET sku = NULLIF(trim(sku), ''), "
+          + "name = NULLIF(trim(name), ''), size = NULLIF(trim(size), ''), "
+          + "color = NULLIF(trim(color), ''), "
+          + "price_value = CASE WHEN trim(price) ~ '^[0-9]+([.,][0-9]{1,2})?$' "
+          + "THEN CAST(replace(trim(price), ',', '.') AS numeric) END";
+
+  private static final String RESOLVE_CATEGORIES =
+      "UPDATE product_import_staging st SET category_id = c.id FROM "
+          + "(SELECT lower(name) AS key, min(id) AS id FROM categories GROUP BY lower(name)) c "
+          + "WHERE c.key = lower(trim(st.category))";
+
+  private static final String RESOLVE_BRANDS =
+      "UPDATE product_import_staging st SET brand_id = b.id FROM "
+          + "(SELECT lower(name) AS key, min(id) AS id FROM brands GROUP BY lower(name)) b "
+          + "WHERE b.key = lower(trim(st.brand))";
+
+  private static final String RESOLVE_SUPPLIERS =
+      "UPDATE product_import_staging st SET supplier_id = s.id FROM suppliers s "
+          + "WHERE regexp_replace(s.cnpj, '\\D', '', 'g') "
+          + "= regexp_replace(st.supplier_cnpj, '\\D', '', 'g')";
+
+  private static final String VALIDATE_ROWS =
+      "UPDATE product_import_staging SET error = CASE "
+          + "WHEN sku IS NULL THEN 'SKU é obrigatório' "
+          + "WHEN name IS NULL THEN 'Nome do produto é obrigatório' "
+          + "WHEN price_value IS NULL OR price_value <= 0 "
+          + "THEN 'Preço inválido: ' || coalesce(price, '') "
+          + "WHEN category_id IS NULL THEN 'Categoria não encontrada: ' || coalesce(category, '') "
+          + "WHEN brand_id IS NULL THEN 'Marca não encontrada: ' || coalesce(brand, '') "
+          + "WHEN supplier_id IS NULL "
+          + "THEN 'Fornecedor não encontrado com CNPJ: ' || coalesce(supplier_cnpj, '') END";
+
+  private static final String REJECT_DUPLICATES =
+      "UPDATE product_import_staging st SET error = 'SKU repetido no arquivo (vale a última linha)' "
+          + "WHERE st.error IS NULL AND EXISTS (SELECT 1 FROM product_import_staging o "
+          + "WHERE o.error IS NULL AND o.supplier_id = st.supplier_id AND o.sku = st.sku "
+          + "AND o.line_no > st.line_no)";
+
+  private static final String ALIGN_VARIANTS =
+      "UPDATE product_import_staging st SET name = m.name, category_id = m.category_id, "
+          + "brand_id = m.brand_id FROM products p JOIN product_models m ON m.id = p.model_id "
+          + "WHERE st.error IS NULL AND p.supplier_id = st.supplier_id AND p.sku = st.sku";
+
+  private static final String UPSERT_PRODUCTS =
+      "WITH upserted AS ("
+          + "INSERT INTO products (sku, name, size, color, price, category_id, brand_id, supplier_id) "
+          + "SELECT sku, name, size, color, price_value, category_id, brand_id, supplier_id "
+          + "FROM product_import_staging WHERE error IS NULL ORDER BY line_no "
+          + "ON CONFLICT (supplier_id, sku) DO UPDATE SET name = EXCLUDED.name, "
+          + "size = EXCLUDED.size, color = EXCLUDED.color, price = EXCLUDED.price, "
+          + "category_id = EXCLUDED.category_id, brand_id = EXCLUDED.brand_id, active = true "
+          + "RETURNING id, price, (xmax = 0) AS inserted), "
+          + "history AS (INSERT INTO product_prices (product_id, price, valid_from) "
+          + "SELECT u.id, u.price, ? FROM upserted u WHERE NOT EXISTS ("
+          + "SELECT 1 FROM (SELECT pp.price FROM product_prices pp WHERE pp.product_id = u.id "
+          + "ORDER BY pp.valid_from DESC LIMIT 1) latest WHERE latest.price = u.price)) "
+          + "SELECT count(*) FILTER (WHERE inserted) AS inserted, "
+          + "count(*) FILTER (WHERE NOT inserted) AS updated FROM upserted";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ProductCatalogImportRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Cria a tabela temporária e copia o CSV para ela. Retorna a quantidade de linhas copiadas. */
+  public long stage(Reader csv) {
+    jdbcTemplate.execute(CREATE_STAGING);
+    long copied =
+        jdbcTemplate.execute(
+            (ConnectionCallback<Long>)
+                connection -> {
+                  try {
+                    return connection
+                        .unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(COPY_STAGING, csv);
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                });
+    jdbcTemplate.update(NORMALIZE_STAGING);
+    jdbcTemplate.update(RESOLVE_CATEGORIES);
+    jdbcTemplate.update(RESOLVE_BRANDS);
+    jdbcTemplate.update(RESOLVE_SUPPLIERS);
+    jdbcTemplate.update(VALIDATE_ROWS);
+    jdbcTemplate.update(REJECT_DUPLICATES);
+    jdbcTemplate.update(ALIGN_VARIANTS);
+    return copied;
+  }
+
+  /** Grava as linhas válidas. Retorna {inseridos, atualizados}. */
+  public long[] upsertValidRows(LocalDateTime validFrom) {
+    return jdbcTemplate.queryForObject(
+        UPSERT_PRODUCTS,
+        (rs, rowNum) -> new long[] {rs.getLong("inserted"), rs.getLong("updated")},
+        Timestamp.valueOf(validFrom));
+  }
+
+  public long countRejectedRows() {
+    Long rejected =
+        jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM product_import_staging WHERE error IS NOT NULL", Long.class);
+    return rejected != null ? rejected : 0;
+  }
+
+  public List<ImportRowErrorDTO> findRowErrors(int limit) {
+    return jdbcTemplate.query(
+        "SELECT line_no + 1 AS line, error FROM product_import_staging "
+            + "WHERE error IS NOT NULL ORDER BY line_no LIMIT ?",
+        (rs, rowNum) -> new ImportRowErrorDTO(rs.getLong("line"), rs.getString("error")),
+        limit);
+  }
+}
@@ -0,0 +1,49 @@
+package com.shop.buy.repository;
+
+import com.shop.buy.model.ProductModel;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ProductModelRepository extends JpaRepository<ProductModel, Long> {
+
+  @Query(
+      "SELECT m FROM ProductModel m JOIN FETCH m.category JOIN FETCH m.brand "
+          + "JOIN FETCH m.supplier ORDER BY m.name, m.id")
+  List<ProductModel> findAllProductModels();
+
+  @Query(
+      "SELECT m FROM ProductModel m JOIN FETCH m.category JOIN FETCH m.brand "
+          + "JOIN FETCH m.supplier WHERE m.id = :id")
+  Optional<ProductModel> findProductModelById(@Param("id") Long id);
+
+  /** Cria um modelo para cada grupo (nome, categoria, marca, fornecedor) de produtos sem modelo. */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "INSERT INTO product_models (name, category_id, brand_id, supplier_id) "
+              + "SELECT DISTINCT p.name, p.category_id, p.brand_id, p.supplier_id FROM products p "
+              + "WHERE p.model_id IS NULL AND NOT EXISTS (SELECT 1 FROM product_models m "
+              + "WHERE m.name = p.name AND m.category_id = p.category_id "
+              + "AND m.brand_id = p.brand_id AND m.supplier_id = p.supplier_id)",
+      nativeQuery = true)
+  int createMissingModels();
+
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "UPDATE products p SET model_id = (SELECT min(m.id) FROM product_models m "
+              + "WHERE m.name = p.name AND m.category_id = p.category_id "
+              + "AND m.brand_id = p.brand_id AND m.supplier_id = p.supplier_id) "
+              + "WHERE p.model_id IS NULL",
+      nativeQuery = true)
+  int assignMissingModels();
+}
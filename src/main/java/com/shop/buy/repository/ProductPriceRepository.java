@@ -0,0 +1,64 @@
+package com.shop.buy.repository;
+
+import com.shop.buy.model.ProductPrice;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ProductPriceRepository extends JpaRepository<ProductPrice, Long> {
+
+  @Query(
+      value =
+          "SELECT * FROM product_prices WHERE product_id = :productId AND valid_from <= :at "
+              + "ORDER BY valid_from DESC LIMIT 1",
+      nativeQuery = true)
+  Optional<ProductPrice> findPriceAt(
+      @Param("productId") Long productId, @Param("at") LocalDateTime at);
+
+  @Query(
+      value =
+          "SELECT DISTINCT ON (product_id) * FROM product_prices WHERE valid_from <= :at "
+              + "ORDER BY product_id, valid_from DESC",
+      nativeQuery = true)
+  List<ProductPrice> findPricesAt(@Param("at") LocalDateTime at);
+
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO product_prices (product_id, price, valid_from) "
+              + "SELECT :productId, :price, :validFrom WHERE NOT EXISTS ("
+              + "SELECT 1 FROM (SELECT price FROM product_prices WHERE product_id = :productId "
+              + "ORDER BY valid_from DESC LIMIT 1) latest WHERE latest.price = :price)",
+      nativeQuery = true)
+  int recordPriceChange(
+      @Param("productId") Long productId,
+      @Param("price") BigDecimal price,
+      @Param("validFrom") LocalDateTime validFrom);
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+      value =
+          "INSERT INTO product_prices (product_id, price, valid_from) "
+              + "SELECT p.id, p.price, :validFrom FROM products p WHERE p.id IN :productIds",
+      nativeQuery = true)
+  int recordInitialPrices(
+      @Param("productIds") List<Long> productIds, @Param("validFrom") LocalDateTime validFrom);
+
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO product_prices (product_id, price, valid_from) "
+              + "SELECT p.id, p.price, :validFrom FROM products p WHERE NOT EXISTS ("
+              + "SELECT 1 FROM product_prices pp WHERE pp.product_id = p.id)",
+      nativeQuery = true)
+  int backfillMissingPrices(@Param("validFrom") LocalDateTime validFrom);
+}
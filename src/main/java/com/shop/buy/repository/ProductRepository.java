@@ -1,8 +1,16 @@
 package com.shop.buy.repository;
 
+import com.shop.buy.dto.ProductSummaryDTO;
 import com.shop.buy.model.Product;
+import com.shop.buy.repository.projection.ProductFacetCount;
+import com.shop.buy.repository.projection.ProductNameView;
+import com.shop.buy.repository.projection.ProductVariantView;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,33 +23,200 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
   @Query("SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.brand JOIN FETCH p.supplier")
   List<Product> findAllProducts();
 
+  @Query(
+      "SELECT new com.shop.buy.dto.ProductSummaryDTO(p.id, p.sku, p.name, p.size, p.color, "
+          + "p.price, p.category.id, p.brand.id, p.supplier.id, p.modelId, p.active) "
+          + "FROM Product p ORDER BY p.id")
+  List<ProductSummaryDTO> findAllProductSummaries();
+
+  @Query(
+      "SELECT new com.shop.buy.dto.ProductSummaryDTO(p.id, p.sku, p.name, p.size, p.color, "
+          + "p.price, p.category.id, p.brand.id, p.supplier.id, p.modelId, p.active) "
+          + "FROM Product p WHERE p.id = :id")
+  Optional<ProductSummaryDTO> findProductSummaryById(@Param("id") Long id);
+
+  @Query("SELECT p.id AS id, p.name AS name, p.active AS active FROM Product p")
+  List<ProductNameView> findAllProductNames();
+
   @Query(
       "SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.brand JOIN FETCH p.supplier WHERE p.id = :id")
   Optional<Product> findProductById(@Param("id") Long id);
 
   @Query(
-      "SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.brand JOIN FETCH p.supplier WHERE p.category.id = :categoryId")
+      "SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.brand JOIN FETCH p.supplier "
+          + "WHERE p.category.id = :categoryId AND p.active = true")
   List<Product> findProductsByCategoryId(@Param("categoryId") Long categoryId);
 
+  /**
+   * Produtos de todas as categorias cujo caminho começa por {@code pathPrefix}, ou seja, de uma
+   * categoria e de toda a sua subárvore. Usa o índice idx_categories_path (text_pattern_ops).
+   */
+  @Query(
+      "SELECT p FROM Product p JOIN FETCH p.category c JOIN FETCH p.brand JOIN FETCH p.supplier "
+          + "WHERE c.path LIKE CONCAT(:pathPrefix, '%') AND p.active = true")
+  List<Product> findProductsByCategoryPath(@Param("pathPrefix") String pathPrefix);
+
   @Query(
-      "SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.brand JOIN FETCH p.supplier WHERE p.brand.id = :brandId")
+      "SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.brand JOIN FETCH p.supplier "
+          + "WHERE p.brand.id = :brandId AND p.active = true")
   List<Product> findProductsByBrandId(@Param("brandId") Long brandId);
 
   @Query(
-      "SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.brand JOIN FETCH p.supplier WHERE p.supplier.id = :supplierId")
+      "SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.brand JOIN FETCH p.supplier "
+          + "WHERE p.supplier.id = :supplierId AND p.active = true")
   List<Product> findProductsBySupplierId(@Param("supplierId") Long supplierId);
 
+  @Query(
+      "SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.brand JOIN FETCH p.supplier "
+          + "WHERE p.active = true "
+          + "AND (:categoryId IS NULL OR p.category.id = :categoryId) "
+          + "AND (:brandId IS NULL OR p.brand.id = :brandId) "
+          + "AND (:supplierId IS NULL OR p.supplier.id = :supplierId) "
+          + "AND (:size IS NULL OR p.size = :size) "
+          + "AND (:color IS NULL OR p.color = :color) "
+          + "AND (:minPrice IS NULL OR p.price >= :minPrice) "
+          + "AND (:maxPrice IS NULL OR p.price <= :maxPrice) "
+          + "ORDER BY p.name, p.id")
+  List<Product> browseProducts(
+      @Param("categoryId") Long categoryId,
+      @Param("brandId") Long brandId,
+      @Param("supplierId") Long supplierId,
+      @Param("size") String size,
+      @Param("color") String color,
+      @Param("minPrice") BigDecimal minPrice,
+      @Param("maxPrice") BigDecimal maxPrice,
+      Pageable pageable);
+
+  @Query(
+      value =
+          "SELECT * FROM (SELECT CASE WHEN GROUPING(f.category_id) = 0 THEN 'category' "
+              + "WHEN GROUPING(f.brand_id) = 0 THEN 'brand' "
+              + "WHEN GROUPING(f.supplier_id) = 0 THEN 'supplier' "
+              + "WHEN GROUPING(f.size) = 0 THEN 'size' "
+              + "WHEN GROUPING(f.color) = 0 THEN 'color' "
+              + "ELSE 'total' END AS dimension, "
+              + "CASE WHEN GROUPING(f.category_id) = 0 THEN CAST(f.category_id AS varchar) "
+              + "WHEN GROUPING(f.brand_id) = 0 THEN CAST(f.brand_id AS varchar) "
+              + "WHEN GROUPING(f.supplier_id) = 0 THEN CAST(f.supplier_id AS varchar) "
+              + "WHEN GROUPING(f.size) = 0 THEN f.size "
+              + "WHEN GROUPING(f.color) = 0 THEN f.color END AS value, "
+              + "COALESCE(c.name, b.name, s.name, f.size, f.color) AS label, "
+              + "CASE WHEN GROUPING(f.category_id) = 0 "
+              + "THEN COUNT(*) FILTER (WHERE f.in_brand AND f.in_supplier AND f.in_size "
+              + "AND f.in_color) "
+              + "WHEN GROUPING(f.brand_id) = 0 "
+              + "THEN COUNT(*) FILTER (WHERE f.in_category AND f.in_supplier AND f.in_size "
+              + "AND f.in_color) "
+              + "WHEN GROUPING(f.supplier_id) = 0 "
+              + "THEN COUNT(*) FILTER (WHERE f.in_category AND f.in_brand AND f.in_size "
+              + "AND f.in_color) "
+              + "WHEN GROUPING(f.size) = 0 "
+              + "THEN COUNT(*) FILTER (WHERE f.in_category AND f.in_brand AND f.in_supplier "
+              + "AND f.in_color) "
+              + "WHEN GROUPING(f.color) = 0 "
+              + "THEN COUNT(*) FILTER (WHERE f.in_category AND f.in_brand AND f.in_supplier "
+              + "AND f.in_size) "
+              + "ELSE COUNT(*) FILTER (WHERE f.in_category AND f.in_brand AND f.in_supplier "
+              + "AND f.in_size AND f.in_color) END AS total "
+              + "FROM (SELECT p.category_id, p.brand_id, p.supplier_id, p.size, p.color, "
+              + "(CAST(:categoryId AS bigint) IS NULL "
+              + "OR p.category_id = CAST(:categoryId AS bigint)) AS in_category, "
+              + "(CAST(:brandId AS bigint) IS NULL "
+              + "OR p.brand_id = CAST(:brandId AS bigint)) AS in_brand, "
+              + "(CAST(:supplierId AS bigint) IS NULL "
+              + "OR p.supplier_id = CAST(:supplierId AS bigint)) AS in_supplier, "
+              + "(CAST(:size AS varchar) IS NULL "
+              + "OR p.size = CAST(:size AS varchar)) AS in_size, "
+              + "(CAST(:color AS varchar) IS NULL "
+              + "OR p.color = CAST(:color AS varchar)) AS in_color "
+              + "FROM products p "
+              + "WHERE p.active "
+              + "AND (CAST(:minPrice AS numeric) IS NULL "
+              + "OR p.price >= CAST(:minPrice AS numeric)) "
+              + "AND (CAST(:maxPrice AS numeric) IS NULL "
+              + "OR p.price <= CAST(:maxPrice AS numeric))) f "
+              + "JOIN categories c ON c.id = f.category_id "
+              + "JOIN brands b ON b.id = f.brand_id "
+              + "JOIN suppliers s ON s.id = f.supplier_id "
+              + "GROUP BY GROUPING SETS ((f.category_id, c.name), (f.brand_id, b.name), "
+              + "(f.supplier_id, s.name), (f.size), (f.color), ())) facets "
+              + "WHERE facets.total > 0 OR facets.dimension = 'total' "
+              + "ORDER BY dimension, total DESC, label",
+      nativeQuery = true)
+  List<ProductFacetCount> countProductFacets(
+      @Param("categoryId") Long categoryId,
+      @Param("brandId") Long brandId,
+      @Param("supplierId") Long supplierId,
+      @Param("size") String size,
+      @Param("color") String color,
+      @Param("minPrice") BigDecimal minPrice,
+      @Param("maxPrice") BigDecimal maxPrice);
+
+  @Modifying
+  @Query(
+      value =
+          "WITH repriced AS (UPDATE products "
+              + "SET price = ROUND(price * (100 + :percentage) / 100, 2) "
+              + "WHERE (CAST(:categoryId AS bigint) IS NULL "
+              + "OR category_id = CAST(:categoryId AS bigint)) "
+              + "AND (CAST(:brandId AS bigint) IS NULL OR brand_id = CAST(:brandId AS bigint)) "
+              + "AND (CAST(:supplierId AS bigint) IS NULL "
+              + "OR supplier_id = CAST(:supplierId AS bigint)) "
+              + "AND ROUND(price * (100 + :percentage) / 100, 2) > 0 "
+              + "AND ROUND(price * (100 + :percentage) / 100, 2) <> price "
+              + "RETURNING id, price) "
+              + "INSERT INTO product_prices (product_id, price, valid_from) "
+              + "SELECT id, price, :validFrom FROM repriced",
+      nativeQuery = true)
+  int repriceProducts(
+      @Param("categoryId") Long categoryId,
+      @Param("brandId") Long brandId,
+      @Param("supplierId") Long supplierId,
+      @Param("percentage") BigDecimal percentage,
+      @Param("validFrom") LocalDateTime validFrom);
+
   default Product saveProduct(Product product) {
     return save(product);
   }
 
-  @Modifying
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
   @Query(
-      "UPDATE Product p SET p.name = :#{#product.name}, p.size = :#{#product.size}, "
-          + "p.color = :#{#product.color}, p.price = :#{#product.price}, "
+      "UPDATE Product p SET p.sku = :#{#product.sku}, p.name = :#{#product.name}, "
+          + "p.size = :#{#product.size}, p.color = :#{#product.color}, "
+          + "p.price = :#{#product.price}, "
           + "p.category = :#{#product.category}, p.brand = :#{#product.brand}, "
-          + "p.supplier = :#{#product.supplier} WHERE p.id = :id")
-  void updateProductData(@Param("id") Long id, @Param("product") Product product);
+          + "p.supplier = :#{#product.supplier}, p.modelId = :#{#product.modelId} "
+          + "WHERE p.id = :id")
+  int updateProductData(@Param("id") Long id, @Param("product") Product product);
+
+  @Query(
+      "SELECT p.modelId AS modelId, p.id AS id, p.sku AS sku, p.size AS size, p.color AS color, "
+          + "p.price AS price FROM Product p WHERE p.modelId IN :modelIds ORDER BY p.modelId, p.id")
+  List<ProductVariantView> findVariantsByModelIds(@Param("modelIds") List<Long> modelIds);
+
+  /** Replica nas variações os atributos compartilhados do modelo. */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value =
+          "UPDATE products SET name = :name, category_id = :categoryId, brand_id = :brandId, "
+              + "supplier_id = :supplierId WHERE model_id = :modelId",
+      nativeQuery = true)
+  int updateModelVariants(
+      @Param("modelId") Long modelId,
+      @Param("name") String name,
+      @Param("categoryId") Long categoryId,
+      @Param("brandId") Long brandId,
+      @Param("supplierId") Long supplierId);
+
+  /** IDs, entre os informados, de produtos desativados pela sincronização com o fornecedor. */
+  @Query("SELECT p.id FROM Product p WHERE p.id IN :ids AND p.active = false")
+  List<Long> findInactiveProductIds(@Param("ids") Collection<Long> ids);
+
+  @Modifying
+  @Query(
+      value = "UPDATE products SET model_id = NULL WHERE model_id = :modelId",
+      nativeQuery = true)
+  int detachModelVariants(@Param("modelId") Long modelId);
 
   default Product updateProduct(Long id, Product product) {
     product.setId(id);
@@ -49,7 +224,6 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
   }
 
   @Modifying
-  default void deleteProduct(Long id) {
-    deleteById(id);
-  }
+  @Query(value = "DELETE FROM products WHERE id = :id", nativeQuery = true)
+  int deleteProductById(@Param("id") Long id);
 }
@@ -0,0 +1,101 @@
+package com.shop.buy.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Table;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Resolve chaves estrangeiras sem carregar as linhas referenciadas. As existências pedidas são
+ * verificadas em uma única consulta (um SELECT de IDs por tabela unidos com UNION ALL) e as
+ * entidades são obtidas como referências não inicializadas via {@link EntityManager#getReference}.
+ */
+@Repository
+public class ReferenceResolver {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  public <T> T reference(Class<T> type, Long id) {
+    return entityManager.getReference(type, id);
+  }
+
+  public Check check() {
+    return new Check();
+  }
+
+  public final class Check {
+
+    private final Map<Class<?>, Map<Long, String>> required = new LinkedHashMap<>();
+    private String missingNullMessage;
+
+    private Check() {}
+
+    public Check require(Class<?> type, Long id, String notFoundMessage) {
+      if (id == null) {
+        if (missingNullMessage == null) {
+          missingNullMessage = notFoundMessage;
+        }
+        return this;
+      }
+      required.computeIfAbsent(type, key -> new LinkedHashMap<>()).putIfAbsent(id, notFoundMessage);
+      return this;
+    }
+
+    /** Lança {@link EntityNotFoundException} com a mensagem da primeira referência inexistente. */
+    public void verify() {
+      if (missingNullMessage != null) {
+        throw new EntityNotFoundException(missingNullMessage);
+      }
+      if (required.isEmpty()) {
+        return;
+      }
+
+      List<String> selects = new ArrayList<>();
+      List<Class<?>> types = new ArrayList<>(required.keySet());
+      for (int i = 0; i < types.size(); i++) {
+        selects.add(
+            "SELECT "
+                + i
+                + " AS kind, id FROM "
+                + tableName(types.get(i))
+                + " WHERE id IN (:ids"
+                + i
+                + ")");
+      }
+      Query query = entityManager.createNativeQuery(String.join(" UNION ALL ", selects));
+      for (int i = 0; i < types.size(); i++) {
+        query.setParameter("ids" + i, new ArrayList<>(required.get(types.get(i)).keySet()));
+      }
+
+      Set<String> found = new HashSet<>();
+      for (Object row : query.getResultList()) {
+        Object[] columns = (Object[]) row;
+        found.add(((Number) columns[0]).intValue() + ":" + ((Number) columns[1]).longValue());
+      }
+
+      for (int i = 0; i < types.size(); i++) {
+        for (Map.Entry<Long, String> entry : required.get(types.get(i)).entrySet()) {
+          if (!found.contains(i + ":" + entry.getKey())) {
+            throw new EntityNotFoundException(entry.getValue());
+          }
+        }
+      }
+    }
+  }
+
+  private static String tableName(Class<?> type) {
+    Table table = type.getAnnotation(Table.class);
+    if (table == null || table.name().isEmpty()) {
+      throw new IllegalArgumentException("Entidade sem tabela mapeada: " + type.getSimpleName());
+    }
+    return table.name();
+  }
+}
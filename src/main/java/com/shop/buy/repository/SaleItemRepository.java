@@ -1,6 +1,10 @@
 package com.shop.buy.repository;
 
 import com.shop.buy.model.SaleItem;
+import com.shop.buy.repository.projection.ProductSalesBucket;
+import com.shop.buy.repository.projection.SaleItemLine;
+import com.shop.buy.repository.projection.SaleProductPair;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -35,6 +39,48 @@ public interface SaleItemRepository extends JpaRepository<SaleItem, Long> {
       nativeQuery = true)
   SaleItem updateSaleItem(@Param("id") Long id, @Param("saleItem") SaleItem saleItem);
 
+  @Query(
+      value =
+          "SELECT si.sale_id AS saleId, si.product_id AS productId, si.quantity, si.unit_price AS unitPrice, "
+              + "s.sale_date AS saleDate FROM sale_items si JOIN sales s ON s.id = si.sale_id "
+              + "WHERE si.id = :id",
+      nativeQuery = true)
+  Optional<SaleItemLine> findSaleItemLineById(@Param("id") Long id);
+
+  @Query(
+      value =
+          "SELECT si.product_id AS productId, date_trunc('hour', s.sale_date) AS hour, "
+              + "sum(si.quantity) AS units, sum(si.quantity * si.unit_price) AS revenue "
+              + "FROM sale_items si JOIN sales s ON s.id = si.sale_id "
+              + "WHERE s.sale_date >= :since "
+              + "GROUP BY si.product_id, date_trunc('hour', s.sale_date)",
+      nativeQuery = true)
+  List<ProductSalesBucket> sumSalesByProductAndHour(@Param("since") LocalDateTime since);
+
+  /**
+   * ID da transação atual, atribuído na hora se ela ainda não tem um. Acompanha as alterações de
+   * vendas registradas nos contadores em memória para que a reconstrução deles saiba se a
+   * alteração já estava na leitura do banco.
+   */
+  @Query(value = "SELECT CAST(CAST(pg_current_xact_id() AS text) AS bigint)", nativeQuery = true)
+  Long currentTransactionId();
+
+  /** Snapshot de transações usado pelas leituras da transação atual. */
+  @Query(value = "SELECT CAST(pg_current_snapshot() AS text)", nativeQuery = true)
+  String currentSnapshot();
+
+  @Query(
+      value =
+          "SELECT DISTINCT sale_id AS saleId, product_id AS productId FROM sale_items "
+              + "ORDER BY sale_id, product_id",
+      nativeQuery = true)
+  List<SaleProductPair> findDistinctSaleProducts();
+
+  @Query(
+      "SELECT DISTINCT i.product.id FROM SaleItem i WHERE i.sale.id = :saleId "
+          + "ORDER BY i.product.id")
+  List<Long> findDistinctProductIdsBySaleId(@Param("saleId") Long saleId);
+
   @Query(value = "DELETE FROM sale_items WHERE id = :id", nativeQuery = true)
   @org.springframework.data.jpa.repository.Modifying
   void deleteSaleItem(@Param("id") Long id);
@@ -1,7 +1,11 @@
 package com.shop.buy.repository;
 
 import com.shop.buy.model.Sale;
+import com.shop.buy.repository.projection.SaleSummaryView;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +17,48 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
   @Query("SELECT s FROM Sale s")
   List<Sale> findAllSales();
 
+  @Query(
+      "SELECT s.id AS id, s.customer.id AS customerId, s.employee.id AS employeeId, "
+          + "s.saleDate AS saleDate, s.discount AS discount, s.paymentMethod AS paymentMethod, "
+          + "COALESCE(SUM(i.unitPrice * i.quantity), 0) AS subtotal, COUNT(i) AS itemCount "
+          + "FROM Sale s LEFT JOIN s.items i GROUP BY s.id ORDER BY s.id")
+  List<SaleSummaryView> findAllSaleSummaries();
+
+  @Query(
+      "SELECT s.id AS id, s.customer.id AS customerId, s.employee.id AS employeeId, "
+          + "s.saleDate AS saleDate, s.discount AS discount, s.paymentMethod AS paymentMethod, "
+          + "COALESCE(SUM(i.unitPrice * i.quantity), 0) AS subtotal, COUNT(i) AS itemCount "
+          + "FROM Sale s LEFT JOIN s.items i WHERE s.id = :id GROUP BY s.id")
+  Optional<SaleSummaryView> findSaleSummaryById(@Param("id") Long id);
+
+  /** Primeira página do histórico do cliente, da venda mais recente para a mais antiga. */
+  @Query(
+      "SELECT s.id AS id, s.customer.id AS customerId, s.employee.id AS employeeId, "
+          + "s.saleDate AS saleDate, s.discount AS discount, s.paymentMethod AS paymentMethod, "
+          + "COALESCE(SUM(i.unitPrice * i.quantity), 0) AS subtotal, COUNT(i) AS itemCount "
+          + "FROM Sale s LEFT JOIN s.items i WHERE s.customer.id = :customerId "
+          + "GROUP BY s.id ORDER BY s.saleDate DESC, s.id DESC")
+  List<SaleSummaryView> findCustomerSaleSummaries(
+      @Param("customerId") Long customerId, Pageable pageable);
+
+  /**
+   * Páginas seguintes do histórico, a partir da última venda lida (paginação por chave). O filtro
+   * {@code saleDate <= :beforeDate} limita a varredura do índice idx_sales_customer_date.
+   */
+  @Query(
+      "SELECT s.id AS id, s.customer.id AS customerId, s.employee.id AS employeeId, "
+          + "s.saleDate AS saleDate, s.discount AS discount, s.paymentMethod AS paymentMethod, "
+          + "COALESCE(SUM(i.unitPrice * i.quantity), 0) AS subtotal, COUNT(i) AS itemCount "
+          + "FROM Sale s LEFT JOIN s.items i WHERE s.customer.id = :customerId "
+          + "AND s.saleDate <= :beforeDate "
+          + "AND (s.saleDate < :beforeDate OR s.id < :beforeId) "
+          + "GROUP BY s.id ORDER BY s.saleDate DESC, s.id DESC")
+  List<SaleSummaryView> findCustomerSaleSummariesBefore(
+      @Param("customerId") Long customerId,
+      @Param("beforeDate") LocalDateTime beforeDate,
+      @Param("beforeId") Long beforeId,
+      Pageable pageable);
+
   @Query("SELECT s FROM Sale s WHERE s.customer.id = :customerId")
   List<Sale> findSalesByCustomerId(@Param("customerId") Long customerId);
 
@@ -0,0 +1,45 @@
+package com.shop.buy.repository;
+
+import com.shop.buy.model.StockReservation;
+import com.shop.buy.repository.projection.ReservationExpiry;
+import com.shop.buy.repository.projection.StockLevel;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+  @Query(
+      value = "SELECT * FROM stock_reservations WHERE token = :token ORDER BY product_id",
+      nativeQuery = true)
+  List<StockReservation> findReservationsByToken(@Param("token") String token);
+
+  @Query(
+      value =
+          "SELECT token, min(expires_at) AS expiresAt FROM stock_reservations GROUP BY token",
+      nativeQuery = true)
+  List<ReservationExpiry> findPendingExpirations();
+
+  /**
+   * Consome uma reserva ainda válida. Como a exclusão trava e remove as linhas, a reserva é
+   * convertida ou liberada exatamente uma vez, mesmo que a expiração ocorra ao mesmo tempo.
+   */
+  @Query(
+      value =
+          "DELETE FROM stock_reservations WHERE token = :token AND expires_at > :now "
+              + "RETURNING product_id AS productId, quantity",
+      nativeQuery = true)
+  List<StockLevel> claimReservation(
+      @Param("token") String token, @Param("now") LocalDateTime now);
+
+  @Query(
+      value =
+          "DELETE FROM stock_reservations WHERE token = :token "
+              + "RETURNING product_id AS productId, quantity",
+      nativeQuery = true)
+  List<StockLevel> deleteReservation(@Param("token") String token);
+}
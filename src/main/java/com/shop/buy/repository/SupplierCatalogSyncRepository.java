@@ -0,0 +1,121 @@
+package com.shop.buy.repository;
+
+import com.shop.buy.dto.SupplierCatalogItemDTO;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Sincronização do catálogo completo de um fornecedor. A lista recebida é gravada em lotes numa
+ * tabela temporária e comparada com os produtos do fornecedor por SKU e por um hash md5 de cada
+ * linha, de modo que apenas as linhas novas, alteradas ou ausentes são escritas, com um único
+ * comando para o lote inteiro. Deve ser chamada dentro de uma transação, pois a tabela temporária
+ * é descartada no commit.
+ *
+ * <p>Nome, categoria e marca de uma variação pertencem ao modelo: para SKUs que já são variações,
+ * esses valores vêm do modelo e os da lista são ignorados, então a variação só conta como alterada
+ * quando tamanho, cor ou preço mudam.
+ */
+@Repository
+public class SupplierCatalogSyncRepository {
+
+  private static final int BATCH_SIZE = 1000;
+
+  private static final String CREATE_STAGING =
+      "CREATE TEMP TABLE supplier_sync_staging (sku text PRIMARY KEY, name text, size text, "
+          + "color text, price numeric, category_id bigint, brand_id bigint) ON COMMIT DROP";
+
+  private static final String INSERT_STAGING =
+      "INSERT INTO supplier_sync_staging (sku, name, size, color, price, category_id, brand_id) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String ALIGN_VARIANTS =
+      "UPDATE supplier_sync_staging s SET name = m.name, category_id = m.category_id, "
+          + "brand_id = m.brand_id FROM products p JOIN product_models m ON m.id = p.model_id "
+          + "WHERE p.supplier_id = ? AND p.sku = s.sku";
+
+  /** Hash das colunas sincronizadas, calculado igual dos dois lados da comparação. */
+  private static final String ROW_HASH =
+      "md5(ROW(%1$s.name::text, %1$s.size::text, %1$s.color::text, round(%1$s.price, 2), "
+          + "%1$s.category_id, %1$s.brand_id)::text)";
+
+  private static final String APPLY_DELTA =
+      "WITH updated AS ("
+          + "UPDATE products p SET name = s.name, size = s.size, color = s.color, price = s.price, "
+          + "category_id = s.category_id, brand_id = s.brand_id, active = true "
+          + "FROM supplier_sync_staging s WHERE p.supplier_id = ? AND p.sku = s.sku "
+          + "AND (NOT p.active OR "
+          + ROW_HASH.formatted("p")
+          + " <> "
+          + ROW_HASH.formatted("s")
+          + ") RETURNING p.id, p.price), "
+          + "inserted AS ("
+          + "INSERT INTO products (sku, name, size, color, price, category_id, brand_id, "
+          + "supplier_id, active) "
+          + "SELECT s.sku, s.name, s.size, s.color, s.price, s.category_id, s.brand_id, ?, true "
+          + "FROM supplier_sync_staging s WHERE NOT EXISTS (SELECT 1 FROM products p "
+          + "WHERE p.supplier_id = ? AND p.sku = s.sku) RETURNING id, price), "
+          + "deactivated AS ("
+          + "UPDATE products p SET active = false WHERE p.supplier_id = ? AND p.active "
+          + "AND p.sku IS NOT NULL AND NOT EXISTS (SELECT 1 FROM supplier_sync_staging s "
+          + "WHERE s.sku = p.sku) RETURNING p.id), "
+          + "history AS (INSERT INTO product_prices (product_id, price, valid_from) "
+          + "SELECT w.id, w.price, ? "
+          + "FROM (SELECT * FROM updated UNION ALL SELECT * FROM inserted) w "
+          + "WHERE NOT EXISTS (SELECT 1 FROM (SELECT pp.price FROM product_prices pp "
+          + "WHERE pp.product_id = w.id ORDER BY pp.valid_from DESC LIMIT 1) latest "
+          + "WHERE latest.price = w.price)) "
+          + "SELECT (SELECT count(*) FROM inserted) AS inserted, "
+          + "(SELECT count(*) FROM updated) AS updated, "
+          + "ARRAY(SELECT id FROM deactivated) AS deactivated_ids";
+
+  /** Resultado de {@link #applyDelta}; os desativados vêm por ID para atualizar os caches. */
+  public record Delta(long inserted, long updated, List<Long> deactivatedIds) {}
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public SupplierCatalogSyncRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void stage(List<SupplierCatalogItemDTO> items) {
+    jdbcTemplate.execute(CREATE_STAGING);
+    jdbcTemplate.batchUpdate(
+        INSERT_STAGING,
+        items,
+        BATCH_SIZE,
+        (ps, item) -> {
+          ps.setString(1, item.getSku().trim());
+          ps.setString(2, item.getName().trim());
+          ps.setString(3, blankToNull(item.getSize()));
+          ps.setString(4, blankToNull(item.getColor()));
+          ps.setBigDecimal(5, item.getPrice());
+          ps.setLong(6, item.getCategoryId());
+          ps.setLong(7, item.getBrandId());
+        });
+  }
+
+  /** Aplica o delta da lista preparada. */
+  public Delta applyDelta(Long supplierId, LocalDateTime validFrom) {
+    jdbcTemplate.update(ALIGN_VARIANTS, supplierId);
+    return jdbcTemplate.queryForObject(
+        APPLY_DELTA,
+        (rs, rowNum) ->
+            new Delta(
+                rs.getLong("inserted"),
+                rs.getLong("updated"),
+                Arrays.asList((Long[]) rs.getArray("deactivated_ids").getArray())),
+        supplierId,
+        supplierId,
+        supplierId,
+        supplierId,
+        Timestamp.valueOf(validFrom));
+  }
+
+  private static String blankToNull(String value) {
+    return value == null || value.isBlank() ? null : value.trim();
+  }
+}
@@ -1,5 +1,7 @@
 package com.shop.buy.repository;
 
+import com.shop.buy.exception.DuplicateResourceException;
+import com.shop.buy.exception.UniqueKey;
 import com.shop.buy.model.Supplier;
 import java.util.List;
 import java.util.Optional;
@@ -17,19 +19,40 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
   @Query(value = "SELECT * FROM suppliers WHERE id = :id", nativeQuery = true)
   Optional<Supplier> findSupplierById(@Param("id") Long id);
 
+  /**
+   * Usa o índice idx_suppliers_cnpj_digits; {@code digits} deve conter apenas números. O índice
+   * não é único, pois CNPJs gravados com pontuações diferentes podem coincidir; até dois
+   * fornecedores são retornados para que o chamador detecte o cadastro duplicado.
+   */
   @Query(
       value =
-          "INSERT INTO suppliers (name, cnpj, phone, email) VALUES (:#{#supplier.name}, :#{#supplier.cnpj}, :#{#supplier.phone}, :#{#supplier.email}) RETURNING *",
+          "SELECT * FROM suppliers WHERE regexp_replace(cnpj, '\\D', '', 'g') = :digits "
+              + "ORDER BY id LIMIT 2",
       nativeQuery = true)
-  Supplier saveSupplier(@Param("supplier") Supplier supplier);
+  List<Supplier> findSuppliersByCnpjDigits(@Param("digits") String digits);
+
+  @Query(
+      value =
+          "INSERT INTO suppliers (name, cnpj, phone, email) "
+              + "VALUES (:#{#supplier.name}, :#{#supplier.cnpj}, :#{#supplier.phone}, "
+              + ":#{#supplier.email}) "
+              + "ON CONFLICT ON CONSTRAINT uk_suppliers_cnpj DO NOTHING RETURNING *",
+      nativeQuery = true)
+  Optional<Supplier> insertSupplierIfAbsent(@Param("supplier") Supplier supplier);
+
+  /** Grava o fornecedor ou lança {@link DuplicateResourceException} se o CNPJ já estiver em uso. */
+  default Supplier saveSupplier(Supplier supplier) {
+    return insertSupplierIfAbsent(supplier)
+        .orElseThrow(() -> UniqueKey.SUPPLIER_CNPJ.conflict(supplier.getCnpj()));
+  }
 
   @Query(
       value =
           "UPDATE suppliers SET name = :#{#supplier.name}, cnpj = :#{#supplier.cnpj}, phone = :#{#supplier.phone}, email = :#{#supplier.email} WHERE id = :id RETURNING *",
       nativeQuery = true)
-  Supplier updateSupplier(@Param("id") Long id, @Param("supplier") Supplier supplier);
+  Optional<Supplier> updateSupplier(@Param("id") Long id, @Param("supplier") Supplier supplier);
 
   @Query(value = "DELETE FROM suppliers WHERE id = :id", nativeQuery = true)
   @org.springframework.data.jpa.repository.Modifying
-  void deleteSupplier(@Param("id") Long id);
+  int deleteSupplier(@Param("id") Long id);
 }
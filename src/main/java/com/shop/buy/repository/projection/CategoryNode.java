@@ -0,0 +1,9 @@
+package com.shop.buy.repository.projection;
+
+public interface CategoryNode {
+  Long getId();
+
+  Long getParentId();
+
+  String getPath();
+}
@@ -0,0 +1,11 @@
+package com.shop.buy.repository.projection;
+
+public interface InventoryLevel {
+  Long getProductId();
+
+  Integer getQuantity();
+
+  Integer getReorderPoint();
+
+  Long getVersion();
+}
@@ -0,0 +1,11 @@
+package com.shop.buy.repository.projection;
+
+public interface ProductFacetCount {
+  String getDimension();
+
+  String getValue();
+
+  String getLabel();
+
+  Long getTotal();
+}
@@ -0,0 +1,9 @@
+package com.shop.buy.repository.projection;
+
+public interface ProductNameView {
+  Long getId();
+
+  String getName();
+
+  Boolean getActive();
+}
@@ -0,0 +1,14 @@
+package com.shop.buy.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ProductSalesBucket {
+  Long getProductId();
+
+  LocalDateTime getHour();
+
+  Long getUnits();
+
+  BigDecimal getRevenue();
+}
@@ -0,0 +1,17 @@
+package com.shop.buy.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface ProductVariantView {
+  Long getModelId();
+
+  Long getId();
+
+  String getSku();
+
+  String getSize();
+
+  String getColor();
+
+  BigDecimal getPrice();
+}
@@ -0,0 +1,9 @@
+package com.shop.buy.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface ReservationExpiry {
+  String getToken();
+
+  LocalDateTime getExpiresAt();
+}
@@ -0,0 +1,16 @@
+package com.shop.buy.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface SaleItemLine {
+  Long getSaleId();
+
+  Long getProductId();
+
+  Integer getQuantity();
+
+  BigDecimal getUnitPrice();
+
+  LocalDateTime getSaleDate();
+}
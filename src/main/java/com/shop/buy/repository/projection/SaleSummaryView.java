@@ -0,0 +1,23 @@
+package com.shop.buy.repository.projection;
+
+import com.shop.buy.model.PaymentMethod;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface SaleSummaryView {
+  Long getId();
+
+  Long getCustomerId();
+
+  Long getEmployeeId();
+
+  LocalDateTime getSaleDate();
+
+  BigDecimal getDiscount();
+
+  PaymentMethod getPaymentMethod();
+
+  BigDecimal getSubtotal();
+
+  Long getItemCount();
+}
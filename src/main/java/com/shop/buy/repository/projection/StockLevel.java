@@ -0,0 +1,7 @@
+package com.shop.buy.repository.projection;
+
+public interface StockLevel {
+  Long getProductId();
+
+  Integer getQuantity();
+}
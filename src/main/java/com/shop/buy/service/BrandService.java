@@ -1,6 +1,7 @@
 package com.shop.buy.service;
 
 import com.shop.buy.dto.BrandDTO;
+import com.shop.buy.dto.PageResponse;
 import java.util.List;
 
 public interface BrandService {
@@ -8,7 +9,7 @@ public interface BrandService {
 
   BrandDTO getBrandById(Long id);
 
-  List<BrandDTO> getBrandsByName(String name);
+  PageResponse<BrandDTO> searchBrands(String name, int page, int size);
 
   BrandDTO createBrand(BrandDTO brandDTO);
 
@@ -8,6 +8,8 @@ public interface CategoryService {
 
   CategoryDTO getCategoryById(Long id);
 
+  List<CategoryDTO> getCategoryDescendants(Long id);
+
   CategoryDTO createCategory(CategoryDTO categoryDTO);
 
   CategoryDTO updateCategory(Long id, CategoryDTO categoryDTO);
@@ -0,0 +1,8 @@
+package com.shop.buy.service;
+
+import com.shop.buy.dto.ImportResultDTO;
+import java.io.InputStream;
+
+public interface CustomerImportService {
+  ImportResultDTO importCustomers(InputStream csv);
+}
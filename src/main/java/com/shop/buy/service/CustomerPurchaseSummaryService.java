@@ -0,0 +1,14 @@
+package com.shop.buy.service;
+
+import com.shop.buy.dto.CustomerPurchaseSummaryDTO;
+import com.shop.buy.repository.projection.SaleSummaryView;
+
+public interface CustomerPurchaseSummaryService {
+  CustomerPurchaseSummaryDTO getSummary(Long customerId);
+
+  /**
+   * Ajusta os resumos dos clientes com a diferença entre o estado da venda antes e depois de uma
+   * gravação. {@code before} é nulo para vendas novas e {@code after} para vendas excluídas.
+   */
+  void applySaleChange(SaleSummaryView before, SaleSummaryView after);
+}
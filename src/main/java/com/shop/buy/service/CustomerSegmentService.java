@@ -0,0 +1,17 @@
+package com.shop.buy.service;
+
+import com.shop.buy.dto.CustomerSegmentDTO;
+import com.shop.buy.dto.CustomerSegmentRebuildStatusDTO;
+import com.shop.buy.dto.PageResponse;
+
+public interface CustomerSegmentService {
+  PageResponse<CustomerSegmentDTO> getSegments(String segment, int page, int size);
+
+  /**
+   * Agenda o recálculo da segmentação RFM de todos os clientes em segundo plano. Se já houver um
+   * recálculo em andamento, nenhum outro é iniciado. Retorna a situação do recálculo.
+   */
+  CustomerSegmentRebuildStatusDTO startRebuild();
+
+  CustomerSegmentRebuildStatusDTO getRebuildStatus();
+}
@@ -1,6 +1,7 @@
 package com.shop.buy.service;
 
 import com.shop.buy.dto.CustomerDTO;
+import com.shop.buy.dto.PageResponse;
 import java.util.List;
 
 public interface CustomerService {
@@ -8,6 +9,11 @@ public interface CustomerService {
 
   CustomerDTO getCustomerById(Long id);
 
+  CustomerDTO getCustomerByCpf(String cpf);
+
+  PageResponse<CustomerDTO> searchCustomers(
+      String query, boolean includeContacts, int page, int size);
+
   CustomerDTO createCustomer(CustomerDTO customerDTO);
 
   CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO);
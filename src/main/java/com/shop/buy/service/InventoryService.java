@@ -0,0 +1,28 @@
+package com.shop.buy.service;
+
+import com.shop.buy.dto.FlashSaleStatusDTO;
+import com.shop.buy.dto.InventoryDTO;
+import java.util.List;
+import java.util.Map;
+
+public interface InventoryService {
+  List<InventoryDTO> getAllInventory();
+
+  InventoryDTO getInventoryByProductId(Long productId);
+
+  InventoryDTO setStock(Long productId, InventoryDTO inventoryDTO);
+
+  InventoryDTO adjustStock(Long productId, int delta);
+
+  /**
+   * Aplica as movimentações de uma venda. Valores positivos baixam o estoque e negativos devolvem.
+   * Produtos sem estoque cadastrado não são controlados.
+   */
+  void applyStockMovements(Map<Long, Integer> movements);
+
+  List<FlashSaleStatusDTO> getFlashSales();
+
+  FlashSaleStatusDTO openFlashSale(Long productId, int quantity);
+
+  FlashSaleStatusDTO closeFlashSale(Long productId);
+}
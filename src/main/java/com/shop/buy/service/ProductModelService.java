@@ -0,0 +1,17 @@
+package com.shop.buy.service;
+
+import com.shop.buy.dto.ProductModelDTO;
+import java.util.List;
+
+public interface ProductModelService {
+  List<ProductModelDTO> getAllProductModels();
+
+  ProductModelDTO getProductModelById(Long id);
+
+  ProductModelDTO createProductModel(ProductModelDTO productModelDTO);
+
+  ProductModelDTO updateProductModel(Long id, ProductModelDTO productModelDTO);
+
+  /** Exclui o modelo mantendo as variações como produtos avulsos, pois podem ter vendas. */
+  void deleteProductModel(Long id);
+}
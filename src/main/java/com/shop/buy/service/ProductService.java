@@ -1,6 +1,17 @@
 package com.shop.buy.service;
 
+import com.shop.buy.dto.BestSellerDTO;
+import com.shop.buy.dto.LowStockProductDTO;
+import com.shop.buy.dto.ProductBrowseDTO;
+import com.shop.buy.dto.ProductBrowseFilter;
 import com.shop.buy.dto.ProductDTO;
+import com.shop.buy.dto.ProductPriceDTO;
+import com.shop.buy.dto.ProductRepriceDTO;
+import com.shop.buy.dto.ProductRepriceResultDTO;
+import com.shop.buy.dto.ProductSuggestionDTO;
+import com.shop.buy.dto.ProductSummaryDTO;
+import com.shop.buy.dto.RelatedProductDTO;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ProductService {
@@ -8,15 +19,35 @@ public interface ProductService {
 
   ProductDTO getProductById(Long id);
 
-  List<ProductDTO> getProductsByCategory(Long categoryId);
+  List<ProductSummaryDTO> getAllProductSummaries();
+
+  ProductSummaryDTO getProductSummaryById(Long id);
+
+  ProductPriceDTO getProductPriceAt(Long id, LocalDateTime at);
+
+  List<ProductPriceDTO> getProductPricesAt(LocalDateTime at);
+
+  List<ProductDTO> getProductsByCategory(Long categoryId, boolean includeDescendants);
 
   List<ProductDTO> getProductsByBrand(Long brandId);
 
   List<ProductDTO> getProductsBySupplier(Long supplierId);
 
+  ProductBrowseDTO browseProducts(ProductBrowseFilter filter, int page, int size);
+
+  List<ProductSuggestionDTO> autocompleteProducts(String prefix, int limit);
+
+  List<LowStockProductDTO> getLowStockProducts();
+
+  List<BestSellerDTO> getTopProducts(String window, String by, int limit);
+
+  List<RelatedProductDTO> getRelatedProducts(Long productId, int limit);
+
   ProductDTO createProduct(ProductDTO productDTO);
 
   ProductDTO updateProduct(Long id, ProductDTO productDTO);
 
+  ProductRepriceResultDTO repriceProducts(ProductRepriceDTO repriceDTO);
+
   void deleteProduct(Long id);
 }
@@ -1,6 +1,8 @@
 package com.shop.buy.service;
 
+import com.shop.buy.dto.CustomerPurchaseHistoryDTO;
 import com.shop.buy.dto.SaleDTO;
+import com.shop.buy.dto.SaleSummaryDTO;
 import java.util.List;
 
 public interface SaleService {
@@ -8,8 +10,18 @@ public interface SaleService {
 
   SaleDTO getSaleById(Long id);
 
+  List<SaleSummaryDTO> getAllSaleSummaries();
+
+  SaleSummaryDTO getSaleSummaryById(Long id);
+
   List<SaleDTO> getSalesByCustomerId(Long customerId);
 
+  /**
+   * Histórico de compras do cliente paginado por chave (data e id da última venda lida), junto com
+   * o resumo de compras mantido a cada gravação de venda.
+   */
+  CustomerPurchaseHistoryDTO getCustomerPurchaseHistory(Long customerId, String cursor, int size);
+
   List<SaleDTO> getSalesByEmployeeId(Long employeeId);
 
   SaleDTO createSale(SaleDTO saleDTO);
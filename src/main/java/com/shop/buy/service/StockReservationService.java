@@ -0,0 +1,20 @@
+package com.shop.buy.service;
+
+import com.shop.buy.dto.StockReservationDTO;
+import com.shop.buy.dto.StockReservationRequestDTO;
+import java.util.Map;
+
+public interface StockReservationService {
+  StockReservationDTO createReservation(StockReservationRequestDTO request);
+
+  StockReservationDTO getReservation(String token);
+
+  void releaseReservation(String token);
+
+  /**
+   * Consome a reserva dentro da transação atual e retorna as quantidades que ela segurava por
+   * produto. Lança {@link com.shop.buy.exception.ReservationExpiredException} se a reserva não
+   * existe mais ou já expirou, pois o estoque que ela segurava pode já ter sido vendido.
+   */
+  Map<Long, Integer> claimReservation(String token);
+}
@@ -0,0 +1,8 @@
+package com.shop.buy.service;
+
+import com.shop.buy.dto.SupplierCatalogSyncDTO;
+import com.shop.buy.dto.SupplierCatalogSyncResultDTO;
+
+public interface SupplierCatalogSyncService {
+  SupplierCatalogSyncResultDTO syncCatalog(Long supplierId, SupplierCatalogSyncDTO catalog);
+}
@@ -8,6 +8,8 @@ public interface SupplierService {
 
   SupplierDTO getSupplierById(Long id);
 
+  SupplierDTO getSupplierByCnpj(String cnpj);
+
   SupplierDTO createSupplier(SupplierDTO supplierDTO);
 
   SupplierDTO updateSupplier(Long id, SupplierDTO supplierDTO);
@@ -1,11 +1,15 @@
 package com.shop.buy.service.impl;
 
+import com.shop.buy.cache.ReferenceDataCache;
 import com.shop.buy.dto.BrandDTO;
-import com.shop.buy.exception.DuplicateResourceException;
+import com.shop.buy.dto.PageResponse;
 import com.shop.buy.exception.ResourceNotFoundException;
+import com.shop.buy.exception.UniqueKey;
 import com.shop.buy.model.Brand;
 import com.shop.buy.repository.BrandRepository;
 import com.shop.buy.service.BrandService;
+import com.shop.buy.util.TextSearch;
+import com.shop.buy.util.TransactionHooks;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,15 +21,17 @@ import org.springframework.transaction.annotation.Transactional;
 public class BrandServiceImpl implements BrandService {
 
   private final BrandRepository brandRepository;
+  private final ReferenceDataCache referenceDataCache;
 
   @Autowired
-  public BrandServiceImpl(BrandRepository brandRepository) {
+  public BrandServiceImpl(BrandRepository brandRepository, ReferenceDataCache referenceDataCache) {
     this.brandRepository = brandRepository;
+    this.referenceDataCache = referenceDataCache;
   }
 
   @Override
   public List<BrandDTO> getAllBrands() {
-    return brandRepository.findAllBrands().stream()
+    return referenceDataCache.brands().stream()
         .map(this::convertToDTO)
         .collect(Collectors.toList());
   }
@@ -33,85 +39,63 @@ public class BrandServiceImpl implements BrandService {
   @Override
   public BrandDTO getBrandById(Long id) {
     Brand brand =
-        brandRepository
-            .findBrandById(id)
+        referenceDataCache
+            .snapshot()
+            .brand(id)
             .orElseThrow(() -> new ResourceNotFoundException("Marca", "id", id));
     return convertToDTO(brand);
   }
 
   @Override
-  public List<BrandDTO> getBrandsByName(String name) {
-    return brandRepository.findBrandsByNameContaining(name).stream()
-        .map(this::convertToDTO)
-        .collect(Collectors.toList());
+  public PageResponse<BrandDTO> searchBrands(String name, int page, int size) {
+    return TextSearch.page(
+        name,
+        "Informe o nome ou parte do nome da marca",
+        page,
+        size,
+        brandRepository::searchBrandsByName,
+        this::convertToDTO);
   }
 
   @Override
   @Transactional
   public BrandDTO createBrand(BrandDTO brandDTO) {
-
-    brandRepository.findBrandsByNameContaining(brandDTO.getName()).stream()
-        .filter(b -> b.getName().equalsIgnoreCase(brandDTO.getName()))
-        .findFirst()
-        .ifPresent(
-            brand -> {
-              throw new DuplicateResourceException("Marca", "nome", brandDTO.getName());
-            });
-
-    try {
-      Brand brand = convertToEntity(brandDTO);
-      Brand savedBrand = brandRepository.saveBrand(brand);
-      return convertToDTO(savedBrand);
-    } catch (DataIntegrityViolationException e) {
-
-      if (e.getMessage().contains("unique")
-          || (e.getRootCause() != null && e.getRootCause().getMessage().contains("unique"))) {
-        throw new DuplicateResourceException("Marca com o mesmo nome já existe");
-      }
-      throw e;
-    }
+    Brand brand = convertToEntity(brandDTO);
+    Brand savedBrand = brandRepository.saveBrand(brand);
+    TransactionHooks.afterCommit(() -> referenceDataCache.putBrand(savedBrand));
+    return convertToDTO(savedBrand);
   }
 
   @Override
   @Transactional
   public BrandDTO updateBrand(Long id, BrandDTO brandDTO) {
-
-    brandRepository
-        .findBrandById(id)
-        .orElseThrow(() -> new ResourceNotFoundException("Marca", "id", id));
-
-    brandRepository.findBrandsByNameContaining(brandDTO.getName()).stream()
+    referenceDataCache.brands().stream()
         .filter(b -> b.getName().equalsIgnoreCase(brandDTO.getName()) && !b.getId().equals(id))
         .findFirst()
         .ifPresent(
             brand -> {
-              throw new DuplicateResourceException("Marca", "nome", brandDTO.getName());
+              throw UniqueKey.BRAND_NAME.conflict(brandDTO.getName());
             });
 
-    try {
-      Brand brand = convertToEntity(brandDTO);
-      Brand updatedBrand = brandRepository.updateBrand(id, brand);
-      return convertToDTO(updatedBrand);
-    } catch (DataIntegrityViolationException e) {
-
-      if (e.getMessage().contains("unique")
-          || (e.getRootCause() != null && e.getRootCause().getMessage().contains("unique"))) {
-        throw new DuplicateResourceException("Marca com o mesmo nome já existe");
-      }
-      throw e;
-    }
+    // uma atualização concorrente com o mesmo nome esbarra em uk_brands_lower_name e é traduzida
+    // pelo GlobalExceptionHandler
+    Brand brand = convertToEntity(brandDTO);
+    Brand updatedBrand =
+        brandRepository
+            .updateBrand(id, brand)
+            .orElseThrow(() -> new ResourceNotFoundException("Marca", "id", id));
+    TransactionHooks.afterCommit(() -> referenceDataCache.putBrand(updatedBrand));
+    return convertToDTO(updatedBrand);
   }
 
   @Override
   @Transactional
   public void deleteBrand(Long id) {
-
-    brandRepository
-        .findBrandById(id)
-        .orElseThrow(() -> new ResourceNotFoundException("Marca", "id", id));
-
     try {
-      brandRepository.deleteBrand(id);
+      if (brandRepository.deleteBrand(id) == 0) {
+        throw new ResourceNotFoundException("Marca", "id", id);
+      }
+      TransactionHooks.afterCommit(() -> referenceDataCache.removeBrand(id));
     } catch (DataIntegrityViolationException e) {
       throw new RuntimeException(
           "Não é possível excluir a marca, pois está sendo referenciada por outros registros");
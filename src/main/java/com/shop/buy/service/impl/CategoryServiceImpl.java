@@ -1,11 +1,17 @@
 package com.shop.buy.service.impl;
 
+import com.shop.buy.cache.ReferenceDataCache;
 import com.shop.buy.dto.CategoryDTO;
 import com.shop.buy.model.Category;
 import com.shop.buy.repository.CategoryRepository;
+import com.shop.buy.repository.projection.CategoryNode;
 import com.shop.buy.service.CategoryService;
+import com.shop.buy.util.TransactionHooks;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,59 +21,115 @@ import org.springframework.transaction.annotation.Transactional;
 public class CategoryServiceImpl implements CategoryService {
 
   private final CategoryRepository categoryRepository;
+  private final ReferenceDataCache referenceDataCache;
 
   @Autowired
-  public CategoryServiceImpl(CategoryRepository categoryRepository) {
+  public CategoryServiceImpl(
+      CategoryRepository categoryRepository, ReferenceDataCache referenceDataCache) {
     this.categoryRepository = categoryRepository;
+    this.referenceDataCache = referenceDataCache;
   }
 
   @Override
   public List<CategoryDTO> getAllCategories() {
-    return categoryRepository.findAllCategories().stream()
+    return referenceDataCache.categories().stream()
         .map(this::convertToDTO)
         .collect(Collectors.toList());
   }
 
   @Override
   public CategoryDTO getCategoryById(Long id) {
-    Category category =
-        categoryRepository
-            .findCategoryById(id)
-            .orElseThrow(
-                () -> new EntityNotFoundException("Categoria não encontrada com id: " + id));
-    return convertToDTO(category);
+    return convertToDTO(referenceDataCache.snapshot().requireCategory(id));
+  }
+
+  @Override
+  public List<CategoryDTO> getCategoryDescendants(Long id) {
+    ReferenceDataCache.Snapshot referenceData = referenceDataCache.snapshot();
+    return referenceData.descendantsOf(referenceData.requireCategory(id)).stream()
+        .map(this::convertToDTO)
+        .collect(Collectors.toList());
   }
 
   @Override
   @Transactional
   public CategoryDTO createCategory(CategoryDTO categoryDTO) {
+    if (categoryDTO.getParentId() != null
+        && referenceDataCache.snapshot().category(categoryDTO.getParentId()).isEmpty()) {
+      throw new EntityNotFoundException(
+          "Categoria pai não encontrada com id: " + categoryDTO.getParentId());
+    }
     Category category = convertToEntity(categoryDTO);
     Category savedCategory = categoryRepository.saveCategory(category);
+    TransactionHooks.afterCommit(() -> referenceDataCache.putCategory(savedCategory));
     return convertToDTO(savedCategory);
   }
 
   @Override
   @Transactional
   public CategoryDTO updateCategory(Long id, CategoryDTO categoryDTO) {
-
-    categoryRepository
-        .findCategoryById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com id: " + id));
+    Long parentId = categoryDTO.getParentId();
+    Map<Long, CategoryNode> locked =
+        categoryRepository
+            .lockCategories(parentId == null ? List.of(id) : List.of(id, parentId))
+            .stream()
+            .collect(Collectors.toMap(CategoryNode::getId, Function.identity()));
+    CategoryNode current = locked.get(id);
+    if (current == null) {
+      throw new EntityNotFoundException("Categoria não encontrada com id: " + id);
+    }
+    boolean moved = !Objects.equals(current.getParentId(), parentId);
+    if (moved) {
+      // a subárvore inteira muda de prefixo com um único UPDATE, sem percorrer níveis
+      categoryRepository.moveSubtree(
+          current.getPath(), pathUnder(current, parentId, locked.get(parentId)));
+    }
 
     Category category = convertToEntity(categoryDTO);
-    Category updatedCategory = categoryRepository.updateCategory(id, category);
+    Category updatedCategory =
+        categoryRepository
+            .updateCategory(id, category)
+            .orElseThrow(
+                () -> new EntityNotFoundException("Categoria não encontrada com id: " + id));
+    TransactionHooks.afterCommit(
+        () -> {
+          if (moved) {
+            referenceDataCache.rebuild();
+          } else {
+            referenceDataCache.putCategory(updatedCategory);
+          }
+        });
     return convertToDTO(updatedCategory);
   }
 
   @Override
   @Transactional
   public void deleteCategory(Long id) {
+    if (categoryRepository.hasChildren(id)) {
+      throw new IllegalArgumentException(
+          "Não é possível excluir a categoria, pois ela possui subcategorias");
+    }
+    if (categoryRepository.deleteCategory(id) == 0) {
+      throw new EntityNotFoundException("Categoria não encontrada com id: " + id);
+    }
+    TransactionHooks.afterCommit(() -> referenceDataCache.removeCategory(id));
+  }
 
-    categoryRepository
-        .findCategoryById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com id: " + id));
-
-    categoryRepository.deleteCategory(id);
+  /**
+   * Caminho da categoria sob o novo pai. Recusa mover uma categoria para a própria subárvore; como
+   * as duas linhas estão travadas, os caminhos comparados são os confirmados no banco.
+   */
+  private static String pathUnder(CategoryNode category, Long parentId, CategoryNode parent) {
+    if (parentId == null) {
+      return "/" + category.getId() + "/";
+    }
+    if (parent == null) {
+      throw new EntityNotFoundException("Categoria pai não encontrada com id: " + parentId);
+    }
+    if (parent.getPath().startsWith(category.getPath())) {
+      throw new IllegalArgumentException(
+          "Uma categoria não pode ser movida para dentro de si mesma ou de uma subcategoria");
+    }
+    return parent.getPath() + category.getId() + "/";
   }
 
   private CategoryDTO convertToDTO(Category category) {
@@ -75,6 +137,8 @@ public class CategoryServiceImpl implements CategoryService {
     dto.setId(category.getId());
     dto.setName(category.getName());
     dto.setDescription(category.getDescription());
+    dto.setParentId(category.getParentId());
+    dto.setPath(category.getPath());
     return dto;
   }
 
@@ -83,6 +147,7 @@ public class CategoryServiceImpl implements CategoryService {
     category.setId(dto.getId());
     category.setName(dto.getName());
     category.setDescription(dto.getDescription());
+    category.setParentId(dto.getParentId());
     return category;
   }
 }
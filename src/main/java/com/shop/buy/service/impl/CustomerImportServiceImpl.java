@@ -0,0 +1,167 @@
+package com.shop.buy.service.impl;
+
+import com.shop.buy.dto.ImportResultDTO;
+import com.shop.buy.dto.ImportRowErrorDTO;
+import com.shop.buy.model.Customer;
+import com.shop.buy.repository.CustomerImportRepository;
+import com.shop.buy.service.CustomerImportService;
+import com.shop.buy.util.CsvReader;
+import com.shop.buy.util.DocumentNumbers;
+import com.shop.buy.util.LongIntHashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Importação de clientes por CSV com cabeçalho e as colunas name, cpf, phone e email (em qualquer
+ * ordem). O arquivo é lido registro a registro: o CPF é reduzido aos dígitos, validado e gravado
+ * no formato do cadastro; CPFs repetidos no arquivo são detectados por um mapa de CPF para linha e
+ * as linhas válidas são gravadas em lotes por CPF.
+ */
+@Service
+public class CustomerImportServiceImpl implements CustomerImportService {
+
+  private static final int BATCH_SIZE = 1000;
+  private static final int MAX_REPORTED_ERRORS = 1000;
+  private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+  private final CustomerImportRepository importRepository;
+
+  @Autowired
+  public CustomerImportServiceImpl(CustomerImportRepository importRepository) {
+    this.importRepository = importRepository;
+  }
+
+  @Override
+  @Transactional
+  public ImportResultDTO importCustomers(InputStream csv) {
+    ImportResultDTO result = new ImportResultDTO(0, 0, 0, 0, new ArrayList<>());
+    try (CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+      Columns columns = Columns.of(reader.next());
+      LongIntHashMap seenCpfs = new LongIntHashMap();
+      List<Customer> batch = new ArrayList<>(BATCH_SIZE);
+
+      List<String> record;
+      while ((record = reader.next()) != null) {
+        if (record.stream().allMatch(String::isBlank)) {
+          continue;
+        }
+        result.setTotalRows(result.getTotalRows() + 1);
+        long line = reader.recordLine();
+        String error = validate(columns, record);
+        Customer customer = null;
+        if (error == null) {
+          customer = toCustomer(columns, record);
+          long cpfKey = Long.parseLong(DocumentNumbers.digits(customer.getCpf()));
+          int firstLine = seenCpfs.get(cpfKey);
+          if (firstLine != 0) {
+            error = "CPF repetido no arquivo (vale a linha " + firstLine + ")";
+          } else {
+            seenCpfs.add(cpfKey, Math.toIntExact(line));
+          }
+        }
+        if (error != null) {
+          reject(result, line, error);
+          continue;
+        }
+
+        batch.add(customer);
+        if (batch.size() == BATCH_SIZE) {
+          flush(result, batch);
+        }
+      }
+      flush(result, batch);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Arquivo CSV inválido: " + e.getMessage(), e);
+    }
+    return result;
+  }
+
+  private void flush(ImportResultDTO result, List<Customer> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    long[] written = importRepository.upsertBatch(batch);
+    result.setInserted(result.getInserted() + written[0]);
+    result.setUpdated(result.getUpdated() + written[1]);
+    batch.clear();
+  }
+
+  private static void reject(ImportResultDTO result, long line, String message) {
+    result.setRejected(result.getRejected() + 1);
+    if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+      result.getErrors().add(new ImportRowErrorDTO(line, message));
+    }
+  }
+
+  private static String validate(Columns columns, List<String> record) {
+    String name = columns.value(record, columns.name());
+    String cpf = columns.value(record, columns.cpf());
+    String email = columns.value(record, columns.email());
+    if (name == null) {
+      return "Nome do cliente é obrigatório";
+    }
+    if (cpf == null) {
+      return "CPF do cliente é obrigatório";
+    }
+    if (!DocumentNumbers.isValidCpf(DocumentNumbers.digits(cpf))) {
+      return "CPF inválido: " + cpf;
+    }
+    if (email != null && !EMAIL.matcher(email).matches()) {
+      return "Email inválido: " + email;
+    }
+    return null;
+  }
+
+  private static Customer toCustomer(Columns columns, List<String> record) {
+    Customer customer = new Customer();
+    customer.setName(columns.value(record, columns.name()));
+    customer.setCpf(
+        DocumentNumbers.formatCpf(DocumentNumbers.digits(columns.value(record, columns.cpf()))));
+    customer.setPhone(columns.value(record, columns.phone()));
+    customer.setEmail(columns.value(record, columns.email()));
+    return customer;
+  }
+
+  /** Posição de cada coluna no arquivo; -1 quando a coluna opcional não existe. */
+  private record Columns(int name, int cpf, int phone, int email) {
+
+    static Columns of(List<String> header) {
+      if (header == null) {
+        throw new IllegalArgumentException("Arquivo CSV vazio");
+      }
+      List<String> names =
+          header.stream()
+              .map(column -> column.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT))
+              .toList();
+      Columns columns =
+          new Columns(
+              names.indexOf("name"),
+              names.indexOf("cpf"),
+              names.indexOf("phone"),
+              names.indexOf("email"));
+      if (columns.name() < 0 || columns.cpf() < 0) {
+        throw new IllegalArgumentException(
+            "O cabeçalho do CSV deve conter as colunas name e cpf (phone e email são opcionais)");
+      }
+      return columns;
+    }
+
+    /** Valor sem espaços nas pontas; {@code null} quando vazio ou ausente. */
+    String value(List<String> record, int index) {
+      if (index < 0 || index >= record.size()) {
+        return null;
+      }
+      String value = record.get(index).trim();
+      return value.isEmpty() ? null : value;
+    }
+  }
+}
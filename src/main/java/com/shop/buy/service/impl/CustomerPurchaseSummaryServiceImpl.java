@@ -0,0 +1,83 @@
+package com.shop.buy.service.impl;
+
+import com.shop.buy.dto.CustomerPurchaseSummaryDTO;
+import com.shop.buy.model.CustomerPurchaseSummary;
+import com.shop.buy.repository.CustomerPurchaseSummaryRepository;
+import com.shop.buy.repository.projection.SaleSummaryView;
+import com.shop.buy.service.CustomerPurchaseSummaryService;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class CustomerPurchaseSummaryServiceImpl implements CustomerPurchaseSummaryService {
+
+  private final CustomerPurchaseSummaryRepository summaryRepository;
+
+  @Autowired
+  public CustomerPurchaseSummaryServiceImpl(CustomerPurchaseSummaryRepository summaryRepository) {
+    this.summaryRepository = summaryRepository;
+  }
+
+  @Override
+  public CustomerPurchaseSummaryDTO getSummary(Long customerId) {
+    return summaryRepository
+        .findSummaryByCustomerId(customerId)
+        .map(this::convertToDTO)
+        .orElseGet(
+            () ->
+                new CustomerPurchaseSummaryDTO(
+                    customerId, BigDecimal.ZERO, 0L, BigDecimal.ZERO, null));
+  }
+
+  @Override
+  @Transactional
+  public void applySaleChange(SaleSummaryView before, SaleSummaryView after) {
+    if (before != null && after != null && before.getCustomerId().equals(after.getCustomerId())) {
+      BigDecimal spent = totalOf(after).subtract(totalOf(before));
+      if (spent.signum() != 0 || after.getSaleDate().isAfter(before.getSaleDate())) {
+        summaryRepository.applyDelta(after.getCustomerId(), spent, 0, after.getSaleDate());
+      }
+      if (after.getSaleDate().isBefore(before.getSaleDate())) {
+        summaryRepository.refreshLastPurchase(before.getCustomerId(), before.getSaleDate());
+      }
+      return;
+    }
+    if (before != null) {
+      summaryRepository.applyDelta(before.getCustomerId(), totalOf(before).negate(), -1, null);
+      summaryRepository.refreshLastPurchase(before.getCustomerId(), before.getSaleDate());
+    }
+    if (after != null) {
+      summaryRepository.applyDelta(after.getCustomerId(), totalOf(after), 1, after.getSaleDate());
+    }
+  }
+
+  /** Mesmo cálculo do total da venda: itens menos desconto, sem ficar negativo. */
+  private static BigDecimal totalOf(SaleSummaryView sale) {
+    if (sale.getItemCount() == 0) {
+      return BigDecimal.ZERO;
+    }
+    BigDecimal total = sale.getSubtotal();
+    if (sale.getDiscount() != null) {
+      total = total.subtract(sale.getDiscount()).max(BigDecimal.ZERO);
+    }
+    return total;
+  }
+
+  private CustomerPurchaseSummaryDTO convertToDTO(CustomerPurchaseSummary summary) {
+    CustomerPurchaseSummaryDTO dto = new CustomerPurchaseSummaryDTO();
+    dto.setCustomerId(summary.getCustomerId());
+    dto.setTotalSpent(summary.getTotalSpent());
+    dto.setOrderCount(summary.getOrderCount());
+    dto.setAverageBasket(
+        summary.getOrderCount() > 0
+            ? summary
+                .getTotalSpent()
+                .divide(BigDecimal.valueOf(summary.getOrderCount()), 2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO);
+    dto.setLastPurchaseAt(summary.getLastPurchaseAt());
+    return dto;
+  }
+}
@@ -0,0 +1,314 @@
+package com.shop.buy.service.impl;
+
+import com.shop.buy.dto.CustomerSegmentDTO;
+import com.shop.buy.dto.CustomerSegmentRebuildStatusDTO;
+import com.shop.buy.dto.PageResponse;
+import com.shop.buy.model.CustomerSegment;
+import com.shop.buy.model.RfmSegment;
+import com.shop.buy.repository.CustomerRfmBatchRepository;
+import com.shop.buy.repository.CustomerSegmentRepository;
+import com.shop.buy.service.CustomerSegmentService;
+import com.shop.buy.util.CustomerRfmMap;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Segmentação RFM em lote. As vendas são lidas uma única vez, divididas em faixas de ID que são
+ * agregadas em paralelo, cada uma em um {@link CustomerRfmMap} próprio; os mapas são somados e as
+ * pontuações de 1 a 5 saem dos quintis de cada medida. A memória usada é proporcional à quantidade
+ * de clientes, não à de vendas.
+ *
+ * <p>O recálculo roda em uma thread própria, um de cada vez; quem o solicita recebe apenas a
+ * situação, que pode ser consultada até o fim.
+ */
+@Slf4j
+@Service
+public class CustomerSegmentServiceImpl implements CustomerSegmentService {
+
+  private static final int MAX_PAGE_SIZE = 100;
+  private static final int WRITE_BATCH_SIZE = 1000;
+  private static final int SCORES = 5;
+
+  private final CustomerSegmentRepository segmentRepository;
+  private final CustomerRfmBatchRepository batchRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int parallelism;
+  private final ExecutorService rebuildExecutor =
+      Executors.newSingleThreadExecutor(
+          task -> {
+            Thread thread = new Thread(task, "customer-segment-rebuild");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private final AtomicReference<RebuildState> rebuild =
+      new AtomicReference<>(new RebuildState("IDLE", null, null, null, null));
+
+  private record RebuildState(
+      String status,
+      LocalDateTime startedAt,
+      LocalDateTime finishedAt,
+      Integer customers,
+      String error) {
+
+    boolean running() {
+      return "RUNNING".equals(status);
+    }
+  }
+
+  @Autowired
+  public CustomerSegmentServiceImpl(
+      CustomerSegmentRepository segmentRepository,
+      CustomerRfmBatchRepository batchRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${shop.analytics.customer-segments.parallelism:4}") int parallelism) {
+    this.segmentRepository = segmentRepository;
+    this.batchRepository = batchRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  @Override
+  public PageResponse<CustomerSegmentDTO> getSegments(String segment, int page, int size) {
+    int pageNumber = Math.max(page, 0);
+    int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    Pageable pageable = PageRequest.of(pageNumber, pageSize);
+
+    Page<CustomerSegment> segments =
+        segment == null || segment.isBlank()
+            ? segmentRepository.findAllSegments(pageable)
+            : segmentRepository.findSegmentsBySegment(parseSegment(segment).name(), pageable);
+    return new PageResponse<>(
+        segments.getContent().stream().map(this::convertToDTO).collect(Collectors.toList()),
+        pageNumber,
+        pageSize,
+        segments.getTotalElements());
+  }
+
+  @Override
+  @Scheduled(cron = "${shop.analytics.customer-segments.rebuild-cron:0 0 4 * * *}")
+  public CustomerSegmentRebuildStatusDTO startRebuild() {
+    RebuildState current = rebuild.get();
+    if (current.running()) {
+      return convertToDTO(current);
+    }
+    RebuildState started = new RebuildState("RUNNING", LocalDateTime.now(), null, null, null);
+    if (!rebuild.compareAndSet(current, started)) {
+      return convertToDTO(rebuild.get());
+    }
+    rebuildExecutor.execute(() -> runRebuild(started));
+    return convertToDTO(started);
+  }
+
+  @Override
+  public CustomerSegmentRebuildStatusDTO getRebuildStatus() {
+    return convertToDTO(rebuild.get());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    rebuildExecutor.shutdownNow();
+  }
+
+  private void runRebuild(RebuildState started) {
+    RebuildState finished;
+    try {
+      int customers = rebuildSegments();
+      finished =
+          new RebuildState(
+              "COMPLETED", started.startedAt(), LocalDateTime.now(), customers, null);
+    } catch (RuntimeException e) {
+      log.error("Falha ao recalcular a segmentação de clientes", e);
+      finished =
+          new RebuildState(
+              "FAILED", started.startedAt(), LocalDateTime.now(), null, e.getMessage());
+    }
+    rebuild.set(finished);
+  }
+
+  /** Recalcula a segmentação RFM de todos os clientes. Retorna a quantidade de clientes. */
+  private int rebuildSegments() {
+    CustomerRfmMap totals = aggregateSales();
+    LocalDateTime computedAt = LocalDateTime.now();
+    int today = (int) computedAt.toLocalDate().toEpochDay();
+
+    int[] lastDays = new int[totals.size()];
+    int[] orders = new int[totals.size()];
+    long[] spent = new long[totals.size()];
+    int[] next = {0};
+    totals.forEach(
+        (customerId, lastEpochDay, orderCount, spentCents) -> {
+          int i = next[0]++;
+          lastDays[i] = lastEpochDay;
+          orders[i] = orderCount;
+          spent[i] = spentCents;
+        });
+    Arrays.sort(lastDays);
+    Arrays.sort(orders);
+    Arrays.sort(spent);
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          batchRepository.deleteSegments();
+          List<Object[]> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+          totals.forEach(
+              (customerId, lastEpochDay, orderCount, spentCents) -> {
+                int recency = score(lowerBound(lastDays, lastEpochDay), lastDays.length);
+                int frequency = score(lowerBound(orders, orderCount), orders.length);
+                int monetary = score(lowerBound(spent, spentCents), spent.length);
+                batch.add(
+                    new Object[] {
+                      customerId,
+                      today - lastEpochDay,
+                      orderCount,
+                      BigDecimal.valueOf(spentCents, 2),
+                      recency,
+                      frequency,
+                      monetary,
+                      RfmSegment.of(recency, frequency, monetary).name()
+                    });
+                if (batch.size() == WRITE_BATCH_SIZE) {
+                  batchRepository.insertSegments(batch, computedAt);
+                  batch.clear();
+                }
+              });
+          if (!batch.isEmpty()) {
+            batchRepository.insertSegments(batch, computedAt);
+          }
+        });
+    return totals.size();
+  }
+
+  /** Lê as faixas de vendas em paralelo, uma conexão por faixa, e soma os resultados. */
+  private CustomerRfmMap aggregateSales() {
+    long[] range = batchRepository.findSaleIdRange();
+    if (range == null) {
+      return new CustomerRfmMap();
+    }
+    int partitions = (int) Math.min(parallelism, range[1] - range[0] + 1);
+    long span = (range[1] - range[0]) / partitions + 1;
+
+    ExecutorService executor = Executors.newFixedThreadPool(partitions);
+    try {
+      List<Future<CustomerRfmMap>> parts = new ArrayList<>();
+      for (int p = 0; p < partitions; p++) {
+        long fromId = range[0] + p * span;
+        long toId = Math.min(fromId + span, range[1] + 1);
+        parts.add(
+            executor.submit(
+                () -> {
+                  CustomerRfmMap part = new CustomerRfmMap();
+                  batchRepository.streamSaleTotals(fromId, toId, part::record);
+                  return part;
+                }));
+      }
+
+      CustomerRfmMap merged = new CustomerRfmMap();
+      for (Future<CustomerRfmMap> part : parts) {
+        CustomerRfmMap totals = part.get();
+        if (totals.size() > merged.size()) {
+          totals.addAll(merged);
+          merged = totals;
+        } else {
+          merged.addAll(totals);
+        }
+      }
+      return merged;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Segmentação de clientes interrompida", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Falha ao agregar as vendas", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Quintil da posição: valores iguais recebem a mesma pontuação. */
+  private static int score(int rank, int total) {
+    return 1 + (int) ((long) rank * SCORES / total);
+  }
+
+  private static int lowerBound(int[] sorted, int value) {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sorted[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static int lowerBound(long[] sorted, long value) {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sorted[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static RfmSegment parseSegment(String segment) {
+    try {
+      return RfmSegment.valueOf(segment.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          "Segmento inválido: "
+              + segment
+              + ". Valores válidos: "
+              + Arrays.stream(RfmSegment.values())
+                  .map(RfmSegment::name)
+                  .collect(Collectors.joining(", ")));
+    }
+  }
+
+  private static CustomerSegmentRebuildStatusDTO convertToDTO(RebuildState state) {
+    return new CustomerSegmentRebuildStatusDTO(
+        state.status(), state.startedAt(), state.finishedAt(), state.customers(), state.error());
+  }
+
+  private CustomerSegmentDTO convertToDTO(CustomerSegment segment) {
+    CustomerSegmentDTO dto = new CustomerSegmentDTO();
+    dto.setCustomerId(segment.getCustomerId());
+    dto.setRecencyDays(segment.getRecencyDays());
+    dto.setFrequency(segment.getFrequency());
+    dto.setMonetary(segment.getMonetary());
+    dto.setRecencyScore(segment.getRecencyScore());
+    dto.setFrequencyScore(segment.getFrequencyScore());
+    dto.setMonetaryScore(segment.getMonetaryScore());
+    dto.setSegment(segment.getSegment().name());
+    dto.setComputedAt(segment.getComputedAt());
+    return dto;
+  }
+}
@@ -1,9 +1,13 @@
 package com.shop.buy.service.impl;
 
 import com.shop.buy.dto.CustomerDTO;
+import com.shop.buy.dto.PageResponse;
+import com.shop.buy.exception.DuplicateResourceException;
 import com.shop.buy.model.Customer;
 import com.shop.buy.repository.CustomerRepository;
 import com.shop.buy.service.CustomerService;
+import com.shop.buy.util.DocumentNumbers;
+import com.shop.buy.util.TextSearch;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -37,6 +41,36 @@ public class CustomerServiceImpl implements CustomerService {
     return convertToDTO(customer);
   }
 
+  @Override
+  public CustomerDTO getCustomerByCpf(String cpf) {
+    List<Customer> customers =
+        customerRepository.findCustomersByCpfDigits(DocumentNumbers.cpfDigits(cpf));
+    if (customers.isEmpty()) {
+      throw new EntityNotFoundException("Cliente não encontrado com CPF: " + cpf);
+    }
+    if (customers.size() > 1) {
+      throw new DuplicateResourceException(
+          "Mais de um cliente cadastrado com o CPF " + cpf + "; corrija o cadastro duplicado");
+    }
+    return convertToDTO(customers.get(0));
+  }
+
+  @Override
+  public PageResponse<CustomerDTO> searchCustomers(
+      String query, boolean includeContacts, int page, int size) {
+    TextSearch.Query<Customer> search =
+        includeContacts
+            ? customerRepository::searchCustomersByNameOrContact
+            : customerRepository::searchCustomersByName;
+    return TextSearch.page(
+        query,
+        "Informe o nome ou parte do nome do cliente",
+        page,
+        size,
+        search,
+        this::convertToDTO);
+  }
+
   @Override
   @Transactional
   public CustomerDTO createCustomer(CustomerDTO customerDTO) {
@@ -48,25 +82,20 @@ public class CustomerServiceImpl implements CustomerService {
   @Override
   @Transactional
   public CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO) {
-
-    customerRepository
-        .findCustomerById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com id: " + id));
-
     Customer customer = convertToEntity(customerDTO);
-    Customer updatedCustomer = customerRepository.updateCustomer(id, customer);
+    Customer updatedCustomer =
+        customerRepository
+            .updateCustomer(id, customer)
+            .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com id: " + id));
     return convertToDTO(updatedCustomer);
   }
 
   @Override
   @Transactional
   public void deleteCustomer(Long id) {
-
-    customerRepository
-        .findCustomerById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com id: " + id));
-
-    customerRepository.deleteCustomer(id);
+    if (customerRepository.deleteCustomer(id) == 0) {
+      throw new EntityNotFoundException("Cliente não encontrado com id: " + id);
+    }
   }
 
   private CustomerDTO convertToDTO(Customer customer) {
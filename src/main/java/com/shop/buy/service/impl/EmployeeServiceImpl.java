@@ -49,25 +49,21 @@ public class EmployeeServiceImpl implements EmployeeService {
   @Override
   @Transactional
   public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO) {
-
-    employeeRepository
-        .findEmployeeById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Funcionário não encontrado com id: " + id));
-
     Employee employee = convertToEntity(employeeDTO);
-    Employee updatedEmployee = employeeRepository.updateEmployee(id, employee);
+    Employee updatedEmployee =
+        employeeRepository
+            .updateEmployee(id, employee)
+            .orElseThrow(
+                () -> new EntityNotFoundException("Funcionário não encontrado com id: " + id));
     return convertToDTO(updatedEmployee);
   }
 
   @Override
   @Transactional
   public void deleteEmployee(Long id) {
-
-    employeeRepository
-        .findEmployeeById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Funcionário não encontrado com id: " + id));
-
-    employeeRepository.deleteEmployee(id);
+    if (employeeRepository.deleteEmployee(id) == 0) {
+      throw new EntityNotFoundException("Funcionário não encontrado com id: " + id);
+    }
   }
 
   private EmployeeDTO convertToDTO(Employee employee) {
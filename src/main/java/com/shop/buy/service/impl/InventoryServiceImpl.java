@@ -0,0 +1,171 @@
+package com.shop.buy.service.impl;
+
+import com.shop.buy.dto.FlashSaleStatusDTO;
+import com.shop.buy.dto.InventoryDTO;
+import com.shop.buy.exception.InsufficientStockException;
+import com.shop.buy.inventory.FlashSaleQuotaManager;
+import com.shop.buy.inventory.LowStockTracker;
+import com.shop.buy.model.Inventory;
+import com.shop.buy.model.Product;
+import com.shop.buy.repository.InventoryRepository;
+import com.shop.buy.repository.ReferenceResolver;
+import com.shop.buy.repository.projection.InventoryLevel;
+import com.shop.buy.service.InventoryService;
+import com.shop.buy.util.TransactionHooks;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class InventoryServiceImpl implements InventoryService {
+
+  private final InventoryRepository inventoryRepository;
+  private final ReferenceResolver referenceResolver;
+  private final FlashSaleQuotaManager flashSaleQuotaManager;
+  private final LowStockTracker lowStockTracker;
+
+  @Autowired
+  public InventoryServiceImpl(
+      InventoryRepository inventoryRepository,
+      ReferenceResolver referenceResolver,
+      FlashSaleQuotaManager flashSaleQuotaManager,
+      LowStockTracker lowStockTracker) {
+    this.inventoryRepository = inventoryRepository;
+    this.referenceResolver = referenceResolver;
+    this.flashSaleQuotaManager = flashSaleQuotaManager;
+    this.lowStockTracker = lowStockTracker;
+  }
+
+  @Override
+  public List<InventoryDTO> getAllInventory() {
+    return inventoryRepository.findAllInventory().stream()
+        .map(this::convertToDTO)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public InventoryDTO getInventoryByProductId(Long productId) {
+    return inventoryRepository
+        .findInventoryByProductId(productId)
+        .map(this::convertToDTO)
+        .orElseThrow(
+            () ->
+                new EntityNotFoundException(
+                    "Estoque não encontrado para o produto com id: " + productId));
+  }
+
+  @Override
+  @Transactional
+  public InventoryDTO setStock(Long productId, InventoryDTO inventoryDTO) {
+    referenceResolver
+        .check()
+        .require(Product.class, productId, "Produto não encontrado com id: " + productId)
+        .verify();
+    Inventory inventory =
+        inventoryRepository.upsertStock(
+            productId, inventoryDTO.getQuantity(), inventoryDTO.getReorderPoint());
+    track(inventory);
+    return convertToDTO(inventory);
+  }
+
+  @Override
+  @Transactional
+  public InventoryDTO adjustStock(Long productId, int delta) {
+    Optional<Inventory> adjusted = inventoryRepository.adjustStock(productId, delta);
+    if (adjusted.isPresent()) {
+      track(adjusted.get());
+      return convertToDTO(adjusted.get());
+    }
+    int available =
+        inventoryRepository
+            .findQuantityByProductId(productId)
+            .orElseThrow(
+                () ->
+                    new EntityNotFoundException(
+                        "Estoque não encontrado para o produto com id: " + productId));
+    throw new InsufficientStockException(productId, available, -delta);
+  }
+
+  /**
+   * As baixas são feitas por UPDATE condicional, então nenhuma linha é lida antes de ser travada.
+   * Percorrer os produtos em ordem de ID faz com que vendas concorrentes travem as mesmas linhas na
+   * mesma ordem, evitando deadlocks em cestas com vários itens. Produtos em promoção são atendidos
+   * pela cota em memória, sem acessar o banco. O saldo retornado por cada UPDATE alimenta o {@link
+   * LowStockTracker}, então o estoque baixo é detectado sem consultas extras.
+   */
+  @Override
+  @Transactional
+  public void applyStockMovements(Map<Long, Integer> movements) {
+    new TreeMap<>(movements)
+        .forEach(
+            (productId, quantity) -> {
+              if (quantity > 0 && !flashSaleQuotaManager.tryWithdraw(productId, quantity)) {
+                withdraw(productId, quantity);
+              } else if (quantity < 0 && !flashSaleQuotaManager.tryRestore(productId, -quantity)) {
+                inventoryRepository.restoreStock(productId, -quantity).ifPresent(this::track);
+              }
+            });
+  }
+
+  @Override
+  public List<FlashSaleStatusDTO> getFlashSales() {
+    return flashSaleQuotaManager.getStatuses();
+  }
+
+  @Override
+  public FlashSaleStatusDTO openFlashSale(Long productId, int quantity) {
+    return flashSaleQuotaManager.open(productId, quantity);
+  }
+
+  @Override
+  public FlashSaleStatusDTO closeFlashSale(Long productId) {
+    return flashSaleQuotaManager.close(productId);
+  }
+
+  private void withdraw(Long productId, int quantity) {
+    Optional<InventoryLevel> level = inventoryRepository.decrementStock(productId, quantity);
+    if (level.isPresent()) {
+      track(level.get());
+      return;
+    }
+    Optional<Integer> available = inventoryRepository.findQuantityByProductId(productId);
+    if (available.isPresent()) {
+      throw new InsufficientStockException(productId, available.get(), quantity);
+    }
+  }
+
+  private void track(InventoryLevel level) {
+    TransactionHooks.afterCommit(
+        () ->
+            lowStockTracker.update(
+                level.getProductId(),
+                level.getQuantity(),
+                level.getReorderPoint(),
+                level.getVersion()));
+  }
+
+  private void track(Inventory inventory) {
+    TransactionHooks.afterCommit(
+        () ->
+            lowStockTracker.update(
+                inventory.getProductId(),
+                inventory.getQuantity(),
+                inventory.getReorderPoint(),
+                inventory.getVersion()));
+  }
+
+  private InventoryDTO convertToDTO(Inventory inventory) {
+    return new InventoryDTO(
+        inventory.getProductId(),
+        inventory.getQuantity(),
+        inventory.getReorderPoint(),
+        inventory.getAllocated(),
+        inventory.getUpdatedAt());
+  }
+}
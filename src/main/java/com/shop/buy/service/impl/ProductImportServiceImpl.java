@@ -0,0 +1,53 @@
+package com.shop.buy.service.impl;
+
+import com.shop.buy.cache.ProductNameIndex;
+import com.shop.buy.dto.ImportResultDTO;
+import com.shop.buy.repository.ProductCatalogImportRepository;
+import com.shop.buy.service.ProductImportService;
+import com.shop.buy.util.TransactionHooks;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+  private static final int MAX_REPORTED_ERRORS = 1000;
+
+  private final ProductCatalogImportRepository importRepository;
+  private final ProductNameIndex productNameIndex;
+
+  @Autowired
+  public ProductImportServiceImpl(
+      ProductCatalogImportRepository importRepository, ProductNameIndex productNameIndex) {
+    this.importRepository = importRepository;
+    this.productNameIndex = productNameIndex;
+  }
+
+  @Override
+  @Transactional
+  public ImportResultDTO importProducts(InputStream csv) {
+    long totalRows;
+    try {
+      totalRows = importRepository.stage(new InputStreamReader(csv, StandardCharsets.UTF_8));
+    } catch (DataAccessException e) {
+      Throwable cause = e.getMostSpecificCause();
+      throw new IllegalArgumentException("Arquivo CSV inválido: " + cause.getMessage(), e);
+    }
+
+    long[] written = importRepository.upsertValidRows(LocalDateTime.now());
+    TransactionHooks.afterCommit(productNameIndex::rebuild);
+
+    return new ImportResultDTO(
+        totalRows,
+        written[0],
+        written[1],
+        importRepository.countRejectedRows(),
+        importRepository.findRowErrors(MAX_REPORTED_ERRORS));
+  }
+}
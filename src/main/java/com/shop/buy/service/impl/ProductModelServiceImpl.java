@@ -0,0 +1,264 @@
+package com.shop.buy.service.impl;
+
+import com.shop.buy.cache.ProductNameIndex;
+import com.shop.buy.cache.ReferenceDataCache;
+import com.shop.buy.dto.ProductModelDTO;
+import com.shop.buy.dto.ProductVariantDTO;
+import com.shop.buy.model.Brand;
+import com.shop.buy.model.Category;
+import com.shop.buy.model.Product;
+import com.shop.buy.model.ProductModel;
+import com.shop.buy.model.Supplier;
+import com.shop.buy.repository.ProductModelRepository;
+import com.shop.buy.repository.ProductPriceRepository;
+import com.shop.buy.repository.ProductRepository;
+import com.shop.buy.repository.ReferenceResolver;
+import com.shop.buy.repository.projection.ProductVariantView;
+import com.shop.buy.service.ProductModelService;
+import com.shop.buy.util.TransactionHooks;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ProductModelServiceImpl implements ProductModelService {
+
+  private final ProductModelRepository productModelRepository;
+  private final ProductRepository productRepository;
+  private final ProductPriceRepository productPriceRepository;
+  private final ReferenceResolver referenceResolver;
+  private final ReferenceDataCache referenceDataCache;
+  private final ProductNameIndex productNameIndex;
+
+  @Autowired
+  public ProductModelServiceImpl(
+      ProductModelRepository productModelRepository,
+      ProductRepository productRepository,
+      ProductPriceRepository productPriceRepository,
+      ReferenceResolver referenceResolver,
+      ReferenceDataCache referenceDataCache,
+      ProductNameIndex productNameIndex) {
+    this.productModelRepository = productModelRepository;
+    this.productRepository = productRepository;
+    this.productPriceRepository = productPriceRepository;
+    this.referenceResolver = referenceResolver;
+    this.referenceDataCache = referenceDataCache;
+    this.productNameIndex = productNameIndex;
+  }
+
+  @Override
+  public List<ProductModelDTO> getAllProductModels() {
+    List<ProductModel> models = productModelRepository.findAllProductModels();
+    Map<Long, List<ProductVariantView>> variants =
+        findVariants(models.stream().map(ProductModel::getId).collect(Collectors.toList()));
+    return models.stream()
+        .map(model -> convertToDTO(model, variants.getOrDefault(model.getId(), List.of())))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public ProductModelDTO getProductModelById(Long id) {
+    ProductModel model = findModel(id);
+    return convertToDTO(model, findVariants(List.of(id)).getOrDefault(id, List.of()));
+  }
+
+  @Override
+  @Transactional
+  public ProductModelDTO createProductModel(ProductModelDTO productModelDTO) {
+    ProductModel savedModel = productModelRepository.save(convertToEntity(productModelDTO, null));
+    createMissingVariants(savedModel, productModelDTO, List.of());
+    return getProductModelById(savedModel.getId());
+  }
+
+  @Override
+  @Transactional
+  public ProductModelDTO updateProductModel(Long id, ProductModelDTO productModelDTO) {
+    ProductModel model = convertToEntity(productModelDTO, id);
+    model.setId(id);
+    ProductModel savedModel = productModelRepository.save(model);
+    productRepository.updateModelVariants(
+        id,
+        productModelDTO.getName(),
+        productModelDTO.getCategoryId(),
+        productModelDTO.getBrandId(),
+        productModelDTO.getSupplierId());
+
+    List<ProductVariantView> existing = findVariants(List.of(id)).getOrDefault(id, List.of());
+    createMissingVariants(savedModel, productModelDTO, existing);
+    TransactionHooks.afterCommit(
+        () -> existing.forEach(variant -> productNameIndex.put(variant.getId(), model.getName())));
+    return getProductModelById(id);
+  }
+
+  @Override
+  @Transactional
+  public void deleteProductModel(Long id) {
+    findModel(id);
+    productRepository.detachModelVariants(id);
+    productModelRepository.deleteById(id);
+  }
+
+  /**
+   * Cria uma variação para cada combinação de tamanho e cor pedida que o modelo ainda não tem. Se
+   * só uma das listas for informada, as variações ficam sem o outro atributo.
+   */
+  private void createMissingVariants(
+      ProductModel model, ProductModelDTO dto, List<ProductVariantView> existing) {
+    List<String> sizes = dictionaryOf(dto.getSizes());
+    List<String> colors = dictionaryOf(dto.getColors());
+    if (sizes.isEmpty() && colors.isEmpty()) {
+      return;
+    }
+    if (sizes.isEmpty()) {
+      sizes.add(null);
+    }
+    if (colors.isEmpty()) {
+      colors.add(null);
+    }
+
+    Set<List<String>> present = new HashSet<>();
+    for (ProductVariantView variant : existing) {
+      present.add(Arrays.asList(variant.getSize(), variant.getColor()));
+    }
+
+    List<Product> created = new ArrayList<>();
+    for (String size : sizes) {
+      for (String color : colors) {
+        if (present.add(Arrays.asList(size, color))) {
+          created.add(newVariant(model, dto, size, color));
+        }
+      }
+    }
+    if (created.isEmpty()) {
+      return;
+    }
+    if (dto.getPrice() == null) {
+      throw new IllegalArgumentException("Informe o preço para criar as novas variações do modelo");
+    }
+
+    List<Product> saved = productRepository.saveAll(created);
+    productPriceRepository.recordInitialPrices(
+        saved.stream().map(Product::getId).collect(Collectors.toList()), LocalDateTime.now());
+    TransactionHooks.afterCommit(
+        () -> saved.forEach(product -> productNameIndex.put(product.getId(), product.getName())));
+  }
+
+  private Product newVariant(ProductModel model, ProductModelDTO dto, String size, String color) {
+    Product product = new Product();
+    product.setName(model.getName());
+    product.setSize(size);
+    product.setColor(color);
+    product.setPrice(dto.getPrice());
+    product.setCategory(model.getCategory());
+    product.setBrand(model.getBrand());
+    product.setSupplier(model.getSupplier());
+    product.setModelId(model.getId());
+    if (dto.getSkuPrefix() != null && !dto.getSkuPrefix().isBlank()) {
+      product.setSku(
+          Arrays.asList(dto.getSkuPrefix().trim(), size, color).stream()
+              .filter(Objects::nonNull)
+              .map(part -> part.replaceAll("\\s+", ""))
+              .collect(Collectors.joining("-")));
+    }
+    return product;
+  }
+
+  /** Valores distintos, não vazios e sem espaços nas pontas, na ordem em que foram informados. */
+  private static List<String> dictionaryOf(List<String> values) {
+    Set<String> distinct = new LinkedHashSet<>();
+    if (values != null) {
+      for (String value : values) {
+        if (value != null && !value.isBlank()) {
+          distinct.add(value.trim());
+        }
+      }
+    }
+    return new ArrayList<>(distinct);
+  }
+
+  private Map<Long, List<ProductVariantView>> findVariants(List<Long> modelIds) {
+    if (modelIds.isEmpty()) {
+      return Map.of();
+    }
+    return productRepository.findVariantsByModelIds(modelIds).stream()
+        .collect(Collectors.groupingBy(ProductVariantView::getModelId));
+  }
+
+  private ProductModel findModel(Long id) {
+    return productModelRepository
+        .findProductModelById(id)
+        .orElseThrow(
+            () -> new EntityNotFoundException("Modelo de produto não encontrado com id: " + id));
+  }
+
+  private ProductModelDTO convertToDTO(ProductModel model, List<ProductVariantView> variants) {
+    ProductModelDTO dto = new ProductModelDTO();
+    dto.setId(model.getId());
+    dto.setName(model.getName());
+    dto.setCategoryId(model.getCategory().getId());
+    dto.setBrandId(model.getBrand().getId());
+    dto.setSupplierId(model.getSupplier().getId());
+
+    // tamanhos e cores aparecem uma vez no dicionário e as variações guardam só a posição
+    Map<String, Integer> sizes = new HashMap<>();
+    Map<String, Integer> colors = new HashMap<>();
+    for (ProductVariantView variant : variants) {
+      dto.getVariants()
+          .add(
+              new ProductVariantDTO(
+                  variant.getId(),
+                  variant.getSku(),
+                  encode(variant.getSize(), sizes, dto.getSizes()),
+                  encode(variant.getColor(), colors, dto.getColors()),
+                  variant.getPrice()));
+    }
+    return dto;
+  }
+
+  private static Integer encode(String value, Map<String, Integer> codes, List<String> dictionary) {
+    if (value == null) {
+      return null;
+    }
+    return codes.computeIfAbsent(
+        value,
+        key -> {
+          dictionary.add(key);
+          return dictionary.size() - 1;
+        });
+  }
+
+  private ProductModel convertToEntity(ProductModelDTO dto, Long existingModelId) {
+    ReferenceDataCache.Snapshot referenceData = referenceDataCache.snapshot();
+    referenceData.requireCategory(dto.getCategoryId());
+    referenceData.requireBrand(dto.getBrandId());
+    referenceData.requireSupplier(dto.getSupplierId());
+    if (existingModelId != null) {
+      referenceResolver
+          .check()
+          .require(
+              ProductModel.class,
+              existingModelId,
+              "Modelo de produto não encontrado com id: " + existingModelId)
+          .verify();
+    }
+
+    ProductModel model = new ProductModel();
+    model.setName(dto.getName());
+    model.setCategory(referenceResolver.reference(Category.class, dto.getCategoryId()));
+    model.setBrand(referenceResolver.reference(Brand.class, dto.getBrandId()));
+    model.setSupplier(referenceResolver.reference(Supplier.class, dto.getSupplierId()));
+    return model;
+  }
+}
@@ -1,40 +1,93 @@
 package com.shop.buy.service.impl;
 
+import com.shop.buy.cache.BestSellerTracker;
+import com.shop.buy.cache.ProductCoOccurrenceIndex;
+import com.shop.buy.cache.ProductNameIndex;
+import com.shop.buy.cache.ReferenceDataCache;
+import com.shop.buy.dto.BestSellerDTO;
+import com.shop.buy.dto.FacetValueDTO;
+import com.shop.buy.dto.LowStockProductDTO;
+import com.shop.buy.dto.ProductBrowseDTO;
+import com.shop.buy.dto.ProductBrowseFilter;
 import com.shop.buy.dto.ProductDTO;
+import com.shop.buy.dto.ProductPriceDTO;
+import com.shop.buy.dto.ProductRepriceDTO;
+import com.shop.buy.dto.ProductRepriceResultDTO;
+import com.shop.buy.dto.ProductSuggestionDTO;
+import com.shop.buy.dto.ProductSummaryDTO;
+import com.shop.buy.dto.RelatedProductDTO;
+import com.shop.buy.inventory.LowStockTracker;
 import com.shop.buy.model.Brand;
 import com.shop.buy.model.Category;
 import com.shop.buy.model.Product;
+import com.shop.buy.model.ProductModel;
+import com.shop.buy.model.ProductPrice;
 import com.shop.buy.model.Supplier;
-import com.shop.buy.repository.BrandRepository;
-import com.shop.buy.repository.CategoryRepository;
+import com.shop.buy.repository.InventoryRepository;
+import com.shop.buy.repository.ProductModelRepository;
+import com.shop.buy.repository.ProductPriceRepository;
 import com.shop.buy.repository.ProductRepository;
-import com.shop.buy.repository.SupplierRepository;
+import com.shop.buy.repository.ReferenceResolver;
+import com.shop.buy.repository.projection.ProductFacetCount;
 import com.shop.buy.service.ProductService;
+import com.shop.buy.util.TransactionHooks;
 import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ProductServiceImpl implements ProductService {
 
+  private static final int MAX_PAGE_SIZE = 100;
+  private static final int MAX_SUGGESTIONS = 50;
+  private static final int MAX_TOP_PRODUCTS = 100;
+  private static final int MAX_RELATED_PRODUCTS = 50;
+  private static final List<String> FACET_DIMENSIONS =
+      List.of("category", "brand", "supplier", "size", "color");
+
   private final ProductRepository productRepository;
-  private final CategoryRepository categoryRepository;
-  private final BrandRepository brandRepository;
-  private final SupplierRepository supplierRepository;
+  private final ProductModelRepository productModelRepository;
+  private final ReferenceResolver referenceResolver;
+  private final ReferenceDataCache referenceDataCache;
+  private final ProductPriceRepository productPriceRepository;
+  private final ProductNameIndex productNameIndex;
+  private final InventoryRepository inventoryRepository;
+  private final LowStockTracker lowStockTracker;
+  private final BestSellerTracker bestSellerTracker;
+  private final ProductCoOccurrenceIndex productCoOccurrenceIndex;
 
   @Autowired
   public ProductServiceImpl(
       ProductRepository productRepository,
-      CategoryRepository categoryRepository,
-      BrandRepository brandRepository,
-      SupplierRepository supplierRepository) {
+      ProductModelRepository productModelRepository,
+      ReferenceResolver referenceResolver,
+      ReferenceDataCache referenceDataCache,
+      ProductPriceRepository productPriceRepository,
+      ProductNameIndex productNameIndex,
+      InventoryRepository inventoryRepository,
+      LowStockTracker lowStockTracker,
+      BestSellerTracker bestSellerTracker,
+      ProductCoOccurrenceIndex productCoOccurrenceIndex) {
     this.productRepository = productRepository;
-    this.categoryRepository = categoryRepository;
-    this.brandRepository = brandRepository;
-    this.supplierRepository = supplierRepository;
+    this.productModelRepository = productModelRepository;
+    this.referenceResolver = referenceResolver;
+    this.referenceDataCache = referenceDataCache;
+    this.productPriceRepository = productPriceRepository;
+    this.productNameIndex = productNameIndex;
+    this.inventoryRepository = inventoryRepository;
+    this.lowStockTracker = lowStockTracker;
+    this.bestSellerTracker = bestSellerTracker;
+    this.productCoOccurrenceIndex = productCoOccurrenceIndex;
   }
 
   @Override
@@ -54,8 +107,44 @@ public class ProductServiceImpl implements ProductService {
   }
 
   @Override
-  public List<ProductDTO> getProductsByCategory(Long categoryId) {
-    return productRepository.findProductsByCategoryId(categoryId).stream()
+  public List<ProductSummaryDTO> getAllProductSummaries() {
+    return productRepository.findAllProductSummaries();
+  }
+
+  @Override
+  public ProductSummaryDTO getProductSummaryById(Long id) {
+    return productRepository
+        .findProductSummaryById(id)
+        .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com id: " + id));
+  }
+
+  @Override
+  public ProductPriceDTO getProductPriceAt(Long id, LocalDateTime at) {
+    LocalDateTime moment = at != null ? at : LocalDateTime.now();
+    return productPriceRepository
+        .findPriceAt(id, moment)
+        .map(this::convertToPriceDTO)
+        .orElseThrow(
+            () ->
+                new EntityNotFoundException(
+                    "Nenhum preço registrado para o produto com id: " + id + " em " + moment));
+  }
+
+  @Override
+  public List<ProductPriceDTO> getProductPricesAt(LocalDateTime at) {
+    return productPriceRepository.findPricesAt(at != null ? at : LocalDateTime.now()).stream()
+        .map(this::convertToPriceDTO)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<ProductDTO> getProductsByCategory(Long categoryId, boolean includeDescendants) {
+    List<Product> products =
+        includeDescendants
+            ? productRepository.findProductsByCategoryPath(
+                referenceDataCache.snapshot().requireCategory(categoryId).getPath())
+            : productRepository.findProductsByCategoryId(categoryId);
+    return products.stream()
         .map(this::convertToDTO)
         .collect(Collectors.toList());
   }
@@ -74,88 +163,259 @@ public class ProductServiceImpl implements ProductService {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public ProductBrowseDTO browseProducts(ProductBrowseFilter filter, int page, int size) {
+    if (filter.getMinPrice() != null
+        && filter.getMaxPrice() != null
+        && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+      throw new IllegalArgumentException("Preço mínimo não pode ser maior que o preço máximo");
+    }
+    int pageNumber = Math.max(page, 0);
+    int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+    List<ProductDTO> content =
+        productRepository
+            .browseProducts(
+                filter.getCategoryId(),
+                filter.getBrandId(),
+                filter.getSupplierId(),
+                filter.getSize(),
+                filter.getColor(),
+                filter.getMinPrice(),
+                filter.getMaxPrice(),
+                PageRequest.of(pageNumber, pageSize))
+            .stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+
+    Map<String, List<FacetValueDTO>> facets = new LinkedHashMap<>();
+    FACET_DIMENSIONS.forEach(dimension -> facets.put(dimension, new ArrayList<>()));
+    long totalElements = 0;
+    for (ProductFacetCount row :
+        productRepository.countProductFacets(
+            filter.getCategoryId(),
+            filter.getBrandId(),
+            filter.getSupplierId(),
+            filter.getSize(),
+            filter.getColor(),
+            filter.getMinPrice(),
+            filter.getMaxPrice())) {
+      if ("total".equals(row.getDimension())) {
+        totalElements = row.getTotal();
+      } else {
+        facets
+            .get(row.getDimension())
+            .add(new FacetValueDTO(row.getValue(), row.getLabel(), row.getTotal()));
+      }
+    }
+
+    return new ProductBrowseDTO(content, pageNumber, pageSize, totalElements, facets);
+  }
+
+  @Override
+  public List<ProductSuggestionDTO> autocompleteProducts(String prefix, int limit) {
+    return productNameIndex
+        .search(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS))
+        .entrySet()
+        .stream()
+        .map(entry -> new ProductSuggestionDTO(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<LowStockProductDTO> getLowStockProducts() {
+    return lowStockTracker.snapshot().stream()
+        .map(
+            item ->
+                new LowStockProductDTO(
+                    item.productId(),
+                    productNameIndex.nameOf(item.productId()),
+                    item.quantity(),
+                    item.reorderPoint()))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<BestSellerDTO> getTopProducts(String window, String by, int limit) {
+    return bestSellerTracker
+        .top(
+            BestSellerTracker.Window.parse(window),
+            BestSellerTracker.Metric.parse(by),
+            Math.min(Math.max(limit, 1), MAX_TOP_PRODUCTS))
+        .stream()
+        .map(
+            ranking ->
+                new BestSellerDTO(
+                    ranking.productId(),
+                    productNameIndex.nameOf(ranking.productId()),
+                    ranking.units(),
+                    ranking.revenue()))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<RelatedProductDTO> getRelatedProducts(Long productId, int limit) {
+    if (productNameIndex.nameOf(productId) == null) {
+      throw new EntityNotFoundException("Produto não encontrado com id: " + productId);
+    }
+    return productCoOccurrenceIndex
+        .related(productId, Math.min(Math.max(limit, 1), MAX_RELATED_PRODUCTS))
+        .stream()
+        .map(
+            related ->
+                new RelatedProductDTO(
+                    related.productId(),
+                    productNameIndex.nameOf(related.productId()),
+                    related.together(),
+                    related.confidence()))
+        .collect(Collectors.toList());
+  }
+
   @Override
   @Transactional
   public ProductDTO createProduct(ProductDTO productDTO) {
     Product product = convertToEntity(productDTO);
     Product savedProduct = productRepository.save(product);
+    productPriceRepository.recordPriceChange(
+        savedProduct.getId(), savedProduct.getPrice(), LocalDateTime.now());
+    TransactionHooks.afterCommit(
+        () -> productNameIndex.put(savedProduct.getId(), savedProduct.getName()));
     return convertToDTO(savedProduct);
   }
 
   @Override
   @Transactional
   public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
-    productRepository
-        .findProductById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com id: " + id));
-
     Product product = convertToEntity(productDTO);
     product.setId(id);
-    Product updatedProduct = productRepository.save(product);
-    return convertToDTO(updatedProduct);
+    if (productRepository.updateProductData(id, product) == 0) {
+      throw new EntityNotFoundException("Produto não encontrado com id: " + id);
+    }
+    productPriceRepository.recordPriceChange(id, product.getPrice(), LocalDateTime.now());
+    TransactionHooks.afterCommit(() -> productNameIndex.put(id, product.getName()));
+    // a atualização limpa o contexto; recarrega para devolver também as colunas que ela não altera
+    Product updated =
+        productRepository
+            .findById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com id: " + id));
+    return convertToDTO(updated);
   }
 
   @Override
   @Transactional
-  public void deleteProduct(Long id) {
-    productRepository
-        .findProductById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com id: " + id));
+  public ProductRepriceResultDTO repriceProducts(ProductRepriceDTO repriceDTO) {
+    if (repriceDTO.getCategoryId() == null
+        && repriceDTO.getBrandId() == null
+        && repriceDTO.getSupplierId() == null) {
+      throw new IllegalArgumentException(
+          "Informe ao menos uma categoria, marca ou fornecedor para o reajuste");
+    }
+    // o nome não muda no reajuste, então o índice de autocompletar não precisa ser atualizado
+    int updated =
+        productRepository.repriceProducts(
+            repriceDTO.getCategoryId(),
+            repriceDTO.getBrandId(),
+            repriceDTO.getSupplierId(),
+            repriceDTO.getPercentage(),
+            LocalDateTime.now());
+    return new ProductRepriceResultDTO(updated);
+  }
 
-    productRepository.deleteById(id);
+  @Override
+  @Transactional
+  public void deleteProduct(Long id) {
+    if (productRepository.deleteProductById(id) == 0) {
+      throw new EntityNotFoundException("Produto não encontrado com id: " + id);
+    }
+    inventoryRepository.deleteInventoryByProductId(id);
+    TransactionHooks.afterCommit(
+        () -> {
+          productNameIndex.remove(id);
+          lowStockTracker.remove(id);
+        });
   }
 
   private ProductDTO convertToDTO(Product product) {
     ProductDTO dto = new ProductDTO();
     dto.setId(product.getId());
+    dto.setSku(product.getSku());
     dto.setName(product.getName());
     dto.setSize(product.getSize());
     dto.setColor(product.getColor());
     dto.setPrice(product.getPrice());
-    dto.setCategory(product.getCategory());
     dto.setCategoryId(product.getCategory().getId());
-    dto.setBrand(product.getBrand());
     dto.setBrandId(product.getBrand().getId());
-    dto.setSupplier(product.getSupplier());
     dto.setSupplierId(product.getSupplier().getId());
+
+    // referências vêm da cópia em memória; o banco só é lido se ela ainda não tiver o registro
+    ReferenceDataCache.Snapshot referenceData = referenceDataCache.snapshot();
+    dto.setCategory(
+        referenceData
+            .category(dto.getCategoryId())
+            .orElseGet(() -> Hibernate.unproxy(product.getCategory(), Category.class)));
+    dto.setBrand(
+        referenceData
+            .brand(dto.getBrandId())
+            .orElseGet(() -> Hibernate.unproxy(product.getBrand(), Brand.class)));
+    dto.setSupplier(
+        referenceData
+            .supplier(dto.getSupplierId())
+            .orElseGet(() -> Hibernate.unproxy(product.getSupplier(), Supplier.class)));
+    dto.setModelId(product.getModelId());
+    dto.setActive(product.getActive());
     return dto;
   }
 
+  private ProductPriceDTO convertToPriceDTO(ProductPrice productPrice) {
+    return new ProductPriceDTO(
+        productPrice.getProductId(), productPrice.getPrice(), productPrice.getValidFrom());
+  }
+
   private Product convertToEntity(ProductDTO dto) {
+    ReferenceDataCache.Snapshot referenceData = referenceDataCache.snapshot();
+    referenceData.requireCategory(dto.getCategoryId());
+    referenceData.requireBrand(dto.getBrandId());
+    referenceData.requireSupplier(dto.getSupplierId());
+
+    if (dto.getModelId() != null) {
+      requireSameAttributesAsModel(dto);
+    }
+
     Product product = new Product();
     product.setId(dto.getId());
+    product.setSku(dto.getSku());
     product.setName(dto.getName());
     product.setSize(dto.getSize());
     product.setColor(dto.getColor());
     product.setPrice(dto.getPrice());
+    product.setModelId(dto.getModelId());
 
-    Category category =
-        categoryRepository
-            .findCategoryById(dto.getCategoryId())
-            .orElseThrow(
-                () ->
-                    new EntityNotFoundException(
-                        "Categoria não encontrada com id: " + dto.getCategoryId()));
-    product.setCategory(category);
+    product.setCategory(referenceResolver.reference(Category.class, dto.getCategoryId()));
+    product.setBrand(referenceResolver.reference(Brand.class, dto.getBrandId()));
+    product.setSupplier(referenceResolver.reference(Supplier.class, dto.getSupplierId()));
 
-    Brand brand =
-        brandRepository
-            .findBrandById(dto.getBrandId())
-            .orElseThrow(
-                () ->
-                    new EntityNotFoundException(
-                        "Marca não encontrada com id: " + dto.getBrandId()));
-    product.setBrand(brand);
+    return product;
+  }
 
-    Supplier supplier =
-        supplierRepository
-            .findSupplierById(dto.getSupplierId())
+  /**
+   * As variações herdam nome, categoria, marca e fornecedor do modelo, e só mudam junto com ele.
+   * Uma variação com valores diferentes do modelo é recusada.
+   */
+  private void requireSameAttributesAsModel(ProductDTO dto) {
+    ProductModel model =
+        productModelRepository
+            .findProductModelById(dto.getModelId())
             .orElseThrow(
                 () ->
                     new EntityNotFoundException(
-                        "Fornecedor não encontrado com id: " + dto.getSupplierId()));
-    product.setSupplier(supplier);
-
-    return product;
+                        "Modelo de produto não encontrado com id: " + dto.getModelId()));
+    if (!Objects.equals(dto.getName(), model.getName())
+        || !Objects.equals(dto.getCategoryId(), model.getCategory().getId())
+        || !Objects.equals(dto.getBrandId(), model.getBrand().getId())
+        || !Objects.equals(dto.getSupplierId(), model.getSupplier().getId())) {
+      throw new IllegalArgumentException(
+          "Nome, categoria, marca e fornecedor devem ser os mesmos do modelo com id: "
+              + model.getId());
+    }
   }
 }
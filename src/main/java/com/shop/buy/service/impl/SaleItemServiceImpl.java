@@ -1,16 +1,31 @@
 package com.shop.buy.service.impl;
 
+import com.shop.buy.cache.BestSellerTracker;
+import com.shop.buy.cache.ProductCoOccurrenceIndex;
 import com.shop.buy.dto.DirectSaleItemDTO;
 import com.shop.buy.model.Product;
 import com.shop.buy.model.Sale;
 import com.shop.buy.model.SaleItem;
 import com.shop.buy.repository.ProductRepository;
+import com.shop.buy.repository.ReferenceResolver;
 import com.shop.buy.repository.SaleItemRepository;
 import com.shop.buy.repository.SaleRepository;
+import com.shop.buy.repository.projection.SaleItemLine;
+import com.shop.buy.repository.projection.SaleSummaryView;
+import com.shop.buy.service.CustomerPurchaseSummaryService;
+import com.shop.buy.service.InventoryService;
 import com.shop.buy.service.SaleItemService;
+import com.shop.buy.util.TransactionHooks;
 import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,15 +36,30 @@ public class SaleItemServiceImpl implements SaleItemService {
   private final SaleItemRepository saleItemRepository;
   private final SaleRepository saleRepository;
   private final ProductRepository productRepository;
+  private final ReferenceResolver referenceResolver;
+  private final InventoryService inventoryService;
+  private final CustomerPurchaseSummaryService purchaseSummaryService;
+  private final BestSellerTracker bestSellerTracker;
+  private final ProductCoOccurrenceIndex productCoOccurrenceIndex;
 
   @Autowired
   public SaleItemServiceImpl(
       SaleItemRepository saleItemRepository,
       SaleRepository saleRepository,
-      ProductRepository productRepository) {
+      ProductRepository productRepository,
+      ReferenceResolver referenceResolver,
+      InventoryService inventoryService,
+      CustomerPurchaseSummaryService purchaseSummaryService,
+      BestSellerTracker bestSellerTracker,
+      ProductCoOccurrenceIndex productCoOccurrenceIndex) {
     this.saleItemRepository = saleItemRepository;
     this.saleRepository = saleRepository;
     this.productRepository = productRepository;
+    this.referenceResolver = referenceResolver;
+    this.inventoryService = inventoryService;
+    this.purchaseSummaryService = purchaseSummaryService;
+    this.bestSellerTracker = bestSellerTracker;
+    this.productCoOccurrenceIndex = productCoOccurrenceIndex;
   }
 
   @Override
@@ -67,34 +97,137 @@ public class SaleItemServiceImpl implements SaleItemService {
   @Transactional
   public DirectSaleItemDTO createSaleItem(DirectSaleItemDTO saleItemDTO) {
     SaleItem saleItem = convertToEntity(saleItemDTO);
+    requireActiveProduct(saleItemDTO.getProductId());
+    SaleSummaryView sale = saleSummary(saleItemDTO.getSaleId());
+    List<Long> basket = basketOf(saleItemDTO.getSaleId());
     SaleItem savedSaleItem = saleItemRepository.saveSaleItem(saleItem);
+    updatePurchaseSummaries(sale);
+    trackBasket(saleItemDTO.getSaleId(), basket);
+    inventoryService.applyStockMovements(
+        Map.of(saleItem.getProduct().getId(), saleItem.getQuantity()));
+    trackSale(
+        savedSaleItem.getSale().getSaleDate(),
+        saleItem.getProduct().getId(),
+        saleItem.getQuantity(),
+        saleItem.getUnitPrice());
     return convertToDTO(savedSaleItem);
   }
 
   @Override
   @Transactional
   public DirectSaleItemDTO updateSaleItem(Long id, DirectSaleItemDTO saleItemDTO) {
-
-    saleItemRepository
-        .findSaleItemById(id)
-        .orElseThrow(
-            () -> new EntityNotFoundException("Item de venda não encontrado com id: " + id));
+    SaleItemLine previous =
+        saleItemRepository
+            .findSaleItemLineById(id)
+            .orElseThrow(
+                () -> new EntityNotFoundException("Item de venda não encontrado com id: " + id));
 
     SaleItem saleItem = convertToEntity(saleItemDTO);
+    if (!Objects.equals(previous.getProductId(), saleItemDTO.getProductId())) {
+      requireActiveProduct(saleItemDTO.getProductId());
+    }
+    SaleSummaryView previousSale = saleSummary(previous.getSaleId());
+    SaleSummaryView targetSale =
+        Objects.equals(previous.getSaleId(), saleItemDTO.getSaleId())
+            ? null
+            : saleSummary(saleItemDTO.getSaleId());
+    List<Long> previousBasket = basketOf(previous.getSaleId());
+    List<Long> targetBasket = targetSale == null ? List.of() : basketOf(targetSale.getId());
     SaleItem updatedSaleItem = saleItemRepository.updateSaleItem(id, saleItem);
+    updatePurchaseSummaries(previousSale, targetSale);
+    trackBasket(previous.getSaleId(), previousBasket);
+    if (targetSale != null) {
+      trackBasket(targetSale.getId(), targetBasket);
+    }
+
+    Map<Long, Integer> movements = new HashMap<>();
+    movements.put(previous.getProductId(), -previous.getQuantity());
+    movements.merge(saleItem.getProduct().getId(), saleItem.getQuantity(), Integer::sum);
+    inventoryService.applyStockMovements(movements);
+    trackSale(
+        previous.getSaleDate(),
+        previous.getProductId(),
+        -previous.getQuantity(),
+        previous.getUnitPrice());
+    trackSale(
+        updatedSaleItem.getSale().getSaleDate(),
+        saleItem.getProduct().getId(),
+        saleItem.getQuantity(),
+        saleItem.getUnitPrice());
     return convertToDTO(updatedSaleItem);
   }
 
   @Override
   @Transactional
   public void deleteSaleItem(Long id) {
+    SaleItem saleItem =
+        saleItemRepository
+            .findSaleItemById(id)
+            .orElseThrow(
+                () -> new EntityNotFoundException("Item de venda não encontrado com id: " + id));
 
-    saleItemRepository
-        .findSaleItemById(id)
-        .orElseThrow(
-            () -> new EntityNotFoundException("Item de venda não encontrado com id: " + id));
-
+    Long saleId = saleItem.getSale().getId();
+    SaleSummaryView sale = saleSummary(saleId);
+    List<Long> basket = basketOf(saleId);
     saleItemRepository.deleteSaleItem(id);
+    updatePurchaseSummaries(sale);
+    trackBasket(saleId, basket);
+    inventoryService.applyStockMovements(
+        Map.of(saleItem.getProduct().getId(), -saleItem.getQuantity()));
+    trackSale(
+        saleItem.getSale().getSaleDate(),
+        saleItem.getProduct().getId(),
+        -saleItem.getQuantity(),
+        saleItem.getUnitPrice());
+  }
+
+  private SaleSummaryView saleSummary(Long saleId) {
+    return saleId == null ? null : saleRepository.findSaleSummaryById(saleId).orElse(null);
+  }
+
+  /** Ajusta o resumo de compras dos clientes com o novo total das vendas alteradas. */
+  private void updatePurchaseSummaries(SaleSummaryView... before) {
+    for (SaleSummaryView sale : before) {
+      if (sale != null) {
+        purchaseSummaryService.applySaleChange(sale, saleSummary(sale.getId()));
+      }
+    }
+  }
+
+  private List<Long> basketOf(Long saleId) {
+    return saleId == null ? List.of() : saleItemRepository.findDistinctProductIdsBySaleId(saleId);
+  }
+
+  /**
+   * Troca, no índice de produtos comprados juntos, a cesta anterior da venda pela atual, se o
+   * conjunto de produtos mudou.
+   */
+  private void trackBasket(Long saleId, List<Long> before) {
+    List<Long> after = basketOf(saleId);
+    if (new HashSet<>(before).equals(new HashSet<>(after))) {
+      return;
+    }
+    long transactionId = saleItemRepository.currentTransactionId();
+    TransactionHooks.afterCommit(
+        () -> {
+          productCoOccurrenceIndex.recordBasket(transactionId, before, -1);
+          productCoOccurrenceIndex.recordBasket(transactionId, after, 1);
+        });
+  }
+
+  /** Recusa a venda de um produto que o fornecedor retirou do catálogo. */
+  private void requireActiveProduct(Long productId) {
+    if (!productRepository.findInactiveProductIds(List.of(productId)).isEmpty()) {
+      throw new IllegalArgumentException(
+          "Produtos inativos não podem ser vendidos. IDs: " + List.of(productId));
+    }
+  }
+
+  private void trackSale(
+      LocalDateTime saleDate, Long productId, int quantity, BigDecimal unitPrice) {
+    long transactionId = saleItemRepository.currentTransactionId();
+    TransactionHooks.afterCommit(
+        () -> bestSellerTracker.record(transactionId, saleDate, productId, quantity, unitPrice));
   }
 
   private DirectSaleItemDTO convertToDTO(SaleItem saleItem) {
@@ -102,37 +235,34 @@ public class SaleItemServiceImpl implements SaleItemService {
     dto.setId(saleItem.getId());
     dto.setSaleId(saleItem.getSale().getId());
     dto.setProductId(saleItem.getProduct().getId());
-    dto.setProduct(saleItem.getProduct());
+    dto.setProduct(Hibernate.unproxy(saleItem.getProduct(), Product.class));
     dto.setQuantity(saleItem.getQuantity());
     dto.setUnitPrice(saleItem.getUnitPrice());
     return dto;
   }
 
   private SaleItem convertToEntity(DirectSaleItemDTO dto) {
+    ReferenceResolver.Check check =
+        referenceResolver
+            .check()
+            .require(
+                Product.class,
+                dto.getProductId(),
+                "Produto não encontrado com id: " + dto.getProductId());
+    if (dto.getSaleId() != null) {
+      check.require(Sale.class, dto.getSaleId(), "Venda não encontrada com id: " + dto.getSaleId());
+    }
+    check.verify();
+
     SaleItem saleItem = new SaleItem();
     saleItem.setId(dto.getId());
     saleItem.setQuantity(dto.getQuantity());
     saleItem.setUnitPrice(dto.getUnitPrice());
 
     if (dto.getSaleId() != null) {
-      Sale sale =
-          saleRepository
-              .findById(dto.getSaleId())
-              .orElseThrow(
-                  () ->
-                      new EntityNotFoundException(
-                          "Venda não encontrada com id: " + dto.getSaleId()));
-      saleItem.setSale(sale);
+      saleItem.setSale(referenceResolver.reference(Sale.class, dto.getSaleId()));
     }
-
-    Product product =
-        productRepository
-            .findProductById(dto.getProductId())
-            .orElseThrow(
-                () ->
-                    new EntityNotFoundException(
-                        "Produto não encontrado com id: " + dto.getProductId()));
-    saleItem.setProduct(product);
+    saleItem.setProduct(referenceResolver.reference(Product.class, dto.getProductId()));
 
     return saleItem;
   }
@@ -1,49 +1,80 @@
 package com.shop.buy.service.impl;
 
+import com.shop.buy.cache.BestSellerTracker;
+import com.shop.buy.cache.ProductCoOccurrenceIndex;
+import com.shop.buy.dto.CustomerPurchaseHistoryDTO;
 import com.shop.buy.dto.NestedSaleItemDTO;
 import com.shop.buy.dto.SaleDTO;
+import com.shop.buy.dto.SaleSummaryDTO;
 import com.shop.buy.model.Customer;
 import com.shop.buy.model.Employee;
 import com.shop.buy.model.PaymentMethod;
 import com.shop.buy.model.Product;
 import com.shop.buy.model.Sale;
 import com.shop.buy.model.SaleItem;
-import com.shop.buy.repository.CustomerRepository;
-import com.shop.buy.repository.EmployeeRepository;
 import com.shop.buy.repository.ProductRepository;
+import com.shop.buy.repository.ReferenceResolver;
 import com.shop.buy.repository.SaleItemRepository;
 import com.shop.buy.repository.SaleRepository;
+import com.shop.buy.repository.projection.SaleSummaryView;
+import com.shop.buy.service.CustomerPurchaseSummaryService;
+import com.shop.buy.service.InventoryService;
 import com.shop.buy.service.SaleService;
+import com.shop.buy.service.StockReservationService;
+import com.shop.buy.util.TransactionHooks;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class SaleServiceImpl implements SaleService {
 
+  private static final int MAX_PAGE_SIZE = 100;
+
   private final SaleRepository saleRepository;
   private final SaleItemRepository saleItemRepository;
-  private final CustomerRepository customerRepository;
-  private final EmployeeRepository employeeRepository;
   private final ProductRepository productRepository;
+  private final ReferenceResolver referenceResolver;
+  private final InventoryService inventoryService;
+  private final StockReservationService stockReservationService;
+  private final CustomerPurchaseSummaryService purchaseSummaryService;
+  private final BestSellerTracker bestSellerTracker;
+  private final ProductCoOccurrenceIndex productCoOccurrenceIndex;
 
   @Autowired
   public SaleServiceImpl(
       SaleRepository saleRepository,
       SaleItemRepository saleItemRepository,
-      CustomerRepository customerRepository,
-      EmployeeRepository employeeRepository,
-      ProductRepository productRepository) {
+      ProductRepository productRepository,
+      ReferenceResolver referenceResolver,
+      InventoryService inventoryService,
+      StockReservationService stockReservationService,
+      CustomerPurchaseSummaryService purchaseSummaryService,
+      BestSellerTracker bestSellerTracker,
+      ProductCoOccurrenceIndex productCoOccurrenceIndex) {
     this.saleRepository = saleRepository;
     this.saleItemRepository = saleItemRepository;
-    this.customerRepository = customerRepository;
-    this.employeeRepository = employeeRepository;
     this.productRepository = productRepository;
+    this.referenceResolver = referenceResolver;
+    this.inventoryService = inventoryService;
+    this.stockReservationService = stockReservationService;
+    this.purchaseSummaryService = purchaseSummaryService;
+    this.bestSellerTracker = bestSellerTracker;
+    this.productCoOccurrenceIndex = productCoOccurrenceIndex;
   }
 
   @Override
@@ -62,6 +93,21 @@ public class SaleServiceImpl implements SaleService {
     return convertToDTO(sale);
   }
 
+  @Override
+  public List<SaleSummaryDTO> getAllSaleSummaries() {
+    return saleRepository.findAllSaleSummaries().stream()
+        .map(this::convertToSummaryDTO)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public SaleSummaryDTO getSaleSummaryById(Long id) {
+    return saleRepository
+        .findSaleSummaryById(id)
+        .map(this::convertToSummaryDTO)
+        .orElseThrow(() -> new EntityNotFoundException("Venda não encontrada com id: " + id));
+  }
+
   @Override
   public List<SaleDTO> getSalesByCustomerId(Long customerId) {
     return saleRepository.findSalesByCustomerId(customerId).stream()
@@ -69,6 +115,62 @@ public class SaleServiceImpl implements SaleService {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public CustomerPurchaseHistoryDTO getCustomerPurchaseHistory(
+      Long customerId, String cursor, int size) {
+    referenceResolver
+        .check()
+        .require(Customer.class, customerId, "Cliente não encontrado com id: " + customerId)
+        .verify();
+    int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    // uma venda a mais indica se existe próxima página
+    PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+    List<SaleSummaryView> sales;
+    if (cursor == null || cursor.isBlank()) {
+      sales = saleRepository.findCustomerSaleSummaries(customerId, limit);
+    } else {
+      HistoryCursor after = HistoryCursor.decode(cursor);
+      sales =
+          saleRepository.findCustomerSaleSummariesBefore(
+              customerId, after.saleDate(), after.saleId(), limit);
+    }
+
+    String nextCursor = null;
+    if (sales.size() > pageSize) {
+      sales = sales.subList(0, pageSize);
+      SaleSummaryView last = sales.get(pageSize - 1);
+      nextCursor = new HistoryCursor(last.getSaleDate(), last.getId()).encode();
+    }
+    return new CustomerPurchaseHistoryDTO(
+        purchaseSummaryService.getSummary(customerId),
+        sales.stream().map(this::convertToSummaryDTO).collect(Collectors.toList()),
+        nextCursor);
+  }
+
+  /** Posição da última venda lida, enviada ao cliente como texto opaco. */
+  private record HistoryCursor(LocalDateTime saleDate, Long saleId) {
+
+    String encode() {
+      String raw = saleDate + "|" + saleId;
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static HistoryCursor decode(String cursor) {
+      try {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        return new HistoryCursor(
+            LocalDateTime.parse(raw.substring(0, separator)),
+            Long.valueOf(raw.substring(separator + 1)));
+      } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+        throw new IllegalArgumentException("Cursor de paginação inválido: " + cursor);
+      }
+    }
+  }
+
   @Override
   public List<SaleDTO> getSalesByEmployeeId(Long employeeId) {
     return saleRepository.findSalesByEmployeeId(employeeId).stream()
@@ -85,7 +187,8 @@ public class SaleServiceImpl implements SaleService {
       validateDiscount(saleDTO);
     }
 
-    Sale sale = convertToEntity(saleDTO);
+    Sale sale = convertToEntity(saleDTO, null);
+    requireActiveProducts(saleDTO.getItems(), Set.of());
 
     if (sale.getPaymentMethod() == null) {
       throw new IllegalArgumentException("Método de pagamento é obrigatório");
@@ -98,6 +201,14 @@ public class SaleServiceImpl implements SaleService {
       for (SaleItem item : items) {
         saleItemRepository.saveSaleItem(item);
       }
+      Map<Long, Integer> movements = stockMovements(items, List.of());
+      if (saleDTO.getReservationToken() != null) {
+        stockReservationService
+            .claimReservation(saleDTO.getReservationToken())
+            .forEach((productId, held) -> movements.merge(productId, -held, Integer::sum));
+      }
+      inventoryService.applyStockMovements(movements);
+      trackSales(items, savedSale.getSaleDate(), 1);
 
       savedSale =
           saleRepository
@@ -107,6 +218,7 @@ public class SaleServiceImpl implements SaleService {
       List<SaleItem> savedItems = saleItemRepository.findSaleItemsBySaleId(savedSale.getId());
       savedSale.setItems(savedItems);
     }
+    purchaseSummaryService.applySaleChange(null, saleSummary(savedSale.getId()));
 
     return convertToDTO(savedSale);
   }
@@ -135,33 +247,39 @@ public class SaleServiceImpl implements SaleService {
       validateDiscount(saleDTO);
     }
 
-    saleRepository
-        .findById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Venda não encontrada com id: " + id));
+    Sale sale = convertToEntity(saleDTO, id);
+    sale.setId(id);
+    SaleSummaryView previousSale = saleSummary(id);
 
     List<SaleItem> existingItems = saleItemRepository.findSaleItemsBySaleId(id);
+    requireActiveProducts(
+        saleDTO.getItems(),
+        existingItems.stream().map(item -> item.getProduct().getId()).collect(Collectors.toSet()));
+    LocalDateTime previousSaleDate =
+        existingItems.isEmpty() ? null : existingItems.get(0).getSale().getSaleDate();
     for (SaleItem item : existingItems) {
       saleItemRepository.deleteSaleItem(item.getId());
     }
 
-    Sale sale = convertToEntity(saleDTO);
-    sale.setId(id);
-
     if (sale.getPaymentMethod() == null) {
       throw new IllegalArgumentException("Método de pagamento é obrigatório");
     }
 
     Sale updatedSale = saleRepository.save(sale);
 
-    if (saleDTO.getItems() != null && !saleDTO.getItems().isEmpty()) {
-      List<SaleItem> items = createSaleItems(saleDTO.getItems(), updatedSale);
-      for (SaleItem item : items) {
-        saleItemRepository.saveSaleItem(item);
-      }
+    List<SaleItem> items = createSaleItems(saleDTO.getItems(), updatedSale);
+    for (SaleItem item : items) {
+      saleItemRepository.saveSaleItem(item);
+    }
+    inventoryService.applyStockMovements(stockMovements(items, existingItems));
+    trackSales(existingItems, previousSaleDate, -1);
+    trackSales(items, updatedSale.getSaleDate(), 1);
 
+    if (!items.isEmpty()) {
       List<SaleItem> savedItems = saleItemRepository.findSaleItemsBySaleId(updatedSale.getId());
       updatedSale.setItems(savedItems);
     }
+    purchaseSummaryService.applySaleChange(previousSale, saleSummary(id));
 
     return convertToDTO(updatedSale);
   }
@@ -169,10 +287,11 @@ public class SaleServiceImpl implements SaleService {
   @Override
   @Transactional
   public void deleteSale(Long id) {
-
-    saleRepository
-        .findById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Venda não encontrada com id: " + id));
+    SaleSummaryView previousSale = saleSummary(id);
+    Sale sale =
+        saleRepository
+            .findById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Venda não encontrada com id: " + id));
 
     List<SaleItem> items = saleItemRepository.findSaleItemsBySaleId(id);
     for (SaleItem item : items) {
@@ -180,6 +299,68 @@ public class SaleServiceImpl implements SaleService {
     }
 
     saleRepository.deleteSale(id);
+    purchaseSummaryService.applySaleChange(previousSale, null);
+    inventoryService.applyStockMovements(stockMovements(List.of(), items));
+    trackSales(items, sale.getSaleDate(), -1);
+  }
+
+  private SaleSummaryView saleSummary(Long saleId) {
+    return saleRepository.findSaleSummaryById(saleId).orElse(null);
+  }
+
+  /** Atualiza os contadores de mais vendidos e de produtos comprados juntos depois do commit. */
+  private void trackSales(List<SaleItem> items, LocalDateTime saleDate, int sign) {
+    List<SaleItem> tracked = new ArrayList<>(items);
+    long transactionId = saleItemRepository.currentTransactionId();
+    TransactionHooks.afterCommit(
+        () -> {
+          tracked.forEach(
+              item ->
+                  bestSellerTracker.record(
+                      transactionId,
+                      saleDate,
+                      item.getProduct().getId(),
+                      sign * item.getQuantity(),
+                      item.getUnitPrice()));
+          productCoOccurrenceIndex.recordBasket(
+              transactionId,
+              tracked.stream().map(item -> item.getProduct().getId()).toList(),
+              sign);
+        });
+  }
+
+  /**
+   * Recusa a venda de produtos que o fornecedor retirou do catálogo. Os produtos em {@code
+   * alreadySold} já estavam na venda e podem continuar nela mesmo depois de desativados.
+   */
+  private void requireActiveProducts(List<NestedSaleItemDTO> items, Set<Long> alreadySold) {
+    Set<Long> productIds =
+        items == null
+            ? Set.of()
+            : items.stream()
+                .map(NestedSaleItemDTO::getProductId)
+                .filter(productId -> productId != null && !alreadySold.contains(productId))
+                .collect(Collectors.toSet());
+    if (productIds.isEmpty()) {
+      return;
+    }
+    List<Long> inactive = productRepository.findInactiveProductIds(productIds);
+    if (!inactive.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Produtos inativos não podem ser vendidos. IDs: " + inactive);
+    }
+  }
+
+  /** Quantidade líquida a baixar do estoque por produto: itens vendidos menos itens devolvidos. */
+  private Map<Long, Integer> stockMovements(List<SaleItem> sold, List<SaleItem> returned) {
+    Map<Long, Integer> movements = new HashMap<>();
+    for (SaleItem item : sold) {
+      movements.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+    }
+    for (SaleItem item : returned) {
+      movements.merge(item.getProduct().getId(), -item.getQuantity(), Integer::sum);
+    }
+    return movements;
   }
 
   private List<SaleItem> createSaleItems(List<NestedSaleItemDTO> itemDTOs, Sale sale) {
@@ -200,17 +381,9 @@ public class SaleServiceImpl implements SaleService {
               "Preço unitário deve ser informado e ser um valor positivo");
         }
 
-        Product product =
-            productRepository
-                .findProductById(itemDTO.getProductId())
-                .orElseThrow(
-                    () ->
-                        new EntityNotFoundException(
-                            "Produto não encontrado com id: " + itemDTO.getProductId()));
-
         SaleItem saleItem = new SaleItem();
         saleItem.setSale(sale);
-        saleItem.setProduct(product);
+        saleItem.setProduct(referenceResolver.reference(Product.class, itemDTO.getProductId()));
         saleItem.setQuantity(itemDTO.getQuantity());
         saleItem.setUnitPrice(itemDTO.getUnitPrice());
         items.add(saleItem);
@@ -223,9 +396,9 @@ public class SaleServiceImpl implements SaleService {
   private SaleDTO convertToDTO(Sale sale) {
     SaleDTO dto = new SaleDTO();
     dto.setId(sale.getId());
-    dto.setCustomer(sale.getCustomer());
+    dto.setCustomer(Hibernate.unproxy(sale.getCustomer(), Customer.class));
     dto.setCustomerId(sale.getCustomer().getId());
-    dto.setEmployee(sale.getEmployee());
+    dto.setEmployee(Hibernate.unproxy(sale.getEmployee(), Employee.class));
     dto.setEmployeeId(sale.getEmployee().getId());
     dto.setSaleDate(sale.getSaleDate());
     dto.setDiscount(sale.getDiscount());
@@ -243,6 +416,24 @@ public class SaleServiceImpl implements SaleService {
     return dto;
   }
 
+  private SaleSummaryDTO convertToSummaryDTO(SaleSummaryView view) {
+    SaleSummaryDTO dto = new SaleSummaryDTO();
+    dto.setId(view.getId());
+    dto.setCustomerId(view.getCustomerId());
+    dto.setEmployeeId(view.getEmployeeId());
+    dto.setSaleDate(view.getSaleDate());
+    dto.setDiscount(view.getDiscount());
+    if (view.getPaymentMethod() != null) {
+      dto.setPaymentMethod(view.getPaymentMethod().name());
+    }
+    dto.setTotalValue(
+        view.getItemCount() == 0
+            ? BigDecimal.ZERO
+            : applyDiscount(view.getSubtotal(), view.getDiscount()));
+    dto.setItemCount(view.getItemCount());
+    return dto;
+  }
+
   private BigDecimal calculateTotalValue(Sale sale) {
     if (sale.getItems() == null || sale.getItems().isEmpty()) {
       return BigDecimal.ZERO;
@@ -253,8 +444,12 @@ public class SaleServiceImpl implements SaleService {
             .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
             .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-    if (sale.getDiscount() != null) {
-      total = total.subtract(sale.getDiscount());
+    return applyDiscount(total, sale.getDiscount());
+  }
+
+  private BigDecimal applyDiscount(BigDecimal total, BigDecimal discount) {
+    if (discount != null) {
+      total = total.subtract(discount);
       if (total.compareTo(BigDecimal.ZERO) < 0) {
         total = BigDecimal.ZERO;
       }
@@ -266,14 +461,14 @@ public class SaleServiceImpl implements SaleService {
   private NestedSaleItemDTO convertToSaleItemDTO(SaleItem saleItem) {
     NestedSaleItemDTO dto = new NestedSaleItemDTO();
     dto.setId(saleItem.getId());
-    dto.setProduct(saleItem.getProduct());
+    dto.setProduct(Hibernate.unproxy(saleItem.getProduct(), Product.class));
     dto.setProductId(saleItem.getProduct().getId());
     dto.setQuantity(saleItem.getQuantity());
     dto.setUnitPrice(saleItem.getUnitPrice());
     return dto;
   }
 
-  private Sale convertToEntity(SaleDTO dto) {
+  private Sale convertToEntity(SaleDTO dto, Long existingSaleId) {
     Sale sale = new Sale();
     sale.setId(dto.getId());
     sale.setSaleDate(dto.getSaleDate());
@@ -292,23 +487,34 @@ public class SaleServiceImpl implements SaleService {
       throw new IllegalArgumentException("Método de pagamento é obrigatório");
     }
 
-    Customer customer =
-        customerRepository
-            .findCustomerById(dto.getCustomerId())
-            .orElseThrow(
-                () ->
-                    new EntityNotFoundException(
-                        "Cliente não encontrado com id: " + dto.getCustomerId()));
-    sale.setCustomer(customer);
-
-    Employee employee =
-        employeeRepository
-            .findEmployeeById(dto.getEmployeeId())
-            .orElseThrow(
-                () ->
-                    new EntityNotFoundException(
-                        "Funcionário não encontrado com id: " + dto.getEmployeeId()));
-    sale.setEmployee(employee);
+    ReferenceResolver.Check check =
+        referenceResolver
+            .check()
+            .require(
+                Customer.class,
+                dto.getCustomerId(),
+                "Cliente não encontrado com id: " + dto.getCustomerId())
+            .require(
+                Employee.class,
+                dto.getEmployeeId(),
+                "Funcionário não encontrado com id: " + dto.getEmployeeId());
+    if (existingSaleId != null) {
+      check.require(Sale.class, existingSaleId, "Venda não encontrada com id: " + existingSaleId);
+    }
+    if (dto.getItems() != null) {
+      for (NestedSaleItemDTO item : dto.getItems()) {
+        if (item.getProductId() != null) {
+          check.require(
+              Product.class,
+              item.getProductId(),
+              "Produto não encontrado com id: " + item.getProductId());
+        }
+      }
+    }
+    check.verify();
+
+    sale.setCustomer(referenceResolver.reference(Customer.class, dto.getCustomerId()));
+    sale.setEmployee(referenceResolver.reference(Employee.class, dto.getEmployeeId()));
 
     return sale;
   }
@@ -0,0 +1,147 @@
+package com.shop.buy.service.impl;
+
+import com.shop.buy.dto.StockReservationDTO;
+import com.shop.buy.dto.StockReservationItemDTO;
+import com.shop.buy.dto.StockReservationRequestDTO;
+import com.shop.buy.exception.ReservationExpiredException;
+import com.shop.buy.inventory.ReservationExpiryQueue;
+import com.shop.buy.model.Product;
+import com.shop.buy.model.StockReservation;
+import com.shop.buy.repository.ReferenceResolver;
+import com.shop.buy.repository.StockReservationRepository;
+import com.shop.buy.repository.projection.ReservationExpiry;
+import com.shop.buy.repository.projection.StockLevel;
+import com.shop.buy.service.InventoryService;
+import com.shop.buy.service.StockReservationService;
+import com.shop.buy.util.TransactionHooks;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+  private final StockReservationRepository stockReservationRepository;
+  private final InventoryService inventoryService;
+  private final ReferenceResolver referenceResolver;
+  private final ReservationExpiryQueue reservationExpiryQueue;
+  private final TransactionTemplate transactionTemplate;
+  private final int defaultTtlSeconds;
+
+  @Autowired
+  public StockReservationServiceImpl(
+      StockReservationRepository stockReservationRepository,
+      InventoryService inventoryService,
+      ReferenceResolver referenceResolver,
+      ReservationExpiryQueue reservationExpiryQueue,
+      TransactionTemplate transactionTemplate,
+      @Value("${shop.inventory.reservation.default-ttl-seconds:600}") int defaultTtlSeconds) {
+    this.stockReservationRepository = stockReservationRepository;
+    this.inventoryService = inventoryService;
+    this.referenceResolver = referenceResolver;
+    this.reservationExpiryQueue = reservationExpiryQueue;
+    this.transactionTemplate = transactionTemplate;
+    this.defaultTtlSeconds = defaultTtlSeconds;
+  }
+
+  @Override
+  @Transactional
+  public StockReservationDTO createReservation(StockReservationRequestDTO request) {
+    Map<Long, Integer> quantities = new TreeMap<>();
+    for (StockReservationItemDTO item : request.getItems()) {
+      quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+    }
+
+    ReferenceResolver.Check check = referenceResolver.check();
+    quantities
+        .keySet()
+        .forEach(id -> check.require(Product.class, id, "Produto não encontrado com id: " + id));
+    check.verify();
+
+    inventoryService.applyStockMovements(quantities);
+
+    String token = UUID.randomUUID().toString();
+    int ttl = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultTtlSeconds;
+    LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(ttl);
+    List<StockReservation> reservations = new ArrayList<>();
+    quantities.forEach(
+        (productId, quantity) ->
+            reservations.add(new StockReservation(null, token, productId, quantity, expiresAt)));
+    stockReservationRepository.saveAll(reservations);
+
+    TransactionHooks.afterCommit(() -> reservationExpiryQueue.schedule(token, expiresAt));
+    return convertToDTO(token, expiresAt, quantities);
+  }
+
+  @Override
+  public StockReservationDTO getReservation(String token) {
+    List<StockReservation> reservations = stockReservationRepository.findReservationsByToken(token);
+    if (reservations.isEmpty()) {
+      throw new EntityNotFoundException("Reserva de estoque não encontrada: " + token);
+    }
+    Map<Long, Integer> quantities = new TreeMap<>();
+    reservations.forEach(r -> quantities.put(r.getProductId(), r.getQuantity()));
+    return convertToDTO(token, reservations.get(0).getExpiresAt(), quantities);
+  }
+
+  @Override
+  @Transactional
+  public void releaseReservation(String token) {
+    if (!restore(stockReservationRepository.deleteReservation(token))) {
+      throw new EntityNotFoundException("Reserva de estoque não encontrada: " + token);
+    }
+  }
+
+  @Override
+  @Transactional
+  public Map<Long, Integer> claimReservation(String token) {
+    List<StockLevel> claimed =
+        stockReservationRepository.claimReservation(token, LocalDateTime.now());
+    if (claimed.isEmpty()) {
+      throw new ReservationExpiredException(token);
+    }
+    return claimed.stream()
+        .collect(Collectors.toMap(StockLevel::getProductId, StockLevel::getQuantity));
+  }
+
+  /** Agenda as reservas que sobreviveram a um reinício e inicia a liberação das vencidas. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void startReaper() {
+    for (ReservationExpiry pending : stockReservationRepository.findPendingExpirations()) {
+      reservationExpiryQueue.schedule(pending.getToken(), pending.getExpiresAt());
+    }
+    reservationExpiryQueue.start(
+        token ->
+            transactionTemplate.executeWithoutResult(
+                status -> restore(stockReservationRepository.deleteReservation(token))));
+  }
+
+  private boolean restore(List<StockLevel> released) {
+    Map<Long, Integer> movements = new HashMap<>();
+    released.forEach(row -> movements.merge(row.getProductId(), -row.getQuantity(), Integer::sum));
+    inventoryService.applyStockMovements(movements);
+    return !released.isEmpty();
+  }
+
+  private StockReservationDTO convertToDTO(
+      String token, LocalDateTime expiresAt, Map<Long, Integer> quantities) {
+    List<StockReservationItemDTO> items =
+        quantities.entrySet().stream()
+            .map(entry -> new StockReservationItemDTO(entry.getKey(), entry.getValue()))
+            .collect(Collectors.toList());
+    return new StockReservationDTO(token, expiresAt, items);
+  }
+}
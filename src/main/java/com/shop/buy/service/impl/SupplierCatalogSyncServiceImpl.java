@@ -0,0 +1,74 @@
+package com.shop.buy.service.impl;
+
+import com.shop.buy.cache.ProductNameIndex;
+import com.shop.buy.cache.ReferenceDataCache;
+import com.shop.buy.dto.SupplierCatalogItemDTO;
+import com.shop.buy.dto.SupplierCatalogSyncDTO;
+import com.shop.buy.dto.SupplierCatalogSyncResultDTO;
+import com.shop.buy.repository.SupplierCatalogSyncRepository;
+import com.shop.buy.service.SupplierCatalogSyncService;
+import com.shop.buy.util.TransactionHooks;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class SupplierCatalogSyncServiceImpl implements SupplierCatalogSyncService {
+
+  private final SupplierCatalogSyncRepository syncRepository;
+  private final ReferenceDataCache referenceData;
+  private final ProductNameIndex productNameIndex;
+
+  @Autowired
+  public SupplierCatalogSyncServiceImpl(
+      SupplierCatalogSyncRepository syncRepository,
+      ReferenceDataCache referenceData,
+      ProductNameIndex productNameIndex) {
+    this.syncRepository = syncRepository;
+    this.referenceData = referenceData;
+    this.productNameIndex = productNameIndex;
+  }
+
+  @Override
+  @Transactional
+  public SupplierCatalogSyncResultDTO syncCatalog(Long supplierId, SupplierCatalogSyncDTO catalog) {
+    ReferenceDataCache.Snapshot snapshot = referenceData.snapshot();
+    snapshot.requireSupplier(supplierId);
+    List<SupplierCatalogItemDTO> items = catalog.getItems();
+    validateItems(snapshot, items);
+
+    syncRepository.stage(items);
+    SupplierCatalogSyncRepository.Delta delta =
+        syncRepository.applyDelta(supplierId, LocalDateTime.now());
+    if (delta.inserted() + delta.updated() > 0) {
+      // a reconstrução também lê os produtos desativados por esta sincronização
+      TransactionHooks.afterCommit(productNameIndex::rebuild);
+    } else if (!delta.deactivatedIds().isEmpty()) {
+      TransactionHooks.afterCommit(() -> productNameIndex.deactivate(delta.deactivatedIds()));
+    }
+
+    long received = items.size();
+    return new SupplierCatalogSyncResultDTO(
+        received,
+        delta.inserted(),
+        delta.updated(),
+        delta.deactivatedIds().size(),
+        received - delta.inserted() - delta.updated());
+  }
+
+  private void validateItems(
+      ReferenceDataCache.Snapshot snapshot, List<SupplierCatalogItemDTO> items) {
+    Set<String> skus = new HashSet<>();
+    for (SupplierCatalogItemDTO item : items) {
+      if (!skus.add(item.getSku().trim())) {
+        throw new IllegalArgumentException("SKU repetido na lista: " + item.getSku().trim());
+      }
+      snapshot.requireCategory(item.getCategoryId());
+      snapshot.requireBrand(item.getBrandId());
+    }
+  }
+}
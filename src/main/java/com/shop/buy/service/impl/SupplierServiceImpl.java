@@ -1,9 +1,13 @@
 package com.shop.buy.service.impl;
 
+import com.shop.buy.cache.ReferenceDataCache;
 import com.shop.buy.dto.SupplierDTO;
+import com.shop.buy.exception.DuplicateResourceException;
 import com.shop.buy.model.Supplier;
 import com.shop.buy.repository.SupplierRepository;
 import com.shop.buy.service.SupplierService;
+import com.shop.buy.util.DocumentNumbers;
+import com.shop.buy.util.TransactionHooks;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,27 +19,39 @@ import org.springframework.transaction.annotation.Transactional;
 public class SupplierServiceImpl implements SupplierService {
 
   private final SupplierRepository supplierRepository;
+  private final ReferenceDataCache referenceDataCache;
 
   @Autowired
-  public SupplierServiceImpl(SupplierRepository supplierRepository) {
+  public SupplierServiceImpl(
+      SupplierRepository supplierRepository, ReferenceDataCache referenceDataCache) {
     this.supplierRepository = supplierRepository;
+    this.referenceDataCache = referenceDataCache;
   }
 
   @Override
   public List<SupplierDTO> getAllSuppliers() {
-    return supplierRepository.findAllSuppliers().stream()
+    return referenceDataCache.suppliers().stream()
         .map(this::convertToDTO)
         .collect(Collectors.toList());
   }
 
   @Override
   public SupplierDTO getSupplierById(Long id) {
-    Supplier supplier =
-        supplierRepository
-            .findSupplierById(id)
-            .orElseThrow(
-                () -> new EntityNotFoundException("Fornecedor não encontrado com id: " + id));
-    return convertToDTO(supplier);
+    return convertToDTO(referenceDataCache.snapshot().requireSupplier(id));
+  }
+
+  @Override
+  public SupplierDTO getSupplierByCnpj(String cnpj) {
+    List<Supplier> suppliers =
+        supplierRepository.findSuppliersByCnpjDigits(DocumentNumbers.cnpjDigits(cnpj));
+    if (suppliers.isEmpty()) {
+      throw new EntityNotFoundException("Fornecedor não encontrado com CNPJ: " + cnpj);
+    }
+    if (suppliers.size() > 1) {
+      throw new DuplicateResourceException(
+          "Mais de um fornecedor cadastrado com o CNPJ " + cnpj + "; corrija o cadastro duplicado");
+    }
+    return convertToDTO(suppliers.get(0));
   }
 
   @Override
@@ -43,31 +59,30 @@ public class SupplierServiceImpl implements SupplierService {
   public SupplierDTO createSupplier(SupplierDTO supplierDTO) {
     Supplier supplier = convertToEntity(supplierDTO);
     Supplier savedSupplier = supplierRepository.saveSupplier(supplier);
+    TransactionHooks.afterCommit(() -> referenceDataCache.putSupplier(savedSupplier));
     return convertToDTO(savedSupplier);
   }
 
   @Override
   @Transactional
   public SupplierDTO updateSupplier(Long id, SupplierDTO supplierDTO) {
-
-    supplierRepository
-        .findSupplierById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Fornecedor não encontrado com id: " + id));
-
     Supplier supplier = convertToEntity(supplierDTO);
-    Supplier updatedSupplier = supplierRepository.updateSupplier(id, supplier);
+    Supplier updatedSupplier =
+        supplierRepository
+            .updateSupplier(id, supplier)
+            .orElseThrow(
+                () -> new EntityNotFoundException("Fornecedor não encontrado com id: " + id));
+    TransactionHooks.afterCommit(() -> referenceDataCache.putSupplier(updatedSupplier));
     return convertToDTO(updatedSupplier);
   }
 
   @Override
   @Transactional
   public void deleteSupplier(Long id) {
-
-    supplierRepository
-        .findSupplierById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Fornecedor não encontrado com id: " + id));
-
-    supplierRepository.deleteSupplier(id);
+    if (supplierRepository.deleteSupplier(id) == 0) {
+      throw new EntityNotFoundException("Fornecedor não encontrado com id: " + id);
+    }
+    TransactionHooks.afterCommit(() -> referenceDataCache.removeSupplier(id));
   }
 
   private SupplierDTO convertToDTO(Supplier supplier) {
@@ -0,0 +1,96 @@
+package com.shop.buy.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) registro a registro, sem carregar o arquivo em memória. Aceita campos
+ * entre aspas com vírgulas, quebras de linha e aspas duplicadas.
+ */
+public final class CsvReader implements Closeable {
+
+  private final Reader reader;
+  private int pending = -2;
+  private long line = 1;
+  private long recordLine;
+
+  public CsvReader(Reader reader) {
+    this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+  }
+
+  /** Próximo registro, ou {@code null} no fim do arquivo. */
+  public List<String> next() throws IOException {
+    int c = read();
+    if (c == -1) {
+      return null;
+    }
+    recordLine = c == '\n' ? line - 1 : line;
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new IOException("Aspas não fechadas no registro da linha " + recordLine);
+        }
+        if (c == '"') {
+          int after = read();
+          if (after == '"') {
+            field.append('"');
+          } else {
+            quoted = false;
+            c = after;
+            continue;
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\r' || c == '\n' || c == -1) {
+        if (c == '\r') {
+          int after = read();
+          if (after != '\n') {
+            pending = after;
+          }
+        }
+        fields.add(field.toString());
+        return fields;
+      } else {
+        field.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  /** Linha do arquivo (a partir de 1) em que começa o último registro lido. */
+  public long recordLine() {
+    return recordLine;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private int read() throws IOException {
+    int c;
+    if (pending != -2) {
+      c = pending;
+      pending = -2;
+    } else {
+      c = reader.read();
+    }
+    if (c == '\n') {
+      line++;
+    }
+    return c;
+  }
+}
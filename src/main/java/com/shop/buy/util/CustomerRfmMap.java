@@ -0,0 +1,77 @@
+package com.shop.buy.util;
+
+import java.util.Arrays;
+
+/**
+ * Acumulador de recência, frequência e valor por cliente, sem objetos por entrada: um {@link
+ * LongIntHashMap} associa cada ID de cliente a uma posição densa, e as colunas guardam o dia da
+ * última compra, a quantidade de vendas e o total gasto em centavos. Não é thread-safe.
+ */
+public final class CustomerRfmMap {
+
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(long customerId, int lastEpochDay, int orders, long spentCents);
+  }
+
+  private final LongIntHashMap positions;
+  private long[] customerIds;
+  private int[] lastEpochDays;
+  private int[] orders;
+  private long[] spentCents;
+  private int size;
+
+  public CustomerRfmMap() {
+    this(16);
+  }
+
+  public CustomerRfmMap(int expectedSize) {
+    int capacity = Math.max(4, expectedSize);
+    positions = new LongIntHashMap(capacity);
+    customerIds = new long[capacity];
+    lastEpochDays = new int[capacity];
+    orders = new int[capacity];
+    spentCents = new long[capacity];
+  }
+
+  /** Registra uma venda do cliente. */
+  public void record(long customerId, int epochDay, long cents) {
+    add(customerId, epochDay, 1, cents);
+  }
+
+  public void addAll(CustomerRfmMap other) {
+    other.forEach(this::add);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void forEach(EntryConsumer consumer) {
+    for (int i = 0; i < size; i++) {
+      consumer.accept(customerIds[i], lastEpochDays[i], orders[i], spentCents[i]);
+    }
+  }
+
+  private void add(long customerId, int lastEpochDay, int orderCount, long cents) {
+    int i = positions.putIfAbsent(customerId, size);
+    if (i < size) {
+      lastEpochDays[i] = Math.max(lastEpochDays[i], lastEpochDay);
+      orders[i] += orderCount;
+      spentCents[i] += cents;
+      return;
+    }
+    if (size == customerIds.length) {
+      int capacity = size << 1;
+      customerIds = Arrays.copyOf(customerIds, capacity);
+      lastEpochDays = Arrays.copyOf(lastEpochDays, capacity);
+      orders = Arrays.copyOf(orders, capacity);
+      spentCents = Arrays.copyOf(spentCents, capacity);
+    }
+    customerIds[size] = customerId;
+    lastEpochDays[size] = lastEpochDay;
+    orders[size] = orderCount;
+    spentCents[size] = cents;
+    size++;
+  }
+}
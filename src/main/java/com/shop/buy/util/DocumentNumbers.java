@@ -0,0 +1,60 @@
+package com.shop.buy.util;
+
+/** Normalização e validação de CPF e CNPJ, com ou sem pontuação. */
+public final class DocumentNumbers {
+
+  public static final int CPF_LENGTH = 11;
+  public static final int CNPJ_LENGTH = 14;
+
+  private DocumentNumbers() {}
+
+  /** Mantém apenas os dígitos; é a mesma expressão indexada no banco (regexp_replace '\D'). */
+  public static String digits(String value) {
+    return value == null ? "" : value.replaceAll("\\D", "");
+  }
+
+  public static String cpfDigits(String cpf) {
+    String digits = digits(cpf);
+    if (digits.length() != CPF_LENGTH) {
+      throw new IllegalArgumentException("CPF deve conter 11 dígitos: " + cpf);
+    }
+    return digits;
+  }
+
+  /** Confere o tamanho e os dois dígitos verificadores de um CPF só com números. */
+  public static boolean isValidCpf(String digits) {
+    if (digits.length() != CPF_LENGTH || digits.chars().distinct().count() == 1) {
+      return false;
+    }
+    return checkDigit(digits, 9) == digits.charAt(9) - '0'
+        && checkDigit(digits, 10) == digits.charAt(10) - '0';
+  }
+
+  /** Formato usado no cadastro de clientes: XXX.XXX.XXX-XX. */
+  public static String formatCpf(String digits) {
+    return digits.substring(0, 3)
+        + "."
+        + digits.substring(3, 6)
+        + "."
+        + digits.substring(6, 9)
+        + "-"
+        + digits.substring(9, 11);
+  }
+
+  public static String cnpjDigits(String cnpj) {
+    String digits = digits(cnpj);
+    if (digits.length() != CNPJ_LENGTH) {
+      throw new IllegalArgumentException("CNPJ deve conter 14 dígitos: " + cnpj);
+    }
+    return digits;
+  }
+
+  private static int checkDigit(String digits, int length) {
+    int sum = 0;
+    for (int i = 0; i < length; i++) {
+      sum += (digits.charAt(i) - '0') * (length + 1 - i);
+    }
+    int remainder = sum % 11;
+    return remainder < 2 ? 0 : 11 - remainder;
+  }
+}
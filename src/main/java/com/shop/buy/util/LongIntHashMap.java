@@ -0,0 +1,125 @@
+package com.shop.buy.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de {@code long} para {@code int} com endereçamento aberto, sem objetos por entrada. Não é
+ * thread-safe. A chave {@link #EMPTY} é reservada.
+ */
+public final class LongIntHashMap {
+
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(long key, int value);
+  }
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final float LOAD_FACTOR = 0.6f;
+
+  private long[] keys;
+  private int[] values;
+  private int size;
+  private int resizeAt;
+
+  public LongIntHashMap() {
+    this(16);
+  }
+
+  public LongIntHashMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+    allocate(capacity);
+  }
+
+  public int get(long key) {
+    int slot = find(key);
+    return keys[slot] == key ? values[slot] : 0;
+  }
+
+  /** Soma {@code delta} ao valor da chave, criando-a com zero se não existir. */
+  public void add(long key, int delta) {
+    int slot = slotFor(key);
+    if (keys[slot] == key) {
+      values[slot] += delta;
+      return;
+    }
+    insert(slot, key, delta);
+  }
+
+  /**
+   * Associa {@code value} à chave se ela ainda não existir. Retorna o valor já associado, ou o
+   * próprio {@code value} quando a chave é nova.
+   */
+  public int putIfAbsent(long key, int value) {
+    int slot = slotFor(key);
+    if (keys[slot] == key) {
+      return values[slot];
+    }
+    insert(slot, key, value);
+    return value;
+  }
+
+  public void addAll(LongIntHashMap other) {
+    other.forEach(this::add);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void forEach(EntryConsumer consumer) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY) {
+        consumer.accept(keys[i], values[i]);
+      }
+    }
+  }
+
+  private int slotFor(long key) {
+    if (key == EMPTY) {
+      throw new IllegalArgumentException("Chave reservada: " + key);
+    }
+    return find(key);
+  }
+
+  private void insert(int slot, long key, int value) {
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size >= resizeAt) {
+      resize(keys.length << 1);
+    }
+  }
+
+  private int find(long key) {
+    int mask = keys.length - 1;
+    int slot = mix(key) & mask;
+    while (keys[slot] != EMPTY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int slot = find(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    values = new int[capacity];
+    resizeAt = (int) (capacity * LOAD_FACTOR);
+  }
+
+  private static int mix(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
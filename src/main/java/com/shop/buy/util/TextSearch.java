@@ -0,0 +1,56 @@
+package com.shop.buy.util;
+
+import com.shop.buy.dto.PageResponse;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Fluxo comum das buscas paginadas por trecho de texto: valida o termo, limita a página, monta o
+ * padrão ILIKE "contém" e converte o resultado em {@link PageResponse}.
+ */
+public final class TextSearch {
+
+  public static final int MAX_PAGE_SIZE = 100;
+
+  /** Consulta do repositório que recebe o termo, o padrão ILIKE e a página. */
+  @FunctionalInterface
+  public interface Query<E> {
+    Page<E> find(String term, String pattern, Pageable pageable);
+  }
+
+  private TextSearch() {}
+
+  /**
+   * Executa a consulta com o termo sem espaços nas pontas. Lança {@link IllegalArgumentException}
+   * com {@code missingTermMessage} se o termo estiver vazio.
+   */
+  public static <E, D> PageResponse<D> page(
+      String text,
+      String missingTermMessage,
+      int page,
+      int size,
+      Query<E> query,
+      Function<E, D> converter) {
+    if (text == null || text.isBlank()) {
+      throw new IllegalArgumentException(missingTermMessage);
+    }
+    String term = text.trim();
+    int pageNumber = Math.max(page, 0);
+    int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+    Page<E> result = query.find(term, containsPattern(term), PageRequest.of(pageNumber, pageSize));
+    return new PageResponse<>(
+        result.getContent().stream().map(converter).collect(Collectors.toList()),
+        pageNumber,
+        pageSize,
+        result.getTotalElements());
+  }
+
+  /** Padrão ILIKE "contém", escapando os curingas digitados pelo usuário. */
+  public static String containsPattern(String term) {
+    return "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+  }
+}
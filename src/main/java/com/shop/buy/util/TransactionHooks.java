@@ -0,0 +1,46 @@
+package com.shop.buy.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilitários para executar ações em memória somente depois que a transação for confirmada ou
+ * desfeita.
+ */
+public final class TransactionHooks {
+
+  private TransactionHooks() {}
+
+  public static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  /** Executa {@code onCommit} se a transação for confirmada e {@code onRollback} caso contrário. */
+  public static void afterCompletion(Runnable onCommit, Runnable onRollback) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      onCommit.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+              onCommit.run();
+            } else {
+              onRollback.run();
+            }
+          }
+        });
+  }
+}
@@ -0,0 +1,33 @@
+package com.shop.buy.util;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Snapshot de transações do PostgreSQL no formato de {@code pg_current_snapshot()}: {@code
+ * xmin:xmax:xip1,xip2,...}. Diz se o que uma transação confirmou já aparecia nas leituras feitas
+ * com esse snapshot.
+ */
+public record TransactionSnapshot(long xmin, long xmax, Set<Long> inProgress) {
+
+  public static TransactionSnapshot parse(String text) {
+    String[] parts = text.split(":", -1);
+    if (parts.length != 3) {
+      throw new IllegalArgumentException("Snapshot de transações inválido: " + text);
+    }
+    Set<Long> inProgress =
+        parts[2].isEmpty()
+            ? Set.of()
+            : Arrays.stream(parts[2].split(",")).map(Long::valueOf).collect(Collectors.toSet());
+    return new TransactionSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+  }
+
+  /** Diz se a transação, já confirmada, tinha terminado quando o snapshot foi tirado. */
+  public boolean isVisible(long transactionId) {
+    if (transactionId < xmin) {
+      return true;
+    }
+    return transactionId < xmax && !inProgress.contains(transactionId);
+  }
+}
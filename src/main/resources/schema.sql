@@ -0,0 +1,76 @@
+-- Executado a cada inicialização, depois que o Hibernate cria ou atualiza as tabelas
+-- (spring.jpa.defer-datasource-initialization). Só deve conter comandos idempotentes para o que o
+-- mapeamento JPA não consegue expressar, como índices sobre expressões e índices GIN.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- bancos criados antes das chaves nomeadas uk_customers_cpf e uk_suppliers_cnpj ainda têm as
+-- restrições únicas com nome gerado pelo Hibernate sobre as mesmas colunas; elas são removidas
+-- para que todo conflito seja reportado pelo nome conhecido. O corpo fica entre aspas simples
+-- (e não $$) para que o separador de comandos do Spring não o quebre nos pontos e vírgulas.
+DO '
+DECLARE
+    stale record;
+BEGIN
+    FOR stale IN
+        SELECT c.conrelid::regclass::text AS table_name, c.conname
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND c.conkey = ARRAY[a.attnum]
+        WHERE c.contype = ''u''
+          AND ((c.conrelid = ''customers''::regclass AND a.attname = ''cpf''
+                AND c.conname <> ''uk_customers_cpf'')
+            OR (c.conrelid = ''suppliers''::regclass AND a.attname = ''cnpj''
+                AND c.conname <> ''uk_suppliers_cnpj''))
+    LOOP
+        EXECUTE format(''ALTER TABLE %s DROP CONSTRAINT IF EXISTS %I'', stale.table_name,
+                       stale.conname);
+    END LOOP;
+END';
+
+-- nome de marca único sem diferenciar maiúsculas e minúsculas. Em bancos com marcas que só
+-- diferem na caixa o índice não pode ser criado; a inicialização para listando essas marcas, que
+-- devem ser unificadas antes.
+DO '
+DECLARE
+    duplicates text;
+BEGIN
+    IF to_regclass(''uk_brands_lower_name'') IS NULL THEN
+        SELECT string_agg(names, ''; '') INTO duplicates
+        FROM (SELECT string_agg(format(''%s (id %s)'', name, id), '', '' ORDER BY id) AS names
+              FROM brands
+              GROUP BY lower(name)
+              HAVING count(*) > 1) d;
+        IF duplicates IS NOT NULL THEN
+            RAISE EXCEPTION ''Marcas com nomes iguais sem diferenciar maiúsculas: %'', duplicates
+                USING HINT = ''Unifique-as para que uk_brands_lower_name possa ser criado.'';
+        END IF;
+    END IF;
+END';
+CREATE UNIQUE INDEX IF NOT EXISTS uk_brands_lower_name ON brands (lower(name));
+
+-- busca por trecho do nome (ILIKE '%termo%') e por similaridade
+CREATE INDEX IF NOT EXISTS idx_brands_name_trgm ON brands USING gin (name gin_trgm_ops);
+
+-- parent_id sem pai existente quebraria os caminhos; NOT VALID valida só as linhas novas, para
+-- não impedir a inicialização de bancos que já tenham categorias órfãs
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''fk_categories_parent'') THEN
+        ALTER TABLE categories ADD CONSTRAINT fk_categories_parent
+            FOREIGN KEY (parent_id) REFERENCES categories (id) NOT VALID;
+    END IF;
+END';
+
+-- produtos de uma subárvore de categorias: path LIKE '/1/5/%'
+CREATE INDEX IF NOT EXISTS idx_categories_path ON categories (path text_pattern_ops);
+
+-- busca aproximada de clientes por nome e, opcionalmente, por trechos do email e do telefone
+CREATE INDEX IF NOT EXISTS idx_customers_name_trgm ON customers USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customers_email_trgm ON customers USING gin (email gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customers_phone_trgm ON customers USING gin (phone gin_trgm_ops);
+
+-- consulta por CPF/CNPJ ignorando a pontuação; a expressão deve ser idêntica à das consultas
+CREATE INDEX IF NOT EXISTS idx_customers_cpf_digits
+    ON customers (regexp_replace(cpf, '\D', '', 'g'));
+CREATE INDEX IF NOT EXISTS idx_suppliers_cnpj_digits
+    ON suppliers (regexp_replace(cnpj, '\D', '', 'g'));
@@ -0,0 +1,29 @@
+package com.shop.buy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Teste que sobe a aplicação contra um PostgreSQL de teste. As consultas nativas (grouping sets,
+ * ON CONFLICT, COPY) não rodam em bancos embutidos, por isso esses testes só executam quando
+ * {@code TEST_DATABASE_URL} (e, se preciso, {@code TEST_DATABASE_USERNAME} e {@code
+ * TEST_DATABASE_PASSWORD}) aponta para um banco descartável. Cada teste roda em uma transação
+ * desfeita ao final.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=${TEST_DATABASE_URL}",
+      "spring.datasource.username=${TEST_DATABASE_USERNAME:}",
+      "spring.datasource.password=${TEST_DATABASE_PASSWORD:}",
+      "spring.jpa.show-sql=false"
+    })
+@Transactional
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+public @interface PostgresTest {}
@@ -0,0 +1,82 @@
+package com.shop.buy;
+
+import com.shop.buy.model.Brand;
+import com.shop.buy.model.Category;
+import com.shop.buy.model.Product;
+import com.shop.buy.model.Supplier;
+import com.shop.buy.repository.BrandRepository;
+import com.shop.buy.repository.CategoryRepository;
+import com.shop.buy.repository.ProductRepository;
+import com.shop.buy.repository.SupplierRepository;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cria cadastros de apoio para os testes de integração. Nomes e CNPJs recebem um sufixo
+ * aleatório para não colidir com os dados de exemplo nem com as restrições de unicidade.
+ */
+@Component
+public class TestCatalog {
+
+  private final CategoryRepository categoryRepository;
+  private final BrandRepository brandRepository;
+  private final SupplierRepository supplierRepository;
+  private final ProductRepository productRepository;
+
+  public TestCatalog(
+      CategoryRepository categoryRepository,
+      BrandRepository brandRepository,
+      SupplierRepository supplierRepository,
+      ProductRepository productRepository) {
+    this.categoryRepository = categoryRepository;
+    this.brandRepository = brandRepository;
+    this.supplierRepository = supplierRepository;
+    this.productRepository = productRepository;
+  }
+
+  public Category category(String name) {
+    Category category = new Category();
+    category.setName(unique(name));
+    return categoryRepository.saveAndFlush(category);
+  }
+
+  public Brand brand(String name) {
+    Brand brand = new Brand();
+    brand.setName(unique(name));
+    return brandRepository.saveAndFlush(brand);
+  }
+
+  public Supplier supplier(String name) {
+    Supplier supplier = new Supplier();
+    supplier.setName(unique(name));
+    supplier.setCnpj(
+        String.format("%014d", ThreadLocalRandom.current().nextLong(100_000_000_000_000L)));
+    return supplierRepository.saveAndFlush(supplier);
+  }
+
+  public Product product(
+      String sku,
+      Category category,
+      Brand brand,
+      Supplier supplier,
+      String size,
+      String color,
+      String price) {
+    Product product = new Product();
+    product.setSku(sku);
+    product.setName(unique("Produto " + sku));
+    product.setSize(size);
+    product.setColor(color);
+    product.setPrice(new BigDecimal(price));
+    product.setCategory(category);
+    product.setBrand(brand);
+    product.setSupplier(supplier);
+    return productRepository.saveAndFlush(product);
+  }
+
+  private static String unique(String name) {
+    return name + " " + UUID.randomUUID().toString().substring(0, 8);
+  }
+}
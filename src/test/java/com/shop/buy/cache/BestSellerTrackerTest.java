@@ -0,0 +1,82 @@
+package com.shop.buy.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.shop.buy.cache.BestSellerTracker.Metric;
+import com.shop.buy.cache.BestSellerTracker.Ranking;
+import com.shop.buy.cache.BestSellerTracker.Window;
+import com.shop.buy.repository.SaleItemRepository;
+import com.shop.buy.repository.projection.ProductSalesBucket;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class BestSellerTrackerTest {
+
+  private record Row(Long getProductId, LocalDateTime getHour, Long getUnits, BigDecimal getRevenue)
+      implements ProductSalesBucket {}
+
+  private final LocalDateTime now = LocalDateTime.now();
+  private SaleItemRepository saleItemRepository;
+  private BestSellerTracker tracker;
+
+  @BeforeEach
+  void createTracker() {
+    saleItemRepository = mock(SaleItemRepository.class);
+    tracker = new BestSellerTracker(saleItemRepository, mock(PlatformTransactionManager.class));
+  }
+
+  @Test
+  void ranksRecordedSalesByUnits() {
+    tracker.record(1, now, 7L, 2, new BigDecimal("10.00"));
+    tracker.record(1, now, 8L, 5, new BigDecimal("1.00"));
+    tracker.record(2, now, 8L, -1, new BigDecimal("1.00"));
+
+    assertThat(tracker.top(Window.DAY, Metric.UNITS, 10))
+        .containsExactly(new Ranking(8L, 4, 400), new Ranking(7L, 2, 2000));
+  }
+
+  @Test
+  void rebuildReplacesTheCountersWithTheDatabaseTotals() {
+    tracker.record(1, now, 7L, 2, new BigDecimal("10.00"));
+    when(saleItemRepository.currentSnapshot()).thenReturn("100:100:");
+    when(saleItemRepository.sumSalesByProductAndHour(any()))
+        .thenReturn(List.of(new Row(8L, hour(), 3L, new BigDecimal("30.00"))));
+
+    tracker.rebuild();
+
+    assertThat(tracker.top(Window.DAY, Metric.UNITS, 10))
+        .containsExactly(new Ranking(8L, 3, 3000));
+  }
+
+  /** Vendas registradas durante a leitura só entram no anel novo se não estavam no snapshot. */
+  @Test
+  void rebuildReplaysOnlySalesMissingFromTheSnapshot() {
+    when(saleItemRepository.currentSnapshot()).thenReturn("100:105:102");
+    when(saleItemRepository.sumSalesByProductAndHour(any()))
+        .thenAnswer(
+            invocation -> {
+              tracker.record(101, now, 7L, 1, BigDecimal.ONE);
+              tracker.record(102, now, 8L, 1, BigDecimal.ONE);
+              tracker.record(105, now, 9L, 1, BigDecimal.ONE);
+              return List.of(new Row(7L, hour(), 1L, BigDecimal.ONE));
+            });
+
+    tracker.rebuild();
+
+    assertThat(tracker.top(Window.DAY, Metric.UNITS, 10))
+        .containsExactlyInAnyOrder(
+            new Ranking(7L, 1, 100), new Ranking(8L, 1, 100), new Ranking(9L, 1, 100));
+  }
+
+  private LocalDateTime hour() {
+    return now.truncatedTo(ChronoUnit.HOURS);
+  }
+}
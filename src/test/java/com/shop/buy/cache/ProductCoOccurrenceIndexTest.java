@@ -0,0 +1,76 @@
+package com.shop.buy.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.shop.buy.cache.ProductCoOccurrenceIndex.Related;
+import com.shop.buy.repository.SaleItemRepository;
+import com.shop.buy.repository.projection.SaleProductPair;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ProductCoOccurrenceIndexTest {
+
+  private record Pair(Long getSaleId, Long getProductId) implements SaleProductPair {}
+
+  private SaleItemRepository saleItemRepository;
+  private ProductCoOccurrenceIndex index;
+
+  @BeforeEach
+  void createIndex() {
+    saleItemRepository = mock(SaleItemRepository.class);
+    index =
+        new ProductCoOccurrenceIndex(saleItemRepository, mock(PlatformTransactionManager.class));
+  }
+
+  @Test
+  void countsProductsBoughtTogether() {
+    index.recordBasket(1, List.of(1L, 2L, 3L), 1);
+    index.recordBasket(2, List.of(1L, 2L), 1);
+
+    assertThat(index.related(1L, 10))
+        .containsExactly(new Related(2L, 2, 1.0), new Related(3L, 1, 0.5));
+  }
+
+  @Test
+  void removedBasketsStopCounting() {
+    index.recordBasket(1, List.of(1L, 2L), 1);
+    index.recordBasket(2, List.of(1L, 2L), -1);
+
+    assertThat(index.related(1L, 10)).isEmpty();
+  }
+
+  @Test
+  void rebuildLoadsTheBasketsOfEverySale() {
+    when(saleItemRepository.currentSnapshot()).thenReturn("100:100:");
+    when(saleItemRepository.findDistinctSaleProducts())
+        .thenReturn(List.of(new Pair(10L, 1L), new Pair(10L, 2L), new Pair(11L, 1L)));
+
+    index.rebuild();
+
+    assertThat(index.related(1L, 10)).containsExactly(new Related(2L, 1, 0.5));
+  }
+
+  /** Vendas registradas durante a leitura só entram no índice se não estavam no snapshot. */
+  @Test
+  void rebuildReplaysOnlySalesMissingFromTheSnapshot() {
+    when(saleItemRepository.currentSnapshot()).thenReturn("100:105:102");
+    when(saleItemRepository.findDistinctSaleProducts())
+        .thenAnswer(
+            invocation -> {
+              index.recordBasket(101, List.of(1L, 2L), 1);
+              index.recordBasket(102, List.of(1L, 3L), 1);
+              index.recordBasket(105, List.of(1L, 4L), 1);
+              return List.of(new Pair(10L, 1L), new Pair(10L, 2L));
+            });
+
+    index.rebuild();
+
+    assertThat(index.related(1L, 10))
+        .containsExactly(
+            new Related(2L, 1, 1.0 / 3), new Related(3L, 1, 1.0 / 3), new Related(4L, 1, 1.0 / 3));
+  }
+}
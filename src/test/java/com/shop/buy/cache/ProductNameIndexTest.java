@@ -0,0 +1,62 @@
+package com.shop.buy.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.shop.buy.repository.ProductRepository;
+import com.shop.buy.repository.projection.ProductNameView;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductNameIndexTest {
+
+  private record Name(Long getId, String getName, Boolean getActive) implements ProductNameView {}
+
+  private ProductNameIndex index;
+
+  @BeforeEach
+  void createIndex() {
+    ProductRepository productRepository = mock(ProductRepository.class);
+    when(productRepository.findAllProductNames())
+        .thenReturn(
+            List.of(
+                new Name(1L, "Camiseta Básica", true),
+                new Name(2L, "Camisa Polo", true),
+                new Name(3L, "Calça Jeans", false)));
+    index = new ProductNameIndex(productRepository);
+    index.rebuild();
+  }
+
+  @Test
+  void findsWordsByPrefixIgnoringCaseAndAccents() {
+    assertThat(index.search("BASI", 10)).containsOnlyKeys(1L);
+    assertThat(index.search("cam", 10)).containsOnlyKeys(1L, 2L);
+  }
+
+  @Test
+  void inactiveProductsStayOutOfTheSearch() {
+    assertThat(index.search("cal", 10)).isEmpty();
+    assertThat(index.nameOf(3L)).isEqualTo("Calça Jeans");
+  }
+
+  @Test
+  void deactivateRemovesProductsFromTheSearch() {
+    index.deactivate(List.of(2L));
+
+    assertThat(index.search("cam", 10)).containsOnlyKeys(1L);
+    assertThat(index.search("polo", 10)).isEmpty();
+    assertThat(index.nameOf(2L)).isEqualTo("Camisa Polo");
+  }
+
+  @Test
+  void renamingADeactivatedProductKeepsItOutOfTheSearch() {
+    index.deactivate(List.of(2L));
+
+    index.put(2L, "Camisa Social");
+
+    assertThat(index.search("social", 10)).isEmpty();
+    assertThat(index.nameOf(2L)).isEqualTo("Camisa Social");
+  }
+}
@@ -0,0 +1,97 @@
+package com.shop.buy.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shop.buy.repository.InventoryRepository;
+import com.shop.buy.repository.projection.InventoryLevel;
+import com.shop.buy.repository.projection.StockLevel;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FlashSaleQuotaManagerTest {
+
+  private InventoryRepository inventoryRepository;
+  private LowStockTracker lowStockTracker;
+  private FlashSaleQuotaManager manager;
+
+  @BeforeEach
+  void createManager() {
+    inventoryRepository = mock(InventoryRepository.class);
+    lowStockTracker = mock(LowStockTracker.class);
+    manager = new FlashSaleQuotaManager(inventoryRepository, lowStockTracker, true, 2);
+  }
+
+  @Test
+  void openReportsTheReducedStock() {
+    when(inventoryRepository.allocateStock(7L, 10))
+        .thenReturn(Optional.of(new Level(7L, 3, 5, 2L)));
+
+    manager.open(7L, 10);
+
+    verify(lowStockTracker).update(7L, 3, 5, 2);
+  }
+
+  @Test
+  void closeReturnsTheRemainderAndReportsTheStock() {
+    when(inventoryRepository.allocateStock(7L, 10))
+        .thenReturn(Optional.of(new Level(7L, 3, 5, 2L)));
+    when(inventoryRepository.settleAllocation(7L, 4, 6))
+        .thenReturn(Optional.of(new Level(7L, 9, 5, 3L)));
+    manager.open(7L, 10);
+    assertThat(manager.tryWithdraw(7L, 4)).isTrue();
+
+    manager.close(7L);
+
+    verify(inventoryRepository).settleAllocation(7L, 4, 6);
+    verify(lowStockTracker).update(7L, 9, 5, 3);
+    assertThat(manager.getStatuses()).isEmpty();
+  }
+
+  @Test
+  void startupReleasesAllocationsWithoutQuota() {
+    when(inventoryRepository.findAllocatedStock()).thenReturn(List.of(new Stock(7L, 4)));
+    when(inventoryRepository.settleAllocation(7L, 0, 4))
+        .thenReturn(Optional.of(new Level(7L, 12, 5, 9L)));
+
+    manager.releaseStaleAllocations();
+
+    verify(inventoryRepository).settleAllocation(7L, 0, 4);
+    verify(lowStockTracker).update(7L, 12, 5, 9);
+  }
+
+  @Test
+  void startupKeepsAllocationsOfLiveQuotas() {
+    when(inventoryRepository.allocateStock(7L, 10))
+        .thenReturn(Optional.of(new Level(7L, 3, 5, 2L)));
+    manager.open(7L, 10);
+    when(inventoryRepository.findAllocatedStock()).thenReturn(List.of(new Stock(7L, 10)));
+
+    manager.releaseStaleAllocations();
+
+    verify(inventoryRepository, never()).settleAllocation(anyLong(), anyLong(), anyLong());
+  }
+
+  @Test
+  void withdrawalAboveTheQuotaFallsBackToTheDatabase() {
+    when(inventoryRepository.allocateStock(7L, 2)).thenReturn(Optional.of(new Level(7L, 3, 5, 2L)));
+    manager.open(7L, 2);
+
+    assertThat(manager.tryWithdraw(7L, 3)).isFalse();
+    assertThat(manager.tryWithdraw(8L, 1)).isFalse();
+    verify(inventoryRepository, never()).decrementStock(anyLong(), anyInt());
+  }
+
+  private record Level(
+      Long getProductId, Integer getQuantity, Integer getReorderPoint, Long getVersion)
+      implements InventoryLevel {}
+
+  private record Stock(Long getProductId, Integer getQuantity) implements StockLevel {}
+}
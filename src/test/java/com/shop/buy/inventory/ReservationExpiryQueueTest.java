@@ -0,0 +1,68 @@
+package com.shop.buy.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReservationExpiryQueueTest {
+
+  private final BlockingQueue<String> expired = new LinkedBlockingQueue<>();
+  private ReservationExpiryQueue queue;
+
+  @BeforeEach
+  void startQueue() {
+    queue = new ReservationExpiryQueue();
+    queue.start(expired::add);
+  }
+
+  @AfterEach
+  void stopQueue() {
+    queue.stop();
+  }
+
+  @Test
+  void deliversTokensInExpiryOrder() throws InterruptedException {
+    LocalDateTime now = LocalDateTime.now();
+    queue.schedule("b", now.minusSeconds(1));
+    queue.schedule("a", now.minusSeconds(2));
+
+    assertThat(List.of(next(), next())).containsExactly("a", "b");
+  }
+
+  @Test
+  void holdsTokensUntilTheyExpire() throws InterruptedException {
+    queue.schedule("futura", LocalDateTime.now().plusSeconds(60));
+    queue.schedule("vencida", LocalDateTime.now().minusSeconds(1));
+
+    assertThat(next()).isEqualTo("vencida");
+    assertThat(expired.poll(200, TimeUnit.MILLISECONDS)).isNull();
+  }
+
+  @Test
+  void keepsRunningAfterAFailedRelease() throws InterruptedException {
+    queue.stop();
+    queue = new ReservationExpiryQueue();
+    queue.start(
+        token -> {
+          if (token.equals("falha")) {
+            throw new IllegalStateException("falha");
+          }
+          expired.add(token);
+        });
+    queue.schedule("falha", LocalDateTime.now().minusSeconds(2));
+    queue.schedule("ok", LocalDateTime.now().minusSeconds(1));
+
+    assertThat(next()).isEqualTo("ok");
+  }
+
+  private String next() throws InterruptedException {
+    return expired.poll(5, TimeUnit.SECONDS);
+  }
+}
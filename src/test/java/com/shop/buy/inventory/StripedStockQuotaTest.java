@@ -0,0 +1,118 @@
+package com.shop.buy.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class StripedStockQuotaTest {
+
+  @Test
+  void addSpreadsUnitsAcrossStripes() {
+    StripedStockQuota quota = new StripedStockQuota(4);
+    quota.add(10);
+
+    assertThat(quota.remaining()).isEqualTo(10);
+    assertThat(quota.drainAvailable()).isEqualTo(10);
+    assertThat(quota.remaining()).isZero();
+  }
+
+  @Test
+  void acquireCollectsUnitsFromEveryStripe() {
+    StripedStockQuota quota = new StripedStockQuota(4);
+    quota.add(10);
+
+    assertThat(quota.tryAcquire(10)).isTrue();
+    assertThat(quota.remaining()).isZero();
+  }
+
+  @Test
+  void failedAcquireReturnsWhatItTook() {
+    StripedStockQuota quota = new StripedStockQuota(4);
+    quota.add(5);
+
+    assertThat(quota.tryAcquire(6)).isFalse();
+    assertThat(quota.remaining()).isEqualTo(5);
+    assertThat(quota.tryAcquire(5)).isTrue();
+  }
+
+  @Test
+  void releaseReturnsUnits() {
+    StripedStockQuota quota = new StripedStockQuota(2);
+    quota.add(3);
+    quota.tryAcquire(3);
+
+    quota.release(2);
+
+    assertThat(quota.remaining()).isEqualTo(2);
+  }
+
+  @Test
+  void drainConsumedResetsPendingConsumption() {
+    StripedStockQuota quota = new StripedStockQuota(4);
+    quota.recordConsumed(3);
+    quota.recordConsumed(4);
+
+    assertThat(quota.pendingConsumption()).isEqualTo(7);
+    assertThat(quota.drainConsumed()).isEqualTo(7);
+    assertThat(quota.pendingConsumption()).isZero();
+  }
+
+  @Test
+  void enterIsRefusedOnceClosed() {
+    StripedStockQuota quota = new StripedStockQuota(4);
+    int slot = quota.enter();
+    assertThat(slot).isNotNegative();
+    assertThat(quota.isIdle()).isFalse();
+
+    quota.close();
+
+    assertThat(quota.enter()).isEqualTo(-1);
+    quota.exit(slot);
+    assertThat(quota.isIdle()).isTrue();
+    quota.reopen();
+    assertThat(quota.isClosed()).isFalse();
+  }
+
+  @Test
+  void concurrentAcquiresNeverOversell() throws Exception {
+    int threads = 8;
+    StripedStockQuota quota = new StripedStockQuota(threads);
+    quota.add(1_000);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Long>> sold = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        sold.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  long units = 0;
+                  for (int i = 0; i < 1_000; i++) {
+                    if (quota.tryAcquire(3)) {
+                      units += 3;
+                    }
+                  }
+                  return units;
+                }));
+      }
+      start.countDown();
+
+      long total = 0;
+      for (Future<Long> units : sold) {
+        total += units.get(30, TimeUnit.SECONDS);
+      }
+      assertThat(total).isPositive();
+      assertThat(total + quota.remaining()).isEqualTo(1_000);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
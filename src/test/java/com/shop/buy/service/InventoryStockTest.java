@@ -0,0 +1,138 @@
+package com.shop.buy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shop.buy.PostgresTest;
+import com.shop.buy.TestCatalog;
+import com.shop.buy.dto.InventoryDTO;
+import com.shop.buy.exception.InsufficientStockException;
+import com.shop.buy.model.Brand;
+import com.shop.buy.model.Category;
+import com.shop.buy.model.Product;
+import com.shop.buy.model.Supplier;
+import com.shop.buy.repository.BrandRepository;
+import com.shop.buy.repository.CategoryRepository;
+import com.shop.buy.repository.InventoryRepository;
+import com.shop.buy.repository.ProductRepository;
+import com.shop.buy.repository.SupplierRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@PostgresTest
+class InventoryStockTest {
+
+  @Autowired private InventoryService inventoryService;
+  @Autowired private InventoryRepository inventoryRepository;
+  @Autowired private ProductRepository productRepository;
+  @Autowired private CategoryRepository categoryRepository;
+  @Autowired private BrandRepository brandRepository;
+  @Autowired private SupplierRepository supplierRepository;
+  @Autowired private TestCatalog catalog;
+
+  @Test
+  void withdrawsWhileStockLasts() {
+    Long productId = productWithStock(5);
+
+    inventoryService.applyStockMovements(Map.of(productId, 3));
+
+    assertThat(quantityOf(productId)).isEqualTo(2);
+  }
+
+  @Test
+  void refusesWithdrawalAboveStockWithoutChangingIt() {
+    Long productId = productWithStock(2);
+
+    assertThatThrownBy(() -> inventoryService.applyStockMovements(Map.of(productId, 3)))
+        .isInstanceOf(InsufficientStockException.class);
+    assertThat(quantityOf(productId)).isEqualTo(2);
+  }
+
+  @Test
+  void restoresReturnedUnits() {
+    Long productId = productWithStock(2);
+
+    inventoryService.applyStockMovements(Map.of(productId, -4));
+
+    assertThat(quantityOf(productId)).isEqualTo(6);
+  }
+
+  @Test
+  void ignoresProductsWithoutControlledStock() {
+    Long productId = newProduct().getId();
+
+    inventoryService.applyStockMovements(Map.of(productId, 3));
+
+    assertThat(inventoryRepository.findQuantityByProductId(productId)).isEmpty();
+  }
+
+  /** Cada venda confirma na própria transação; nenhuma pode vender além do saldo. */
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void concurrentSalesNeverOversell() throws Exception {
+    Product product = newProduct();
+    Long productId = product.getId();
+    inventoryService.setStock(productId, new InventoryDTO(null, 10, 0, null, null));
+    int terminals = 25;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(terminals);
+    try {
+      List<Future<Boolean>> sales = new ArrayList<>();
+      for (int i = 0; i < terminals; i++) {
+        sales.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  try {
+                    inventoryService.applyStockMovements(Map.of(productId, 1));
+                    return true;
+                  } catch (InsufficientStockException e) {
+                    return false;
+                  }
+                }));
+      }
+      start.countDown();
+
+      int sold = 0;
+      for (Future<Boolean> sale : sales) {
+        sold += sale.get(30, TimeUnit.SECONDS) ? 1 : 0;
+      }
+      assertThat(sold).isEqualTo(10);
+      assertThat(quantityOf(productId)).isZero();
+    } finally {
+      executor.shutdownNow();
+      inventoryRepository.deleteById(productId);
+      productRepository.deleteById(productId);
+      categoryRepository.deleteById(product.getCategory().getId());
+      brandRepository.deleteById(product.getBrand().getId());
+      supplierRepository.deleteById(product.getSupplier().getId());
+    }
+  }
+
+  private Long productWithStock(int quantity) {
+    Long productId = newProduct().getId();
+    inventoryService.setStock(productId, new InventoryDTO(null, quantity, 0, null, null));
+    return productId;
+  }
+
+  private Product newProduct() {
+    Category category = catalog.category("Camisetas");
+    Brand brand = catalog.brand("Marca");
+    Supplier supplier = catalog.supplier("Fornecedor");
+    return catalog.product("SKU-1", category, brand, supplier, "M", "Azul", "10.00");
+  }
+
+  private int quantityOf(Long productId) {
+    return inventoryRepository.findQuantityByProductId(productId).orElseThrow();
+  }
+}
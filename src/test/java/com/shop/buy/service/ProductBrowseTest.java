@@ -0,0 +1,133 @@
+package com.shop.buy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shop.buy.PostgresTest;
+import com.shop.buy.TestCatalog;
+import com.shop.buy.dto.FacetValueDTO;
+import com.shop.buy.dto.ProductBrowseDTO;
+import com.shop.buy.dto.ProductBrowseFilter;
+import com.shop.buy.dto.ProductDTO;
+import com.shop.buy.model.Brand;
+import com.shop.buy.model.Category;
+import com.shop.buy.model.Product;
+import com.shop.buy.model.Supplier;
+import com.shop.buy.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+@PostgresTest
+class ProductBrowseTest {
+
+  @Autowired private ProductService productService;
+  @Autowired private ProductRepository productRepository;
+  @Autowired private TestCatalog catalog;
+
+  private Category shirts;
+  private Category shorts;
+  private Brand nike;
+  private Brand puma;
+  private Supplier supplier;
+  private Product blueNikeShirt;
+  private Product bluePumaShirt;
+  private Product blackNikeShorts;
+
+  @BeforeEach
+  void createCatalog() {
+    shirts = catalog.category("Camisetas");
+    shorts = catalog.category("Bermudas");
+    nike = catalog.brand("Nike");
+    puma = catalog.brand("Puma");
+    supplier = catalog.supplier("Fornecedor");
+    blueNikeShirt = catalog.product("A1", shirts, nike, supplier, "P", "Azul", "10.00");
+    bluePumaShirt = catalog.product("A2", shirts, puma, supplier, "M", "Azul", "20.00");
+    blackNikeShorts = catalog.product("B1", shorts, nike, supplier, "P", "Preto", "30.00");
+    Product inactive = catalog.product("B2", shorts, nike, supplier, "P", "Azul", "40.00");
+    inactive.setActive(false);
+    productRepository.saveAndFlush(inactive);
+  }
+
+  @Test
+  void eachFacetIgnoresOnlyItsOwnFilter() {
+    ProductBrowseFilter filter = new ProductBrowseFilter();
+    filter.setSupplierId(supplier.getId());
+    filter.setBrandId(nike.getId());
+    filter.setColor("Azul");
+
+    ProductBrowseDTO result = productService.browseProducts(filter, 0, 20);
+
+    assertThat(result.getTotalElements()).isEqualTo(1);
+    assertThat(result.getContent())
+        .extracting(ProductDTO::getId)
+        .containsExactly(blueNikeShirt.getId());
+    assertThat(counts(result, "brand"))
+        .containsExactlyInAnyOrderEntriesOf(Map.of(id(nike), 1L, id(puma), 1L));
+    assertThat(counts(result, "color"))
+        .containsExactlyInAnyOrderEntriesOf(Map.of("Azul", 1L, "Preto", 1L));
+    assertThat(counts(result, "category")).containsExactlyEntriesOf(Map.of(id(shirts), 1L));
+    assertThat(counts(result, "size")).containsExactlyEntriesOf(Map.of("P", 1L));
+    assertThat(counts(result, "supplier")).containsEntry(id(supplier), 1L);
+  }
+
+  @Test
+  void priceRangeAppliesToEveryFacet() {
+    ProductBrowseFilter filter = new ProductBrowseFilter();
+    filter.setSupplierId(supplier.getId());
+    filter.setMinPrice(new BigDecimal("15"));
+    filter.setMaxPrice(new BigDecimal("35"));
+
+    ProductBrowseDTO result = productService.browseProducts(filter, 0, 20);
+
+    assertThat(result.getTotalElements()).isEqualTo(2);
+    assertThat(result.getContent())
+        .extracting(ProductDTO::getId)
+        .containsExactlyInAnyOrder(bluePumaShirt.getId(), blackNikeShorts.getId());
+    assertThat(counts(result, "category"))
+        .containsExactlyInAnyOrderEntriesOf(Map.of(id(shirts), 1L, id(shorts), 1L));
+    assertThat(counts(result, "supplier")).containsEntry(id(supplier), 2L);
+  }
+
+  @Test
+  void inactiveProductsAreNotCounted() {
+    ProductBrowseFilter filter = new ProductBrowseFilter();
+    filter.setSupplierId(supplier.getId());
+    filter.setCategoryId(shorts.getId());
+
+    ProductBrowseDTO result = productService.browseProducts(filter, 0, 20);
+
+    assertThat(result.getTotalElements()).isEqualTo(1);
+    assertThat(counts(result, "color")).containsExactlyEntriesOf(Map.of("Preto", 1L));
+  }
+
+  @Test
+  void rejectsMinimumPriceAboveMaximum() {
+    ProductBrowseFilter filter = new ProductBrowseFilter();
+    filter.setMinPrice(new BigDecimal("50"));
+    filter.setMaxPrice(new BigDecimal("10"));
+
+    assertThatThrownBy(() -> productService.browseProducts(filter, 0, 20))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Map<String, Long> counts(ProductBrowseDTO result, String dimension) {
+    return result.getFacets().get(dimension).stream()
+        .collect(Collectors.toMap(FacetValueDTO::getValue, FacetValueDTO::getCount));
+  }
+
+  private static String id(Category category) {
+    return String.valueOf(category.getId());
+  }
+
+  private static String id(Brand brand) {
+    return String.valueOf(brand.getId());
+  }
+
+  private static String id(Supplier supplier) {
+    return String.valueOf(supplier.getId());
+  }
+}
@@ -0,0 +1,96 @@
+package com.shop.buy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shop.buy.PostgresTest;
+import com.shop.buy.TestCatalog;
+import com.shop.buy.dto.InventoryDTO;
+import com.shop.buy.dto.StockReservationItemDTO;
+import com.shop.buy.dto.StockReservationRequestDTO;
+import com.shop.buy.exception.ReservationExpiredException;
+import com.shop.buy.model.Product;
+import com.shop.buy.model.StockReservation;
+import com.shop.buy.repository.InventoryRepository;
+import com.shop.buy.repository.StockReservationRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+@PostgresTest
+class StockReservationTest {
+
+  @Autowired private StockReservationService stockReservationService;
+  @Autowired private StockReservationRepository stockReservationRepository;
+  @Autowired private InventoryService inventoryService;
+  @Autowired private InventoryRepository inventoryRepository;
+  @Autowired private TestCatalog catalog;
+
+  @Test
+  void reservationHoldsStockUntilClaimed() {
+    Long productId = productWithStock(5);
+
+    String token = reserve(productId, 2);
+
+    assertThat(quantityOf(productId)).isEqualTo(3);
+    assertThat(stockReservationService.claimReservation(token)).isEqualTo(Map.of(productId, 2));
+    assertThat(quantityOf(productId)).isEqualTo(3);
+    assertThat(stockReservationRepository.findReservationsByToken(token)).isEmpty();
+  }
+
+  @Test
+  void claimRefusesAnExpiredReservation() {
+    Long productId = productWithStock(5);
+    String token = reserve(productId, 2);
+    List<StockReservation> reservations = stockReservationRepository.findReservationsByToken(token);
+    reservations.forEach(r -> r.setExpiresAt(LocalDateTime.now().minusSeconds(1)));
+    stockReservationRepository.saveAllAndFlush(reservations);
+
+    assertThatThrownBy(() -> stockReservationService.claimReservation(token))
+        .isInstanceOf(ReservationExpiredException.class);
+    assertThat(stockReservationRepository.findReservationsByToken(token)).hasSize(1);
+  }
+
+  @Test
+  void claimRefusesAnUnknownReservation() {
+    assertThatThrownBy(() -> stockReservationService.claimReservation("desconhecido"))
+        .isInstanceOf(ReservationExpiredException.class);
+  }
+
+  @Test
+  void releaseReturnsTheHeldStock() {
+    Long productId = productWithStock(5);
+    String token = reserve(productId, 2);
+
+    stockReservationService.releaseReservation(token);
+
+    assertThat(quantityOf(productId)).isEqualTo(5);
+  }
+
+  private String reserve(Long productId, int quantity) {
+    StockReservationRequestDTO request =
+        new StockReservationRequestDTO(
+            List.of(new StockReservationItemDTO(productId, quantity)), 60);
+    return stockReservationService.createReservation(request).getToken();
+  }
+
+  private Long productWithStock(int quantity) {
+    Product product =
+        catalog.product(
+            "SKU-1",
+            catalog.category("Camisetas"),
+            catalog.brand("Marca"),
+            catalog.supplier("Fornecedor"),
+            "M",
+            "Azul",
+            "10.00");
+    inventoryService.setStock(product.getId(), new InventoryDTO(null, quantity, 0, null, null));
+    return product.getId();
+  }
+
+  private int quantityOf(Long productId) {
+    return inventoryRepository.findQuantityByProductId(productId).orElseThrow();
+  }
+}
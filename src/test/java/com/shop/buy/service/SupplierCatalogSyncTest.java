@@ -0,0 +1,137 @@
+package com.shop.buy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shop.buy.PostgresTest;
+import com.shop.buy.TestCatalog;
+import com.shop.buy.cache.ReferenceDataCache;
+import com.shop.buy.dto.SupplierCatalogItemDTO;
+import com.shop.buy.dto.SupplierCatalogSyncDTO;
+import com.shop.buy.dto.SupplierCatalogSyncResultDTO;
+import com.shop.buy.model.Brand;
+import com.shop.buy.model.Category;
+import com.shop.buy.model.Product;
+import com.shop.buy.model.ProductModel;
+import com.shop.buy.model.Supplier;
+import com.shop.buy.repository.ProductModelRepository;
+import com.shop.buy.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@PostgresTest
+class SupplierCatalogSyncTest {
+
+  @Autowired private SupplierCatalogSyncService syncService;
+  @Autowired private ProductRepository productRepository;
+  @Autowired private ProductModelRepository productModelRepository;
+  @Autowired private ReferenceDataCache referenceData;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TestCatalog catalog;
+
+  private Category category;
+  private Brand brand;
+  private Brand otherBrand;
+  private Supplier supplier;
+
+  @BeforeEach
+  void createCatalog() {
+    category = catalog.category("Camisetas");
+    brand = catalog.brand("Marca");
+    otherBrand = catalog.brand("Outra marca");
+    supplier = catalog.supplier("Fornecedor");
+    referenceData.rebuild();
+  }
+
+  @Test
+  void appliesOnlyTheDelta() {
+    Product unchanged = catalog.product("A1", category, brand, supplier, "P", "Azul", "10.00");
+    Product repriced = catalog.product("A2", category, brand, supplier, "M", "Azul", "20.00");
+    catalog.product("B1", category, brand, supplier, "G", "Preto", "30.00");
+
+    SupplierCatalogSyncResultDTO result =
+        sync(
+            item("A1", unchanged.getName(), brand, "P", "Azul", "10.00"),
+            item("A2", repriced.getName(), brand, "M", "Azul", "25.00"),
+            item("C1", "Camiseta nova", brand, "P", "Branco", "15.00"));
+
+    assertThat(result).isEqualTo(new SupplierCatalogSyncResultDTO(3, 1, 1, 1, 1));
+    assertThat(row("A2")).containsEntry("price", new BigDecimal("25.00"));
+    assertThat(row("B1")).containsEntry("active", false);
+    assertThat(row("C1")).containsEntry("name", "Camiseta nova").containsEntry("active", true);
+  }
+
+  @Test
+  void reactivatesProductsBackInTheList() {
+    Product product = catalog.product("A1", category, brand, supplier, "P", "Azul", "10.00");
+    product.setActive(false);
+    productRepository.saveAndFlush(product);
+
+    SupplierCatalogSyncResultDTO result =
+        sync(item("A1", product.getName(), brand, "P", "Azul", "10.00"));
+
+    assertThat(result).isEqualTo(new SupplierCatalogSyncResultDTO(1, 0, 1, 0, 0));
+    assertThat(row("A1")).containsEntry("active", true);
+  }
+
+  @Test
+  void variantsKeepTheirModelNameAndBrand() {
+    ProductModel model =
+        productModelRepository.saveAndFlush(
+            new ProductModel(null, "Camiseta Modelo", category, brand, supplier));
+    Product variant = catalog.product("A1", category, brand, supplier, "P", "Azul", "10.00");
+    variant.setName(model.getName());
+    variant.setModelId(model.getId());
+    productRepository.saveAndFlush(variant);
+
+    SupplierCatalogSyncResultDTO result =
+        sync(item("A1", "Nome do fornecedor", otherBrand, "P", "Azul", "10.00"));
+
+    assertThat(result).isEqualTo(new SupplierCatalogSyncResultDTO(1, 0, 0, 0, 1));
+    assertThat(row("A1"))
+        .containsEntry("name", "Camiseta Modelo")
+        .containsEntry("brand_id", brand.getId());
+  }
+
+  @Test
+  void variantsStillTakeSizeColorAndPriceFromTheList() {
+    ProductModel model =
+        productModelRepository.saveAndFlush(
+            new ProductModel(null, "Camiseta Modelo", category, brand, supplier));
+    Product variant = catalog.product("A1", category, brand, supplier, "P", "Azul", "10.00");
+    variant.setName(model.getName());
+    variant.setModelId(model.getId());
+    productRepository.saveAndFlush(variant);
+
+    SupplierCatalogSyncResultDTO result =
+        sync(item("A1", "Nome do fornecedor", otherBrand, "P", "Azul", "12.00"));
+
+    assertThat(result).isEqualTo(new SupplierCatalogSyncResultDTO(1, 0, 1, 0, 0));
+    assertThat(row("A1"))
+        .containsEntry("name", "Camiseta Modelo")
+        .containsEntry("brand_id", brand.getId())
+        .containsEntry("price", new BigDecimal("12.00"));
+  }
+
+  private SupplierCatalogSyncResultDTO sync(SupplierCatalogItemDTO... items) {
+    return syncService.syncCatalog(supplier.getId(), new SupplierCatalogSyncDTO(List.of(items)));
+  }
+
+  private SupplierCatalogItemDTO item(
+      String sku, String name, Brand itemBrand, String size, String color, String price) {
+    return new SupplierCatalogItemDTO(
+        sku, name, size, color, new BigDecimal(price), category.getId(), itemBrand.getId());
+  }
+
+  /** Lê direto do banco, pois a sincronização não passa pelo contexto de persistência. */
+  private Map<String, Object> row(String sku) {
+    return jdbcTemplate.queryForMap(
+        "SELECT name, brand_id, price, active FROM products WHERE supplier_id = ? AND sku = ?",
+        supplier.getId(),
+        sku);
+  }
+}
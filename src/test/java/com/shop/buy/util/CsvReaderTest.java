@@ -0,0 +1,82 @@
+package com.shop.buy.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+  @Test
+  void readsPlainRecords() throws IOException {
+    assertThat(readAll("nome,cpf\nAna,123\n"))
+        .containsExactly(List.of("nome", "cpf"), List.of("Ana", "123"));
+  }
+
+  @Test
+  void keepsEmptyFields() throws IOException {
+    assertThat(readAll("a,,c\n,\n")).containsExactly(List.of("a", "", "c"), List.of("", ""));
+  }
+
+  @Test
+  void readsLastRecordWithoutLineBreak() throws IOException {
+    assertThat(readAll("a,b\nc,d")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+  }
+
+  @Test
+  void acceptsCrLfLineBreaks() throws IOException {
+    assertThat(readAll("a,b\r\nc,d\r\n")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+  }
+
+  @Test
+  void keepsCommasInsideQuotedFields() throws IOException {
+    assertThat(readAll("\"Silva, Ana\",\"Rua A, 10\"\n"))
+        .containsExactly(List.of("Silva, Ana", "Rua A, 10"));
+  }
+
+  @Test
+  void keepsLineBreaksInsideQuotedFields() throws IOException {
+    assertThat(readAll("\"linha 1\nlinha 2\",x\r\n\"a\r\nb\",y\n"))
+        .containsExactly(List.of("linha 1\nlinha 2", "x"), List.of("a\r\nb", "y"));
+  }
+
+  @Test
+  void unescapesDoubledQuotes() throws IOException {
+    assertThat(readAll("\"diz \"\"oi\"\"\",\"\"\"\"\n"))
+        .containsExactly(List.of("diz \"oi\"", "\""));
+  }
+
+  @Test
+  void reportsLineWhereEachRecordStarts() throws IOException {
+    try (CsvReader reader = new CsvReader(new StringReader("a\n\"b\nc\"\nd\n"))) {
+      reader.next();
+      assertThat(reader.recordLine()).isEqualTo(1);
+      reader.next();
+      assertThat(reader.recordLine()).isEqualTo(2);
+      reader.next();
+      assertThat(reader.recordLine()).isEqualTo(4);
+      assertThat(reader.next()).isNull();
+    }
+  }
+
+  @Test
+  void rejectsUnclosedQuotes() {
+    assertThatThrownBy(() -> readAll("a\n\"b,c\n"))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("linha 2");
+  }
+
+  private static List<List<String>> readAll(String csv) throws IOException {
+    List<List<String>> records = new ArrayList<>();
+    try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+      for (List<String> record = reader.next(); record != null; record = reader.next()) {
+        records.add(record);
+      }
+    }
+    return records;
+  }
+}
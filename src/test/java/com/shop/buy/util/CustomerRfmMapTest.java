@@ -0,0 +1,67 @@
+package com.shop.buy.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CustomerRfmMapTest {
+
+  private record Totals(int lastEpochDay, int orders, long spentCents) {}
+
+  @Test
+  void aggregatesSalesPerCustomer() {
+    CustomerRfmMap map = new CustomerRfmMap();
+    map.record(1, 100, 1_000);
+    map.record(2, 50, 250);
+    map.record(1, 90, 500);
+    map.record(1, 120, 1);
+
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(entries(map))
+        .containsOnly(
+            Map.entry(1L, new Totals(120, 3, 1_501)), Map.entry(2L, new Totals(50, 1, 250)));
+  }
+
+  @Test
+  void keepsEntriesAcrossGrowth() {
+    CustomerRfmMap map = new CustomerRfmMap(1);
+    for (int round = 0; round < 3; round++) {
+      for (long customerId = 0; customerId < 10_000; customerId++) {
+        map.record(customerId, round, customerId);
+      }
+    }
+
+    Map<Long, Totals> entries = entries(map);
+    assertThat(entries).hasSize(10_000);
+    assertThat(entries.get(9_999L)).isEqualTo(new Totals(2, 3, 29_997));
+  }
+
+  @Test
+  void addAllMergesPartitions() {
+    CustomerRfmMap left = new CustomerRfmMap();
+    left.record(1, 10, 100);
+    left.record(2, 20, 200);
+    CustomerRfmMap right = new CustomerRfmMap();
+    right.record(2, 5, 50);
+    right.record(2, 30, 50);
+    right.record(3, 40, 400);
+
+    left.addAll(right);
+
+    assertThat(entries(left))
+        .containsOnly(
+            Map.entry(1L, new Totals(10, 1, 100)),
+            Map.entry(2L, new Totals(30, 3, 300)),
+            Map.entry(3L, new Totals(40, 1, 400)));
+  }
+
+  private static Map<Long, Totals> entries(CustomerRfmMap map) {
+    Map<Long, Totals> entries = new HashMap<>();
+    map.forEach(
+        (customerId, lastEpochDay, orders, spentCents) ->
+            entries.put(customerId, new Totals(lastEpochDay, orders, spentCents)));
+    return entries;
+  }
+}
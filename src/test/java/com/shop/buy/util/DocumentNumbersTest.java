@@ -0,0 +1,57 @@
+package com.shop.buy.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class DocumentNumbersTest {
+
+  @Test
+  void acceptsCpfWithValidCheckDigits() {
+    assertThat(DocumentNumbers.isValidCpf("52998224725")).isTrue();
+    assertThat(DocumentNumbers.isValidCpf("12345678909")).isTrue();
+  }
+
+  @Test
+  void rejectsCpfWithWrongCheckDigits() {
+    assertThat(DocumentNumbers.isValidCpf("52998224715")).isFalse();
+    assertThat(DocumentNumbers.isValidCpf("52998224726")).isFalse();
+  }
+
+  @Test
+  void rejectsCpfWithRepeatedDigits() {
+    assertThat(DocumentNumbers.isValidCpf("00000000000")).isFalse();
+    assertThat(DocumentNumbers.isValidCpf("11111111111")).isFalse();
+  }
+
+  @Test
+  void rejectsCpfWithWrongLength() {
+    assertThat(DocumentNumbers.isValidCpf("5299822472")).isFalse();
+    assertThat(DocumentNumbers.isValidCpf("529982247250")).isFalse();
+  }
+
+  @Test
+  void formatsCpf() {
+    assertThat(DocumentNumbers.formatCpf("52998224725")).isEqualTo("529.982.247-25");
+  }
+
+  @Test
+  void extractsCpfDigitsFromFormattedValue() {
+    assertThat(DocumentNumbers.cpfDigits("529.982.247-25")).isEqualTo("52998224725");
+    assertThatThrownBy(() -> DocumentNumbers.cpfDigits("529.982.247"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void extractsCnpjDigitsFromFormattedValue() {
+    assertThat(DocumentNumbers.cnpjDigits("11.222.333/0001-81")).isEqualTo("11222333000181");
+    assertThatThrownBy(() -> DocumentNumbers.cnpjDigits("11.222.333/0001"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void digitsOfNullIsEmpty() {
+    assertThat(DocumentNumbers.digits(null)).isEmpty();
+  }
+}
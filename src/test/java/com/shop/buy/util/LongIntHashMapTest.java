@@ -0,0 +1,83 @@
+package com.shop.buy.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+  @Test
+  void missingKeyReadsAsZero() {
+    assertThat(new LongIntHashMap().get(42)).isZero();
+  }
+
+  @Test
+  void addSumsDeltas() {
+    LongIntHashMap map = new LongIntHashMap();
+    map.add(7, 2);
+    map.add(7, 3);
+    map.add(-7, 1);
+
+    assertThat(map.get(7)).isEqualTo(5);
+    assertThat(map.get(-7)).isEqualTo(1);
+    assertThat(map.size()).isEqualTo(2);
+  }
+
+  @Test
+  void putIfAbsentKeepsExistingValue() {
+    LongIntHashMap map = new LongIntHashMap();
+
+    assertThat(map.putIfAbsent(3, 10)).isEqualTo(10);
+    assertThat(map.putIfAbsent(3, 20)).isEqualTo(10);
+    assertThat(map.get(3)).isEqualTo(10);
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  void keepsEntriesAcrossResizes() {
+    LongIntHashMap map = new LongIntHashMap(1);
+    Map<Long, Integer> expected = new HashMap<>();
+    Random random = new Random(1);
+    for (int i = 0; i < 50_000; i++) {
+      long key = random.nextInt(10_000) - 5_000L;
+      map.add(key, 1);
+      expected.merge(key, 1, Integer::sum);
+    }
+
+    assertThat(map.size()).isEqualTo(expected.size());
+    Map<Long, Integer> actual = new HashMap<>();
+    map.forEach(actual::put);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  void addAllMergesCounts() {
+    LongIntHashMap left = new LongIntHashMap();
+    left.add(1, 1);
+    left.add(2, 2);
+    LongIntHashMap right = new LongIntHashMap();
+    right.add(2, 3);
+    right.add(3, 4);
+
+    left.addAll(right);
+
+    assertThat(left.get(1)).isEqualTo(1);
+    assertThat(left.get(2)).isEqualTo(5);
+    assertThat(left.get(3)).isEqualTo(4);
+    assertThat(left.size()).isEqualTo(3);
+  }
+
+  @Test
+  void rejectsReservedKey() {
+    LongIntHashMap map = new LongIntHashMap();
+
+    assertThatThrownBy(() -> map.add(Long.MIN_VALUE, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> map.putIfAbsent(Long.MIN_VALUE, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,47 @@
+package com.shop.buy.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class TransactionSnapshotTest {
+
+  @Test
+  void transactionsBeforeXminAreVisible() {
+    assertThat(TransactionSnapshot.parse("100:105:102").isVisible(99)).isTrue();
+  }
+
+  @Test
+  void transactionsFromXmaxOnAreNotVisible() {
+    TransactionSnapshot snapshot = TransactionSnapshot.parse("100:105:102");
+
+    assertThat(snapshot.isVisible(105)).isFalse();
+    assertThat(snapshot.isVisible(200)).isFalse();
+  }
+
+  @Test
+  void transactionsInProgressAreNotVisible() {
+    TransactionSnapshot snapshot = TransactionSnapshot.parse("100:105:100,102");
+
+    assertThat(snapshot.isVisible(100)).isFalse();
+    assertThat(snapshot.isVisible(101)).isTrue();
+    assertThat(snapshot.isVisible(102)).isFalse();
+    assertThat(snapshot.isVisible(104)).isTrue();
+  }
+
+  @Test
+  void parsesSnapshotWithoutTransactionsInProgress() {
+    TransactionSnapshot snapshot = TransactionSnapshot.parse("100:100:");
+
+    assertThat(snapshot.inProgress()).isEmpty();
+    assertThat(snapshot.isVisible(99)).isTrue();
+    assertThat(snapshot.isVisible(100)).isFalse();
+  }
+
+  @Test
+  void rejectsMalformedSnapshot() {
+    assertThatThrownBy(() -> TransactionSnapshot.parse("100"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}